@@ -0,0 +1,31 @@
+package kdk.jwttutorial.reactive;
+
+import java.util.Collections;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+/**
+ * Authorization header 에서 꺼낸, 아직 검증하지 않은 토큰
+ */
+public class BearerToken extends AbstractAuthenticationToken {
+
+	private final String token;
+
+	public BearerToken(String token) {
+		super(Collections.emptyList());
+		this.token = token;
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	@Override
+	public Object getCredentials() {
+		return token;
+	}
+
+	@Override
+	public Object getPrincipal() {
+		return token;
+	}
+}
@@ -0,0 +1,51 @@
+package kdk.jwttutorial.reactive;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import reactor.core.publisher.Mono;
+
+/**
+ * JPA 처럼 blocking 으로 조회하는 UserDetailsService 를 event loop 를 막지 않도록 감싼다. 조회는 executor 에서 실행하고,
+ * 결과는 CustomUserDetailsService 와 같이 ttl 동안 캐시한다. 같은 사용자를 동시에 조회하면 한 번만 조회하고 결과를 공유한다.
+ * 없는 사용자는 캐시하지 않고 빈 Mono 를 반환한다. 조회는 subscribe 할 때 시작한다.
+ */
+public class CachingReactiveUserDetailsService implements ReactiveUserDetailsService {
+
+	private final AsyncLoadingCache<String, UserDetails> cache;
+
+	public CachingReactiveUserDetailsService(UserDetailsService userDetailsService,
+		Executor executor, long maximumSize, Duration ttl) {
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(ttl)
+			.executor(executor)
+			.buildAsync(username -> load(userDetailsService, username));
+	}
+
+	// 인증 후 credentials 가 지워지므로 캐시된 객체 대신 복사본을 반환
+	@Override
+	public Mono<UserDetails> findByUsername(String username) {
+		return Mono.fromFuture(() -> cache.get(username))
+			.map(cached -> User.withUserDetails(cached).build());
+	}
+
+	// 비밀번호를 변경하거나 권한이 바뀐 사용자는 다음 조회에서 다시 읽음
+	public void evict(String username) {
+		cache.synchronous().invalidate(username);
+	}
+
+	private static UserDetails load(UserDetailsService userDetailsService, String username) {
+		try {
+			return userDetailsService.loadUserByUsername(username);
+		} catch (UsernameNotFoundException e) {
+			return null;
+		}
+	}
+}
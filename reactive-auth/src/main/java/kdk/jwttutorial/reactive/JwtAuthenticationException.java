@@ -0,0 +1,21 @@
+package kdk.jwttutorial.reactive;
+
+import kdk.jwttutorial.token.VerificationError;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * 토큰 검증 실패, 실패 원인은 응답의 code 로 전달한다.
+ */
+public class JwtAuthenticationException extends AuthenticationException {
+
+	private final VerificationError error;
+
+	public JwtAuthenticationException(VerificationError error) {
+		super(error.getMessage());
+		this.error = error;
+	}
+
+	public VerificationError getError() {
+		return error;
+	}
+}
@@ -0,0 +1,96 @@
+package kdk.jwttutorial.reactive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import kdk.jwttutorial.token.TokenVerifier;
+import kdk.jwttutorial.token.VerificationResult;
+import kdk.jwttutorial.token.VerifiedClaims;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * BearerToken 을 TokenVerifier 로 검증하여 애플리케이션의 TokenProvider.getAuthentication 과 같은 형태(principal 은
+ * User, credentials 는 토큰)의 Authentication 을 만든다. 검증 결과는 TokenVerifier 가 만료 시각까지 캐시하므로 같은 토큰은
+ * event loop 에서 서명 검증 없이 바로 처리된다. 캐시에 없는 토큰은 서명 검증과 JwksKeyResolver 의 JWKS 요청(blocking)이
+ * event loop 를 막지 않도록 verificationScheduler 에서 검증한다. 권한 목록은 AuthorityRegistry 와 같이 조합별로 한 번만
+ * 만들어 재사용한다.
+ */
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+	// 서명된 토큰의 claim 만 들어오지만 예상하지 못한 조합이 많아져도 메모리가 늘어나지 않도록 제한
+	private static final int MAX_AUTHORITY_COMBINATIONS = 64;
+
+	private final TokenVerifier tokenVerifier;
+	private final Scheduler verificationScheduler;
+	private final ConcurrentMap<List<String>, List<GrantedAuthority>> authoritiesByNames =
+		new ConcurrentHashMap<>();
+
+	public JwtReactiveAuthenticationManager(TokenVerifier tokenVerifier) {
+		this(tokenVerifier, Schedulers.boundedElastic());
+	}
+
+	public JwtReactiveAuthenticationManager(TokenVerifier tokenVerifier,
+		Scheduler verificationScheduler) {
+		this.tokenVerifier = tokenVerifier;
+		this.verificationScheduler = verificationScheduler;
+	}
+
+	@Override
+	public Mono<Authentication> authenticate(Authentication authentication) {
+		if (!(authentication instanceof BearerToken)) {
+			return Mono.empty();
+		}
+		String token = ((BearerToken) authentication).getToken();
+		VerificationResult cached = tokenVerifier.getCached(token);
+		if (cached != null) {
+			return toAuthentication(token, cached);
+		}
+		return Mono.fromCallable(() -> tokenVerifier.verify(token))
+			.subscribeOn(verificationScheduler)
+			.flatMap(result -> toAuthentication(token, result));
+	}
+
+	private Mono<Authentication> toAuthentication(String token, VerificationResult result) {
+		if (!result.isValid()) {
+			return Mono.error(new JwtAuthenticationException(result.getError()));
+		}
+
+		VerifiedClaims claims = result.getClaims();
+		List<GrantedAuthority> authorities = getAuthorities(claims.getAuthorities());
+		UsernamePasswordAuthenticationToken authenticated = new UsernamePasswordAuthenticationToken(
+			new User(claims.getSubject(), "", authorities), token, authorities);
+		authenticated.setDetails(claims);
+		return Mono.just(authenticated);
+	}
+
+	private List<GrantedAuthority> getAuthorities(List<String> names) {
+		if (names.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<GrantedAuthority> authorities = authoritiesByNames.get(names);
+		if (authorities != null) {
+			return authorities;
+		}
+
+		List<GrantedAuthority> created = new ArrayList<>(names.size());
+		for (String name : names) {
+			created.add(new SimpleGrantedAuthority(name));
+		}
+		authorities = Collections.unmodifiableList(created);
+		if (authoritiesByNames.size() < MAX_AUTHORITY_COMBINATIONS) {
+			List<GrantedAuthority> previous = authoritiesByNames.putIfAbsent(names, authorities);
+			return previous != null ? previous : authorities;
+		}
+		return authorities;
+	}
+}
@@ -0,0 +1,26 @@
+package kdk.jwttutorial.reactive;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * JwtFilter 와 같이 "Authorization: Bearer {토큰}" header 에서 토큰을 꺼낸다. header 가 없으면 인증하지 않고 다음 filter 로
+ * 넘긴다.
+ */
+public class JwtServerAuthenticationConverter implements ServerAuthenticationConverter {
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	@Override
+	public Mono<Authentication> convert(ServerWebExchange exchange) {
+		String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (bearerToken == null || !bearerToken.startsWith(BEARER_PREFIX)
+			|| bearerToken.length() == BEARER_PREFIX.length()) {
+			return Mono.empty();
+		}
+		return Mono.just(new BearerToken(bearerToken.substring(BEARER_PREFIX.length())));
+	}
+}
@@ -0,0 +1,42 @@
+package kdk.jwttutorial.reactive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import kdk.jwttutorial.token.VerificationError;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 애플리케이션의 JwtAuthenticationEntryPoint 와 같은 형식(message, status, errors, code)으로 401 을 응답한다. 응답 본문은
+ * 실패 원인별로 미리 만들어 둔다.
+ */
+public class JwtServerAuthenticationEntryPoint implements ServerAuthenticationEntryPoint {
+
+	private final Map<VerificationError, byte[]> bodies = new EnumMap<>(VerificationError.class);
+
+	public JwtServerAuthenticationEntryPoint() {
+		for (VerificationError error : VerificationError.values()) {
+			String body = "{\"message\":\"" + error.getMessage() + "\",\"status\":"
+				+ HttpStatus.UNAUTHORIZED.value() + ",\"errors\":[],\"code\":\"" + error.getCode()
+				+ "\"}";
+			bodies.put(error, body.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	// 토큰이 없어 인증하지 않은 요청이 인증이 필요한 경로에 접근한 경우도 INVALID_TOKEN 으로 응답
+	@Override
+	public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException e) {
+		VerificationError error = e instanceof JwtAuthenticationException
+			? ((JwtAuthenticationException) e).getError() : VerificationError.INVALID_TOKEN;
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(bodies.get(error))));
+	}
+}
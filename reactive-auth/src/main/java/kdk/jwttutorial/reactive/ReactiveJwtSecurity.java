@@ -0,0 +1,50 @@
+package kdk.jwttutorial.reactive;
+
+import kdk.jwttutorial.token.TokenVerifier;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux 의 SecurityWebFilterChain 에 JWT 인증을 추가한다. 애플리케이션의 JwtSecurityConfig 에 해당한다.
+ * <pre>
+ * JwtServerAuthenticationEntryPoint entryPoint = new JwtServerAuthenticationEntryPoint();
+ * http.csrf().disable()
+ *     .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+ *     .exceptionHandling().authenticationEntryPoint(entryPoint)
+ *     .and()
+ *     .addFilterAt(ReactiveJwtSecurity.authenticationWebFilter(tokenVerifier, entryPoint),
+ *         SecurityWebFiltersOrder.AUTHENTICATION)
+ *     .authorizeExchange().anyExchange().authenticated();
+ * </pre>
+ */
+public final class ReactiveJwtSecurity {
+
+	private ReactiveJwtSecurity() {
+	}
+
+	/**
+	 * 토큰이 없으면 인증하지 않고 넘기고, 유효하지 않은 토큰은 entryPoint 로 바로 401 을 응답한다. 세션을 사용하지 않으므로
+	 * SecurityContext 는 요청 안에서만 유지한다.
+	 */
+	public static AuthenticationWebFilter authenticationWebFilter(TokenVerifier tokenVerifier,
+		JwtServerAuthenticationEntryPoint entryPoint) {
+		return authenticationWebFilter(tokenVerifier, entryPoint, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * @param verificationScheduler 캐시에 없는 토큰을 검증할 scheduler
+	 */
+	public static AuthenticationWebFilter authenticationWebFilter(TokenVerifier tokenVerifier,
+		JwtServerAuthenticationEntryPoint entryPoint, Scheduler verificationScheduler) {
+		AuthenticationWebFilter filter = new AuthenticationWebFilter(
+			new JwtReactiveAuthenticationManager(tokenVerifier, verificationScheduler));
+		filter.setServerAuthenticationConverter(new JwtServerAuthenticationConverter());
+		filter.setAuthenticationFailureHandler(
+			new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+		filter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+		return filter;
+	}
+}
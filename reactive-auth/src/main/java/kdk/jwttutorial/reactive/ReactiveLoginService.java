@@ -0,0 +1,48 @@
+package kdk.jwttutorial.reactive;
+
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * event loop 를 막지 않는 로그인. 사용자 조회는 ReactiveUserDetailsService 로, BCrypt 검증과 토큰 서명은
+ * hashingScheduler 에서 수행한다. 없는 사용자와 비밀번호 불일치는 모두 BadCredentialsException 으로 실패한다.
+ */
+public class ReactiveLoginService {
+
+	private final UserDetailsRepositoryReactiveAuthenticationManager authenticationManager;
+	private final TokenIssuer tokenIssuer;
+
+	public ReactiveLoginService(ReactiveUserDetailsService userDetailsService,
+		PasswordEncoder passwordEncoder, TokenIssuer tokenIssuer, Scheduler hashingScheduler) {
+		this.authenticationManager =
+			new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+		this.authenticationManager.setPasswordEncoder(passwordEncoder);
+		this.authenticationManager.setScheduler(hashingScheduler);
+		this.tokenIssuer = tokenIssuer;
+	}
+
+	public Mono<TokenPair> login(String email, String password) {
+		return authenticationManager
+			.authenticate(new UsernamePasswordAuthenticationToken(email, password))
+			.map(tokenIssuer::issue);
+	}
+
+	/**
+	 * 고정 크기 스레드와 bounded queue 를 사용하는 scheduler. queue 가 가득 차면 기다리지 않고
+	 * RejectedExecutionException 으로 실패한다.
+	 *
+	 * <p>boundedElastic 의 queue 크기는 스레드마다 적용되므로 전체 대기 작업이 대략 queueCapacity 를
+	 * 넘지 않도록 스레드 수로 나눈다. PasswordHashingExecutor 의 공유 queue 와 달리 작업은 스레드별
+	 * queue 에 배정되므로, 한 스레드의 queue 가 가득 차면 전체 합이 queueCapacity 보다 작아도 거절될 수 있다.
+	 */
+	public static Scheduler hashingScheduler(int threads, int queueCapacity) {
+		int queueCapacityPerThread = Math.max(1, queueCapacity / threads);
+		return Schedulers.newBoundedElastic(threads, queueCapacityPerThread, "password-hashing", 60,
+			true);
+	}
+}
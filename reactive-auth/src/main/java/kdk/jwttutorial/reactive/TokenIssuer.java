@@ -0,0 +1,13 @@
+package kdk.jwttutorial.reactive;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * 인증이 끝난 사용자에게 토큰 쌍을 발급한다. 애플리케이션의 TokenProvider.createTokenPair(Authentication) 과 같은 역할이며,
+ * 서명 키를 가진 쪽에서 구현한다.
+ */
+@FunctionalInterface
+public interface TokenIssuer {
+
+	TokenPair issue(Authentication authentication);
+}
@@ -0,0 +1,20 @@
+package kdk.jwttutorial.reactive;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 로그인으로 발급한 액세스 토큰과 리프레시 토큰, 애플리케이션의 TokenDto 와 같은 필드
+ */
+@Getter
+public class TokenPair {
+
+	private final String accessToken;
+	private final String refreshToken;
+
+	@Builder
+	public TokenPair(String accessToken, String refreshToken) {
+		this.accessToken = accessToken;
+		this.refreshToken = refreshToken;
+	}
+}
@@ -0,0 +1,107 @@
+package kdk.jwttutorial.reactive;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.util.Date;
+import kdk.jwttutorial.token.KeyResolver;
+import kdk.jwttutorial.token.TokenVerifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+class JwtAuthenticationWebFilterTest {
+
+	private static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+
+	private Key key;
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		TokenVerifier tokenVerifier = TokenVerifier.builder()
+			.keyResolver(KeyResolver.hmac(SECRET))
+			.build();
+		// 인증된 사용자 이름과 권한을 응답, 인증하지 않은 요청은 anonymous
+		client = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+				RequestPredicates.GET("/me"),
+				request -> ReactiveSecurityContextHolder.getContext()
+					.map(context -> context.getAuthentication().getName() + " "
+						+ context.getAuthentication().getAuthorities())
+					.defaultIfEmpty("anonymous")
+					.flatMap(body -> ServerResponse.ok().bodyValue(body))))
+			.webFilter(ReactiveJwtSecurity.authenticationWebFilter(tokenVerifier,
+				new JwtServerAuthenticationEntryPoint()))
+			.build();
+	}
+
+	@Test
+	void 토큰_인증_성공() {
+		// given
+		String token = createToken(System.currentTimeMillis() + 600_000);
+
+		// when, then
+		client.get().uri("/me")
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody(String.class).isEqualTo("test1@test.com [ROLE_USER]");
+	}
+
+	@Test
+	void 토큰이_없으면_인증하지_않음() {
+		// when, then
+		client.get().uri("/me")
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody(String.class).isEqualTo("anonymous");
+	}
+
+	@Test
+	void 토큰_인증_예외_만료된_토큰() {
+		// given
+		String token = createToken(System.currentTimeMillis() - 1000);
+
+		// when, then
+		client.get().uri("/me")
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+			.exchange()
+			.expectStatus().isEqualTo(HttpStatus.UNAUTHORIZED)
+			.expectBody()
+			.jsonPath("$.code").isEqualTo("A002")
+			.jsonPath("$.status").isEqualTo(401);
+	}
+
+	@Test
+	void 토큰_인증_예외_서명_불일치() {
+		// given
+		String token = createToken(System.currentTimeMillis() + 600_000);
+		String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+		// when, then
+		client.get().uri("/me")
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered)
+			.exchange()
+			.expectStatus().isEqualTo(HttpStatus.UNAUTHORIZED)
+			.expectBody()
+			.jsonPath("$.code").isEqualTo("A004");
+	}
+
+	private String createToken(long expiration) {
+		return Jwts.builder()
+			.claim("auth", "ROLE_USER")
+			.setSubject("test1@test.com")
+			.signWith(key, SignatureAlgorithm.HS512)
+			.setExpiration(new Date(expiration))
+			.compact();
+	}
+}
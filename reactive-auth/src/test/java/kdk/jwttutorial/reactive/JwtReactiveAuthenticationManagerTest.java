@@ -0,0 +1,99 @@
+package kdk.jwttutorial.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import kdk.jwttutorial.token.TokenVerifier;
+import kdk.jwttutorial.token.VerificationError;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class JwtReactiveAuthenticationManagerTest {
+
+	private static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+
+	// JwksKeyResolver 처럼 blocking 할 수 있는 키 조회가 실행된 스레드
+	private final List<String> resolvingThreads = new CopyOnWriteArrayList<>();
+	private Key key;
+	private Scheduler verificationScheduler;
+	private JwtReactiveAuthenticationManager authenticationManager;
+
+	@BeforeEach
+	void setUp() {
+		key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		verificationScheduler = Schedulers.newSingle("token-verification");
+		TokenVerifier tokenVerifier = TokenVerifier.builder()
+			.keyResolver((kid, algorithm) -> {
+				resolvingThreads.add(Thread.currentThread().getName());
+				return key;
+			})
+			.build();
+		authenticationManager =
+			new JwtReactiveAuthenticationManager(tokenVerifier, verificationScheduler);
+	}
+
+	@AfterEach
+	void tearDown() {
+		verificationScheduler.dispose();
+	}
+
+	@Test
+	void 캐시에_없는_토큰은_별도_스레드에서_검증() {
+		// given
+		String token = createToken(System.currentTimeMillis() + 600_000);
+
+		// when, then
+		StepVerifier.create(authenticationManager.authenticate(new BearerToken(token)))
+			.assertNext(authentication ->
+				assertThat(authentication.getName()).isEqualTo("test1@test.com"))
+			.verifyComplete();
+		assertThat(resolvingThreads).hasSize(1);
+		assertThat(resolvingThreads.get(0)).startsWith("token-verification");
+	}
+
+	@Test
+	void 캐시된_토큰은_키_조회_없이_인증() {
+		// given
+		String token = createToken(System.currentTimeMillis() + 600_000);
+		authenticationManager.authenticate(new BearerToken(token)).block();
+
+		// when, then
+		StepVerifier.create(authenticationManager.authenticate(new BearerToken(token)))
+			.assertNext(authentication ->
+				assertThat(authentication.getName()).isEqualTo("test1@test.com"))
+			.verifyComplete();
+		assertThat(resolvingThreads).hasSize(1);
+	}
+
+	@Test
+	void 인증_예외_만료된_토큰() {
+		// given
+		String token = createToken(System.currentTimeMillis() - 1000);
+
+		// when, then
+		StepVerifier.create(authenticationManager.authenticate(new BearerToken(token)))
+			.expectErrorSatisfies(e -> assertThat(((JwtAuthenticationException) e).getError())
+				.isEqualTo(VerificationError.EXPIRED_TOKEN))
+			.verify();
+	}
+
+	private String createToken(long expiration) {
+		return Jwts.builder()
+			.claim("auth", "ROLE_USER")
+			.setSubject("test1@test.com")
+			.signWith(key, SignatureAlgorithm.HS512)
+			.setExpiration(new Date(expiration))
+			.compact();
+	}
+}
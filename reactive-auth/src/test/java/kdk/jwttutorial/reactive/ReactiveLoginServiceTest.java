@@ -0,0 +1,133 @@
+package kdk.jwttutorial.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+class ReactiveLoginServiceTest {
+
+	private final Map<String, UserDetails> users = new ConcurrentHashMap<>();
+	private final AtomicInteger lookups = new AtomicInteger();
+	private final AtomicReference<String> issuingThread = new AtomicReference<>();
+	private ExecutorService lookupExecutor;
+	private Scheduler hashingScheduler;
+	private CachingReactiveUserDetailsService userDetailsService;
+	private ReactiveLoginService reactiveLoginService;
+
+	@BeforeEach
+	void setUp() {
+		BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+		users.put("test1@test.com", User.withUsername("test1@test.com")
+			.password(passwordEncoder.encode("password"))
+			.authorities("ROLE_USER")
+			.build());
+		lookupExecutor = Executors.newFixedThreadPool(2);
+		hashingScheduler = ReactiveLoginService.hashingScheduler(2, 10);
+		userDetailsService = new CachingReactiveUserDetailsService(username -> {
+			lookups.incrementAndGet();
+			UserDetails user = users.get(username);
+			if (user == null) {
+				throw new UsernameNotFoundException(username);
+			}
+			return user;
+		}, lookupExecutor, 100, Duration.ofMinutes(5));
+		reactiveLoginService = new ReactiveLoginService(userDetailsService, passwordEncoder,
+			authentication -> {
+				issuingThread.set(Thread.currentThread().getName());
+				return TokenPair.builder()
+					.accessToken("access-" + authentication.getName())
+					.refreshToken("refresh-" + authentication.getName())
+					.build();
+			}, hashingScheduler);
+	}
+
+	@AfterEach
+	void tearDown() {
+		hashingScheduler.dispose();
+		lookupExecutor.shutdown();
+	}
+
+	@Test
+	void 로그인_성공_해싱은_별도_스레드에서_수행() {
+		// when, then
+		StepVerifier.create(reactiveLoginService.login("test1@test.com", "password"))
+			.assertNext(tokenPair -> {
+				assertThat(tokenPair.getAccessToken()).isEqualTo("access-test1@test.com");
+				assertThat(tokenPair.getRefreshToken()).isEqualTo("refresh-test1@test.com");
+			})
+			.verifyComplete();
+		assertThat(issuingThread.get()).startsWith("password-hashing");
+	}
+
+	@Test
+	void 로그인_예외_비밀번호_불일치() {
+		// when, then
+		StepVerifier.create(reactiveLoginService.login("test1@test.com", "wrong-password"))
+			.verifyError(BadCredentialsException.class);
+	}
+
+	@Test
+	void 로그인_예외_사용자가_없음() {
+		// when, then
+		StepVerifier.create(reactiveLoginService.login("none@test.com", "password"))
+			.verifyError(BadCredentialsException.class);
+	}
+
+	@Test
+	void 사용자_조회_결과_캐시() {
+		// when
+		userDetailsService.findByUsername("test1@test.com").block();
+		userDetailsService.findByUsername("test1@test.com").block();
+		userDetailsService.findByUsername("none@test.com").block();
+		userDetailsService.findByUsername("none@test.com").block();
+
+		// then, 없는 사용자는 캐시하지 않음
+		assertThat(lookups.get()).isEqualTo(3);
+	}
+
+	@Test
+	void 사용자_조회_캐시된_객체_대신_복사본_반환() {
+		// given
+		UserDetails first = userDetailsService.findByUsername("test1@test.com").block();
+
+		// when
+		((CredentialsContainer) first).eraseCredentials();
+		UserDetails second = userDetailsService.findByUsername("test1@test.com").block();
+
+		// then
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getPassword()).isNotNull();
+		StepVerifier.create(reactiveLoginService.login("test1@test.com", "password"))
+			.expectNextCount(1)
+			.verifyComplete();
+	}
+
+	@Test
+	void 사용자_조회는_subscribe_할_때_시작() {
+		// when
+		Mono<UserDetails> userDetails = userDetailsService.findByUsername("test1@test.com");
+
+		// then
+		assertThat(lookups.get()).isZero();
+		userDetails.block();
+		assertThat(lookups.get()).isEqualTo(1);
+	}
+}
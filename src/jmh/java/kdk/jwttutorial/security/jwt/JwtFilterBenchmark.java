@@ -0,0 +1,88 @@
+package kdk.jwttutorial.security.jwt;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+	@Param({"jjwt", "hs512"})
+	String engine;
+	// false 이면 VerifiedTokenCache 를 사용하지 않고 매 요청 서명을 검증
+	@Param({"true", "false"})
+	boolean cached;
+
+	private JwtFilter jwtFilter;
+	private String accessToken;
+
+	@Setup
+	public void setUp() throws Exception {
+		TokenProvider tokenProvider = TokenFixture.createTokenProvider(engine, "standard");
+		VerifiedTokenCache verifiedTokenCache = cached ? new VerifiedTokenCache(10_000)
+			: new NoOpVerifiedTokenCache();
+		jwtFilter = new JwtFilter(tokenProvider, verifiedTokenCache,
+			new TokenRevocationStore(100_000, 0.01));
+		accessToken = tokenProvider.createToken(TokenFixture.createAuthentication(),
+			EnumToken.ACCESS);
+	}
+
+	@Benchmark
+	public void doFilterInternal(RequestState state, Blackhole blackhole)
+		throws ServletException, IOException {
+		jwtFilter.doFilterInternal(state.request, state.response, state.chain);
+		blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+		SecurityContextHolder.clearContext();
+	}
+
+	@State(Scope.Thread)
+	public static class RequestState {
+
+		private MockHttpServletRequest request;
+		private MockHttpServletResponse response;
+		private FilterChain chain;
+
+		@Setup
+		public void setUp(JwtFilterBenchmark benchmark) {
+			request = new MockHttpServletRequest("GET", "/user/myInfo");
+			request.setServletPath("/user/myInfo");
+			request.addHeader(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + benchmark.accessToken);
+			response = new MockHttpServletResponse();
+			chain = (servletRequest, servletResponse) -> {
+			};
+		}
+	}
+
+	private static class NoOpVerifiedTokenCache extends VerifiedTokenCache {
+
+		private NoOpVerifiedTokenCache() {
+			super(1);
+		}
+
+		@Override
+		public Authentication get(String token) {
+			return null;
+		}
+
+		@Override
+		public void put(String token, Authentication authentication, long expiresAtMillis) {
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package kdk.jwttutorial.security.jwt;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.Authentication;
+
+/**
+ * JWT 와 opaque 토큰의 검증 비용을 비교한다. Authorization header 크기는 setUp 에서 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpaqueTokenBenchmark {
+
+	@Param({"jwt", "opaque"})
+	String format;
+
+	private TokenProvider tokenProvider;
+	private String accessToken;
+
+	@Setup
+	public void setUp() throws Exception {
+		tokenProvider = TokenFixture.createTokenProvider("hs512", "standard", format);
+		accessToken = tokenProvider.createToken(TokenFixture.createAuthentication(),
+			EnumToken.ACCESS);
+		System.out.println(format + " Authorization header: "
+			+ ("Bearer " + accessToken).length() + " bytes");
+	}
+
+	@Benchmark
+	public TokenVerification verify() {
+		return tokenProvider.verify(accessToken);
+	}
+
+	// 검증과 Authentication 생성까지 포함한 비용
+	@Benchmark
+	public Authentication getAuthenticationFromToken() {
+		return tokenProvider.getAuthentication(accessToken);
+	}
+}
@@ -0,0 +1,56 @@
+package kdk.jwttutorial.security.jwt;
+
+import java.util.Collections;
+import java.util.List;
+import kdk.jwttutorial.security.jwt.key.KeyRingLoader;
+import kdk.jwttutorial.security.jwt.opaque.OpaqueTokenStore;
+import kdk.jwttutorial.user.EnumAuthority;
+import kdk.jwttutorial.user.auth.dto.AuthorityDto;
+import kdk.jwttutorial.user.dto.UserDto;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * benchmark 에서 공통으로 사용하는 TokenProvider 와 인증 정보. application.yml 과 같은 값을 사용한다.
+ */
+final class TokenFixture {
+
+	static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+	static final String EMAIL = "test1@test.com";
+
+	private TokenFixture() {
+	}
+
+	static TokenProvider createTokenProvider(String engine, String profile) throws Exception {
+		return createTokenProvider(engine, profile, "jwt");
+	}
+
+	static TokenProvider createTokenProvider(String engine, String profile, String format)
+		throws Exception {
+		TokenProvider tokenProvider = new TokenProvider(new KeyRingLoader(SECRET, ""), 600, 604800,
+			engine, profile, format, new AuthorityRegistry(), new OpaqueTokenStore(100_000, 64));
+		tokenProvider.afterPropertiesSet();
+		return tokenProvider;
+	}
+
+	static Authentication createAuthentication() {
+		List<GrantedAuthority> authorities = Collections.singletonList(
+			new SimpleGrantedAuthority(EnumAuthority.ROLE_USER.name()));
+		return new UsernamePasswordAuthenticationToken(new User(EMAIL, "", authorities), "",
+			authorities);
+	}
+
+	static UserDto createUserDto() {
+		return UserDto.builder()
+			.email(EMAIL)
+			.nickname("test1")
+			.authorityDtoSet(Collections.singleton(
+				AuthorityDto.builder()
+					.authorityName(EnumAuthority.ROLE_USER.name())
+					.build()))
+			.build();
+	}
+}
@@ -0,0 +1,72 @@
+package kdk.jwttutorial.security.jwt;
+
+import java.util.concurrent.TimeUnit;
+import kdk.jwttutorial.user.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenProviderBenchmark {
+
+	@Param({"jjwt", "hs512"})
+	String engine;
+	@Param({"standard", "compact"})
+	String profile;
+
+	private TokenProvider tokenProvider;
+	private Authentication authentication;
+	private UserDto userDto;
+	private String accessToken;
+	private VerifiedToken verifiedToken;
+
+	@Setup
+	public void setUp() throws Exception {
+		tokenProvider = TokenFixture.createTokenProvider(engine, profile);
+		authentication = TokenFixture.createAuthentication();
+		userDto = TokenFixture.createUserDto();
+		accessToken = tokenProvider.createToken(authentication, EnumToken.ACCESS);
+		verifiedToken = tokenProvider.verify(accessToken).getVerifiedToken();
+	}
+
+	@Benchmark
+	public String createTokenFromAuthentication() {
+		return tokenProvider.createToken(authentication, EnumToken.ACCESS);
+	}
+
+	@Benchmark
+	public String createTokenFromUserDto() {
+		return tokenProvider.createToken(userDto, EnumToken.ACCESS);
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return tokenProvider.validateToken(new MockHttpServletRequest(), accessToken);
+	}
+
+	@Benchmark
+	public TokenVerification verify() {
+		return tokenProvider.verify(accessToken);
+	}
+
+	// 서명 검증 없이 claim 으로 Authentication 을 만드는 비용
+	@Benchmark
+	public Authentication getAuthentication() {
+		return tokenProvider.getAuthentication(accessToken, verifiedToken);
+	}
+
+	// 파싱, 서명 검증, Authentication 생성까지 포함한 비용
+	@Benchmark
+	public Authentication getAuthenticationFromToken() {
+		return tokenProvider.getAuthentication(accessToken);
+	}
+}
@@ -0,0 +1,37 @@
+package kdk.jwttutorial.user;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserDtoBenchmark {
+
+	private User user;
+
+	@Setup
+	public void setUp() {
+		user = User.builder()
+			.userId(1L)
+			.email("test1@test.com")
+			.password("password")
+			.nickname("test1")
+			.authorities(Set.of(Authority.createUserRole(), Authority.createAdminRole()))
+			.build();
+	}
+
+	@Benchmark
+	public UserDto from() {
+		return UserDto.from(user);
+	}
+}
@@ -15,6 +15,7 @@ public enum ErrorCode {
 	METHOD_NOT_ALLOWED(405, "C005", "허용되지 않은 메서드입니다"),
 	HANDLE_ACCESS_DENIED(403, "C006", "액세스가 거부되었습니다"),
 	INTERNAL_SERVER_ERROR(500, "C007", "Server Error"),
+	SERVICE_UNAVAILABLE(503, "C008", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요"),
 
 	// User
 	EMAIL_DUPLICATION(400, "U001", "이미 사용중인 이메일입니다"),
@@ -26,6 +27,9 @@ public enum ErrorCode {
 	UNSUPPORTED_TOKEN(401, "A003", "지원되지 않는 JWT 토큰입니다"),
 	INCORRECT_SIGNATURE(401, "A004", "유효하지 않은 JWT 서명입니다"),
 	UNKNOWN_TOKEN(401, "A005", "알 수 없는 오류입니다"),
+	REVOKED_TOKEN(401, "A006", "폐기된 JWT 토큰입니다"),
+	REUSED_REFRESH_TOKEN(401, "A007", "이미 사용된 리프레시 토큰입니다"),
+	INVALID_TOKEN_TYPE(401, "A008", "용도가 맞지 않는 JWT 토큰입니다"),
 
 	// Login
 	INVALID_ACCOUNT(400, "L001", "계정 정보가 일치하지 않습니다.");
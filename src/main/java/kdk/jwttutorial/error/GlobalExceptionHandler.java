@@ -127,9 +127,8 @@ public class GlobalExceptionHandler {
 	protected ResponseEntity<ErrorResponse> handleInvalidRefreshTokenException(
 		InvalidTokenException e) {
 		log.error("handleInvalidRefreshTokenException", e);
-		final ErrorResponse response = ErrorResponse.of(ErrorCode.INVALID_TOKEN);
-		return new ResponseEntity<>(response,
-			HttpStatus.valueOf(ErrorCode.INVALID_TOKEN.getStatus()));
+		final ErrorResponse response = ErrorResponse.of(e.getErrorCode());
+		return new ResponseEntity<>(response, HttpStatus.valueOf(e.getErrorCode().getStatus()));
 	}
 
 	// Login
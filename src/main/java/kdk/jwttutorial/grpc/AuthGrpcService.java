@@ -0,0 +1,200 @@
+package kdk.jwttutorial.grpc;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.atomic.AtomicBoolean;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.error.exception.InvalidValueException;
+import kdk.jwttutorial.grpc.proto.AuthServiceGrpc;
+import kdk.jwttutorial.grpc.proto.LoginRequest;
+import kdk.jwttutorial.grpc.proto.RefreshRequest;
+import kdk.jwttutorial.grpc.proto.TokenReply;
+import kdk.jwttutorial.grpc.proto.UserReply;
+import kdk.jwttutorial.grpc.proto.UserRequest;
+import kdk.jwttutorial.grpc.proto.VerifyReply;
+import kdk.jwttutorial.grpc.proto.VerifyRequest;
+import kdk.jwttutorial.security.PasswordHashingExecutor;
+import kdk.jwttutorial.security.jwt.JwtService;
+import kdk.jwttutorial.security.jwt.TokenIntrospectionService;
+import kdk.jwttutorial.security.jwt.TokenRefreshService;
+import kdk.jwttutorial.security.jwt.dto.IntrospectionDto;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.user.EnumAuthority;
+import kdk.jwttutorial.user.UserService;
+import kdk.jwttutorial.user.auth.dto.AuthorityDto;
+import kdk.jwttutorial.user.dto.LoginDto;
+import kdk.jwttutorial.user.dto.UserDto;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.StringUtils;
+
+/**
+ * 내부 서비스가 JSON, HTTP/1.1 대신 protobuf, HTTP/2 로 호출하는 인증 API. 동작은 REST endpoint 와 같은 service 를 사용하며,
+ * 예외는 GrpcExceptionTranslator 로 변환한다.
+ */
+@GrpcService
+@RequiredArgsConstructor
+public class AuthGrpcService extends AuthServiceGrpc.AuthServiceImplBase {
+
+	private final JwtService jwtService;
+	private final TokenRefreshService tokenRefreshService;
+	private final TokenIntrospectionService tokenIntrospectionService;
+	private final UserService userService;
+	private final PasswordHashingExecutor passwordHashingExecutor;
+
+	// BCrypt 검증은 passwordHashingExecutor 에서 수행하고 gRPC 스레드는 바로 반환
+	@Override
+	public void login(LoginRequest request, StreamObserver<TokenReply> responseObserver) {
+		try {
+			if (!StringUtils.hasText(request.getEmail())
+				|| !StringUtils.hasText(request.getPassword())) {
+				throw new InvalidValueException(ErrorCode.INVALID_INPUT_VALUE.getMessage());
+			}
+			LoginDto loginDto = LoginDto.builder()
+				.email(request.getEmail())
+				.password(request.getPassword())
+				.build();
+			passwordHashingExecutor.submit(() -> jwtService.getJwtPair(loginDto))
+				.whenComplete((tokenDto, e) -> {
+					if (e != null) {
+						responseObserver.onError(GrpcExceptionTranslator.translate(e));
+						return;
+					}
+					responseObserver.onNext(toTokenReply(tokenDto));
+					responseObserver.onCompleted();
+				});
+		} catch (RuntimeException e) {
+			responseObserver.onError(GrpcExceptionTranslator.translate(e));
+		}
+	}
+
+	@Override
+	public void refresh(RefreshRequest request, StreamObserver<TokenReply> responseObserver) {
+		try {
+			TokenDto tokenDto = tokenRefreshService.refresh(request.getRefreshToken());
+			responseObserver.onNext(toTokenReply(tokenDto));
+			responseObserver.onCompleted();
+		} catch (RuntimeException e) {
+			responseObserver.onError(GrpcExceptionTranslator.translate(e));
+		}
+	}
+
+	@Override
+	public void verify(VerifyRequest request, StreamObserver<VerifyReply> responseObserver) {
+		try {
+			responseObserver.onNext(
+				toVerifyReply(tokenIntrospectionService.introspect(request.getToken())));
+			responseObserver.onCompleted();
+		} catch (RuntimeException e) {
+			responseObserver.onError(GrpcExceptionTranslator.translate(e));
+		}
+	}
+
+	// 요청이 올 때마다 바로 확인하여 응답, 유효하지 않은 토큰은 stream 을 끊지 않고 active=false 로 응답
+	// 클라이언트가 응답을 읽지 않으면 응답이 서버에 쌓이지 않도록, 응답을 보낼 수 있을 때만 다음 요청을 하나씩 받는다
+	@Override
+	public StreamObserver<VerifyRequest> verifyStream(
+		StreamObserver<VerifyReply> responseObserver) {
+		ServerCallStreamObserver<VerifyReply> serverObserver =
+			(ServerCallStreamObserver<VerifyReply>) responseObserver;
+		serverObserver.disableAutoRequest();
+		// 다음 요청을 이미 요청했으면 true, onReady handler 와 onNext 가 중복으로 요청하지 않도록 사용
+		AtomicBoolean requested = new AtomicBoolean();
+		Runnable requestNextIfReady = () -> {
+			if (serverObserver.isReady() && requested.compareAndSet(false, true)) {
+				serverObserver.request(1);
+			}
+		};
+		serverObserver.setOnReadyHandler(requestNextIfReady);
+		return new StreamObserver<>() {
+
+			// 오류로 stream 을 닫은 뒤에 들어온 요청은 무시
+			private boolean closed;
+
+			@Override
+			public void onNext(VerifyRequest request) {
+				if (closed || serverObserver.isCancelled()) {
+					return;
+				}
+				try {
+					serverObserver.onNext(
+						toVerifyReply(tokenIntrospectionService.introspect(request.getToken())));
+				} catch (RuntimeException e) {
+					closed = true;
+					serverObserver.onError(GrpcExceptionTranslator.translate(e));
+					return;
+				}
+				// ready 가 아니면 onReady handler 에서 다음 요청을 받음
+				requested.set(false);
+				requestNextIfReady.run();
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				// 클라이언트가 취소한 경우, 응답할 대상이 없음
+			}
+
+			@Override
+			public void onCompleted() {
+				if (!closed) {
+					serverObserver.onCompleted();
+				}
+			}
+		};
+	}
+
+	@Override
+	public void getUser(UserRequest request, StreamObserver<UserReply> responseObserver) {
+		try {
+			checkAdmin();
+			UserDto userDto = userService.getUserWithAuthorities(request.getEmail());
+			UserReply.Builder reply = UserReply.newBuilder()
+				.setEmail(userDto.getEmail())
+				.setNickname(userDto.getNickname());
+			for (AuthorityDto authorityDto : userDto.getAuthorityDtoSet()) {
+				reply.addAuthorities(authorityDto.getAuthorityName());
+			}
+			responseObserver.onNext(reply.build());
+			responseObserver.onCompleted();
+		} catch (RuntimeException e) {
+			responseObserver.onError(GrpcExceptionTranslator.translate(e));
+		}
+	}
+
+	// REST 의 /user/info/{username} 과 같이 ROLE_ADMIN 만 허용
+	private void checkAdmin() {
+		Authentication authentication = GrpcAuthenticationInterceptor.AUTHENTICATION_KEY.get();
+		if (authentication == null || authentication.getAuthorities().stream()
+			.map(GrantedAuthority::getAuthority)
+			.noneMatch(EnumAuthority.ROLE_ADMIN.name()::equals)) {
+			throw new AccessDeniedException(ErrorCode.HANDLE_ACCESS_DENIED.getMessage());
+		}
+	}
+
+	private static TokenReply toTokenReply(TokenDto tokenDto) {
+		return TokenReply.newBuilder()
+			.setAccessToken(tokenDto.getAccessToken())
+			.setRefreshToken(tokenDto.getRefreshToken())
+			.build();
+	}
+
+	// proto3 는 null 을 허용하지 않으므로 비활성 토큰은 active 외의 필드를 설정하지 않음
+	private static VerifyReply toVerifyReply(IntrospectionDto introspectionDto) {
+		if (!introspectionDto.isActive()) {
+			return VerifyReply.getDefaultInstance();
+		}
+		VerifyReply.Builder reply = VerifyReply.newBuilder()
+			.setActive(true)
+			.setSub(introspectionDto.getSub())
+			.addAllAuthorities(introspectionDto.getAuthorities())
+			.setExp(introspectionDto.getExp())
+			.setIat(introspectionDto.getIat());
+		if (introspectionDto.getJti() != null) {
+			reply.setJti(introspectionDto.getJti());
+		}
+		return reply.build();
+	}
+}
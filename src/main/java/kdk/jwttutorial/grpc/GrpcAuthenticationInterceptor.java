@@ -0,0 +1,71 @@
+package kdk.jwttutorial.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import java.util.Set;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.grpc.proto.AuthServiceGrpc;
+import kdk.jwttutorial.security.jwt.TokenIntrospectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
+
+/**
+ * JwtFilter 와 같은 방법(검증 캐시, 폐기 확인)으로 authorization metadata 의 액세스 토큰을 확인하고, 인증 정보를 gRPC
+ * Context 에 저장한다. stream 호출은 시작할 때 한 번만 인증한다. 로그인과 재발급, AuthService 가 아닌 서비스(health 등)는
+ * 토큰 없이 호출할 수 있다.
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class GrpcAuthenticationInterceptor implements ServerInterceptor {
+
+	static final Context.Key<Authentication> AUTHENTICATION_KEY = Context.key("authentication");
+	static final Metadata.Key<String> AUTHORIZATION_KEY =
+		Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+	private static final Set<String> PUBLIC_METHODS = Set.of(
+		AuthServiceGrpc.getLoginMethod().getFullMethodName(),
+		AuthServiceGrpc.getRefreshMethod().getFullMethodName());
+
+	private final TokenIntrospectionService tokenIntrospectionService;
+
+	@Override
+	public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+		Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+		String methodName = call.getMethodDescriptor().getFullMethodName();
+		if (!AuthServiceGrpc.SERVICE_NAME.equals(call.getMethodDescriptor().getServiceName())
+			|| PUBLIC_METHODS.contains(methodName)) {
+			return next.startCall(call, headers);
+		}
+
+		String jwt = resolveToken(headers);
+		Authentication authentication =
+			StringUtils.hasText(jwt) ? tokenIntrospectionService.authenticate(jwt) : null;
+		if (authentication == null) {
+			log.debug("유효한 JWT 토큰이 없습니다, method: {}", methodName);
+			Metadata trailers = new Metadata();
+			trailers.put(GrpcExceptionTranslator.ERROR_CODE_KEY, ErrorCode.INVALID_TOKEN.getCode());
+			call.close(Status.UNAUTHENTICATED
+				.withDescription(ErrorCode.INVALID_TOKEN.getMessage()), trailers);
+			return new ServerCall.Listener<>() {
+			};
+		}
+
+		Context context = Context.current().withValue(AUTHENTICATION_KEY, authentication);
+		return Contexts.interceptCall(context, call, headers, next);
+	}
+
+	private String resolveToken(Metadata headers) {
+		String bearerToken = headers.get(AUTHORIZATION_KEY);
+		if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+			return bearerToken.substring(7);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,18 @@
+package kdk.jwttutorial.grpc;
+
+import kdk.jwttutorial.security.jwt.TokenIntrospectionService;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * gRPC 서버는 grpc.server.* 설정으로 web 서버와 별도의 port 에서 실행한다.
+ */
+@Configuration
+public class GrpcConfig {
+
+	@GrpcGlobalServerInterceptor
+	public GrpcAuthenticationInterceptor grpcAuthenticationInterceptor(
+		TokenIntrospectionService tokenIntrospectionService) {
+		return new GrpcAuthenticationInterceptor(tokenIntrospectionService);
+	}
+}
@@ -0,0 +1,82 @@
+package kdk.jwttutorial.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.util.concurrent.CompletionException;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.error.exception.BusinessException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * GlobalExceptionHandler 와 같은 기준으로 예외를 ErrorCode 로 바꾸고 gRPC Status 로 변환한다. ErrorCode 의 code 는
+ * error-code metadata 로 전달한다.
+ */
+@Log4j2
+final class GrpcExceptionTranslator {
+
+	static final Metadata.Key<String> ERROR_CODE_KEY =
+		Metadata.Key.of("error-code", Metadata.ASCII_STRING_MARSHALLER);
+
+	private GrpcExceptionTranslator() {
+	}
+
+	static StatusRuntimeException translate(Throwable throwable) {
+		Throwable e = throwable instanceof CompletionException && throwable.getCause() != null
+			? throwable.getCause() : throwable;
+		if (e instanceof StatusRuntimeException) {
+			return (StatusRuntimeException) e;
+		}
+
+		ErrorCode errorCode;
+		String message;
+		if (e instanceof BusinessException) {
+			errorCode = ((BusinessException) e).getErrorCode();
+			message = e.getMessage();
+		} else if (e instanceof BadCredentialsException) {
+			errorCode = ErrorCode.INVALID_ACCOUNT;
+			message = errorCode.getMessage();
+		} else if (e instanceof UsernameNotFoundException) {
+			errorCode = ErrorCode.USER_NOT_FOUND;
+			message = errorCode.getMessage();
+		} else if (e instanceof AccessDeniedException) {
+			errorCode = ErrorCode.HANDLE_ACCESS_DENIED;
+			message = errorCode.getMessage();
+		} else {
+			log.error("handleException", e);
+			errorCode = ErrorCode.INTERNAL_SERVER_ERROR;
+			message = errorCode.getMessage();
+		}
+
+		Metadata trailers = new Metadata();
+		trailers.put(ERROR_CODE_KEY, errorCode.getCode());
+		return toStatus(errorCode).withDescription(message).asRuntimeException(trailers);
+	}
+
+	// HTTP status 를 기준으로 하되, REST 에서 400 으로 응답하는 사용자 없음과 계정 불일치는 의미에 맞게 변환
+	private static Status toStatus(ErrorCode errorCode) {
+		if (errorCode == ErrorCode.USER_NOT_FOUND) {
+			return Status.NOT_FOUND;
+		}
+		if (errorCode == ErrorCode.INVALID_ACCOUNT) {
+			return Status.UNAUTHENTICATED;
+		}
+		switch (errorCode.getStatus()) {
+			case 401:
+				return Status.UNAUTHENTICATED;
+			case 403:
+				return Status.PERMISSION_DENIED;
+			case 405:
+				return Status.UNIMPLEMENTED;
+			case 500:
+				return Status.INTERNAL;
+			case 503:
+				return Status.UNAVAILABLE;
+			default:
+				return Status.INVALID_ARGUMENT;
+		}
+	}
+}
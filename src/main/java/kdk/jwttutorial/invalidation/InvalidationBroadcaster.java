@@ -0,0 +1,131 @@
+package kdk.jwttutorial.invalidation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 무효화 이벤트를 모아 {@link InvalidationBus} 로 다른 노드에 보내고, 받은 이벤트를 이 노드의 listener 에 전달한다.
+ * <p>
+ * 이벤트는 짧은 주기마다 batch 로 보내며, 주기 안에 같은 대상(type, key)의 이벤트가 여러 번 발행되면 하나로 합친다. 트랜잭션
+ * 안에서 발행한 이벤트는 commit 후에 모으므로, 다른 노드가 이벤트를 받고 다시 조회했을 때 commit 전 값을 읽지 않는다. 보내기에
+ * 실패한 batch 는 다음 주기에 다시 보낸다.
+ * <p>
+ * 이벤트를 발행한 노드는 자신의 캐시를 직접 갱신해야 하며, 자신이 보낸 이벤트는 다시 받지 않는다.
+ */
+@Component
+@Log4j2
+public class InvalidationBroadcaster implements MeterBinder {
+
+	private final InvalidationBus invalidationBus;
+	private final int maxBatchSize;
+	private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+	private final Object pendingLock = new Object();
+	private final LongAdder published = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder batchesSent = new LongAdder();
+	private final LongAdder received = new LongAdder();
+	// pendingLock 안에서만 사용
+	private Map<String, InvalidationEvent> pending = new LinkedHashMap<>();
+
+	public InvalidationBroadcaster(InvalidationBus invalidationBus,
+		@Value("${invalidation.max-batch-size:256}") int maxBatchSize) {
+		this.invalidationBus = invalidationBus;
+		this.maxBatchSize = maxBatchSize;
+		invalidationBus.subscribe(this::receive);
+	}
+
+	public void publish(InvalidationEvent event) {
+		published.increment();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(
+				new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						enqueue(event);
+					}
+				});
+			return;
+		}
+		enqueue(event);
+	}
+
+	// 다른 노드에서 받은 이벤트를 처리할 listener 등록
+	public void subscribe(Consumer<InvalidationEvent> listener) {
+		listeners.add(listener);
+	}
+
+	@Scheduled(fixedDelayString = "${invalidation.flush-interval-ms:20}")
+	public void flush() {
+		List<InvalidationEvent> batch;
+		synchronized (pendingLock) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			batch = new ArrayList<>(pending.values());
+			pending = new LinkedHashMap<>();
+		}
+		try {
+			invalidationBus.send(batch);
+			batchesSent.increment();
+		} catch (RuntimeException e) {
+			log.warn("무효화 이벤트를 보내지 못했습니다, 다음 주기에 다시 보냅니다, 이벤트: {}", batch.size(), e);
+			batch.forEach(this::enqueue);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("invalidation.published", published, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("invalidation.coalesced", coalesced, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("invalidation.batches.sent", batchesSent, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("invalidation.received", received, LongAdder::sum)
+			.register(registry);
+	}
+
+	private void enqueue(InvalidationEvent event) {
+		boolean full;
+		synchronized (pendingLock) {
+			InvalidationEvent previous = pending.get(event.getCoalescingKey());
+			if (previous != null) {
+				coalesced.increment();
+				pending.put(event.getCoalescingKey(), previous.merge(event));
+			} else {
+				pending.put(event.getCoalescingKey(), event);
+			}
+			full = pending.size() >= maxBatchSize;
+		}
+		if (full) {
+			flush();
+		}
+	}
+
+	private void receive(List<InvalidationEvent> batch) {
+		received.add(batch.size());
+		for (InvalidationEvent event : batch) {
+			for (Consumer<InvalidationEvent> listener : listeners) {
+				try {
+					listener.accept(event);
+				} catch (RuntimeException e) {
+					log.warn("무효화 이벤트를 처리하지 못했습니다, 이벤트: {}", event, e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package kdk.jwttutorial.invalidation;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 노드 사이에 무효화 이벤트를 전달하는 SPI. 메시지 브로커 등으로 구현하며, 보낸 batch 는 보낸 노드를 제외한 모든 노드의
+ * subscriber 에 전달한다. 이벤트는 멱등이므로 중복 전달해도 되고 batch 사이의 순서를 보장하지 않아도 된다.
+ * <p>
+ * 애플리케이션 코드는 직접 사용하지 않고 {@link InvalidationBroadcaster} 를 통해 사용한다.
+ */
+public interface InvalidationBus {
+
+	void send(List<InvalidationEvent> events);
+
+	// 다른 노드에서 보낸 batch 를 받을 subscriber 를 등록, 전달은 bus 의 스레드에서 수행
+	void subscribe(Consumer<List<InvalidationEvent>> subscriber);
+}
@@ -0,0 +1,22 @@
+package kdk.jwttutorial.invalidation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * invalidation.bus 로 {@link InvalidationBus} 구현을 고른다. 기본값 loopback 은 같은 JVM 의 노드끼리만 전달하며, 다른
+ * 구현을 추가할 때는 값을 바꾸고 해당 구현을 bean 으로 등록한다.
+ */
+@Configuration
+public class InvalidationConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "invalidation.bus", havingValue = "loopback",
+		matchIfMissing = true)
+	public LoopbackInvalidationBus loopbackInvalidationBus(
+		@Value("${invalidation.loopback.channel:default}") String channel) {
+		return new LoopbackInvalidationBus(channel);
+	}
+}
@@ -0,0 +1,55 @@
+package kdk.jwttutorial.invalidation;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 다른 노드에 알리는 무효화 이벤트. 같은 이벤트를 여러 번 받거나 순서가 바뀌어도 결과가 같도록, 같은 type 과 key 의 이벤트는
+ * value 가 큰 쪽이 이긴다.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class InvalidationEvent {
+
+	public enum Type {
+		// key: email, value: 사용하지 않음
+		USER_CHANGED,
+		// key: jti, value: 토큰 만료 시각
+		TOKEN_REVOKED,
+		// key: email, value: 이 시각 전에 발급한 토큰을 폐기
+		TOKENS_INVALIDATED
+	}
+
+	private final Type type;
+	private final String key;
+	private final long value;
+
+	public InvalidationEvent(Type type, String key, long value) {
+		this.type = type;
+		this.key = key;
+		this.value = value;
+	}
+
+	public static InvalidationEvent userChanged(String email) {
+		return new InvalidationEvent(Type.USER_CHANGED, email, 0);
+	}
+
+	public static InvalidationEvent tokenRevoked(String tokenId, long expiresAtMillis) {
+		return new InvalidationEvent(Type.TOKEN_REVOKED, tokenId, expiresAtMillis);
+	}
+
+	public static InvalidationEvent tokensInvalidated(String subject, long invalidBeforeMillis) {
+		return new InvalidationEvent(Type.TOKENS_INVALIDATED, subject, invalidBeforeMillis);
+	}
+
+	// 같은 대상에 대한 이벤트인지 판단하는 key, batch 안에서 하나로 합칠 때 사용
+	String getCoalescingKey() {
+		return type.name() + ':' + key;
+	}
+
+	InvalidationEvent merge(InvalidationEvent other) {
+		return other.value > value ? other : this;
+	}
+}
@@ -0,0 +1,80 @@
+package kdk.jwttutorial.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * 같은 JVM 안에서 channel 이름이 같은 인스턴스끼리 이벤트를 주고받는 {@link InvalidationBus}. 외부 브로커 없이 한 JVM 에
+ * 여러 application context 를 띄워 노드 사이의 캐시 일관성과 전파 지연을 확인할 때 사용하며, 노드가 하나면 아무것도 전달하지
+ * 않는다. 각 인스턴스는 전용 스레드 하나로 받은 순서대로 subscriber 를 호출한다.
+ */
+@Log4j2
+public class LoopbackInvalidationBus implements InvalidationBus, DisposableBean {
+
+	private static final Map<String, Set<LoopbackInvalidationBus>> CHANNELS =
+		new ConcurrentHashMap<>();
+
+	private final String channel;
+	private final List<Consumer<List<InvalidationEvent>>> subscribers =
+		new CopyOnWriteArrayList<>();
+	private final ExecutorService deliveryExecutor;
+
+	public LoopbackInvalidationBus(String channel) {
+		this.channel = channel;
+		this.deliveryExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "invalidation-loopback-" + channel);
+			thread.setDaemon(true);
+			return thread;
+		});
+		CHANNELS.computeIfAbsent(channel, name -> ConcurrentHashMap.newKeySet()).add(this);
+	}
+
+	@Override
+	public void send(List<InvalidationEvent> events) {
+		List<InvalidationEvent> batch = List.copyOf(events);
+		for (LoopbackInvalidationBus member : CHANNELS.getOrDefault(channel, Set.of())) {
+			if (member != this) {
+				member.deliver(batch);
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<List<InvalidationEvent>> subscriber) {
+		subscribers.add(subscriber);
+	}
+
+	@Override
+	public void destroy() {
+		CHANNELS.computeIfPresent(channel, (name, members) -> {
+			members.remove(this);
+			return members.isEmpty() ? null : members;
+		});
+		deliveryExecutor.shutdown();
+	}
+
+	private void deliver(List<InvalidationEvent> batch) {
+		try {
+			deliveryExecutor.execute(() -> {
+				for (Consumer<List<InvalidationEvent>> subscriber : subscribers) {
+					try {
+						subscriber.accept(batch);
+					} catch (RuntimeException e) {
+						log.warn("무효화 이벤트를 처리하지 못했습니다, channel: {}", channel, e);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// 종료 중인 노드
+		}
+	}
+}
@@ -1,33 +1,95 @@
 package kdk.jwttutorial.security;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.transaction.Transactional;
 import kdk.jwttutorial.error.ErrorCode;
 import kdk.jwttutorial.user.User;
 import kdk.jwttutorial.user.UserRepository;
-import lombok.RequiredArgsConstructor;
+import kdk.jwttutorial.user.directory.UserDirectory;
+import kdk.jwttutorial.user.directory.UserRecord;
+import kdk.jwttutorial.user.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * 조회한 UserDetails 를 TTL 동안 캐시한다. 존재하지 않는 email 도 캐시하며, 같은 email 의 동시 조회는 한 번의 쿼리로 합쳐진다.
+ * 사용자 디렉터리를 적재한 뒤에는 캐시 대신 디렉터리에서 조회한다.
+ */
 @Component("userDetailsService")
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, MeterBinder {
+
+	private static final String CACHE_NAME = "userDetails";
 
 	private final UserRepository userRepository;
+	private final UserDirectory userDirectory;
+	private final LoadingCache<String, Optional<UserDetails>> cache;
+
+	public CustomUserDetailsService(UserRepository userRepository, UserDirectory userDirectory,
+		@Value("${user-details.cache.max-size}") long maximumSize,
+		@Value("${user-details.cache.ttl-seconds}") long ttlSeconds) {
+		this.userRepository = userRepository;
+		this.userDirectory = userDirectory;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+			.recordStats()
+			.build(this::load);
+	}
 
+	// 캐시와 디렉터리 조회는 DB 를 사용하지 않으므로 트랜잭션을 시작하지 않는다. 캐시 miss 의 조회는 repository 의
+	// 트랜잭션에서 authorities 까지 함께 가져온다
 	@Override
-	@Transactional
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
-		return userRepository.findOneWithAuthoritiesByEmail(username)
-			.map(this::createUser)
+		// 디렉터리는 조회할 때마다 새 객체를 만들므로 복사하지 않는다
+		if (userDirectory.isReady()) {
+			return userDirectory.find(username)
+				.map(this::createUser)
+				.orElseThrow(
+					() -> new UsernameNotFoundException(ErrorCode.USER_NOT_FOUND.getMessage()));
+		}
+		// 인증 후 credentials 가 지워지므로 캐시된 객체 대신 복사본을 반환
+		return cache.get(username)
+			.map(userDetails -> org.springframework.security.core.userdetails.User
+				.withUserDetails(userDetails).build())
 			.orElseThrow(() -> new UsernameNotFoundException(ErrorCode.USER_NOT_FOUND.getMessage()));
 	}
 
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		evict(event.getEmail());
+	}
+
+	public void evict(String email) {
+		cache.invalidate(email);
+	}
+
+	public void evictAll() {
+		cache.invalidateAll();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+	}
+
+	private Optional<UserDetails> load(String email) {
+		return userRepository.findOneWithAuthoritiesByEmail(email)
+			.map(this::createUser);
+	}
+
 	private org.springframework.security.core.userdetails.User createUser(User user) {
 		List<GrantedAuthority> grantedAuthorities = user.getAuthorities().stream()
 			.map(authority -> new SimpleGrantedAuthority(authority.getAuthorityName()))
@@ -36,4 +98,13 @@ public class CustomUserDetailsService implements UserDetailsService {
 			user.getPassword(),
 			grantedAuthorities);
 	}
+
+	private org.springframework.security.core.userdetails.User createUser(UserRecord user) {
+		List<GrantedAuthority> grantedAuthorities = user.getAuthorityNames().stream()
+			.map(SimpleGrantedAuthority::new)
+			.collect(Collectors.toList());
+		return new org.springframework.security.core.userdetails.User(user.getEmail(),
+			user.getPassword(),
+			grantedAuthorities);
+	}
 }
@@ -0,0 +1,91 @@
+package kdk.jwttutorial.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.exception.PasswordHashingRejectedException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+/**
+ * BCrypt 처럼 CPU 를 오래 점유하는 PasswordEncoder 작업 전용 executor. 요청 스레드(Tomcat worker)가 해싱에 묶이지 않도록
+ * 고정 크기 스레드와 bounded queue 에서 실행하며, queue 가 가득 차면 대기시키지 않고 즉시 거절한다.
+ */
+@Component
+@Log4j2
+public class PasswordHashingExecutor implements MeterBinder, DisposableBean {
+
+	private static final String EXECUTOR_NAME = "passwordHashing";
+
+	private final ThreadPoolExecutor threadPoolExecutor;
+	private final ExecutorService executor;
+	private final LongAdder rejections = new LongAdder();
+	private final LongAdder waitCount = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+
+	public PasswordHashingExecutor(
+		@Value("${password-hashing.threads}") int threads,
+		@Value("${password-hashing.queue-capacity}") int queueCapacity) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(queueCapacity),
+			runnable -> {
+				Thread thread = new Thread(runnable,
+					"password-hashing-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			},
+			new ThreadPoolExecutor.AbortPolicy());
+		// 제출한 스레드의 SecurityContext 를 작업 스레드로 전파
+		this.executor = new DelegatingSecurityContextExecutorService(threadPoolExecutor);
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> task) {
+		long enqueuedAt = System.nanoTime();
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				waitNanos.add(System.nanoTime() - enqueuedAt);
+				waitCount.increment();
+				return task.get();
+			}, executor);
+		} catch (RejectedExecutionException e) {
+			rejections.increment();
+			log.warn("패스워드 해싱 요청이 거절되었습니다, queue: {}",
+				threadPoolExecutor.getQueue().size());
+			throw new PasswordHashingRejectedException(ErrorCode.SERVICE_UNAVAILABLE.getMessage());
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		// executor.queued(queue depth), executor.active, executor.completed 등
+		new ExecutorServiceMetrics(threadPoolExecutor, EXECUTOR_NAME, Tags.empty()).bindTo(registry);
+		FunctionTimer.builder("password.hashing.wait", this,
+				hashing -> hashing.waitCount.sum(), hashing -> hashing.waitNanos.sum(),
+				TimeUnit.NANOSECONDS)
+			.register(registry);
+		FunctionCounter.builder("password.hashing.rejected", rejections, LongAdder::sum)
+			.register(registry);
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+}
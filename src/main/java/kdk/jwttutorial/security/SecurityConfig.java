@@ -2,7 +2,10 @@ package kdk.jwttutorial.security;
 
 import kdk.jwttutorial.security.jwt.JwtSecurityConfig;
 import kdk.jwttutorial.security.jwt.TokenProvider;
+import kdk.jwttutorial.security.jwt.VerifiedTokenCache;
 import kdk.jwttutorial.security.jwt.exception.handler.JwtAuthenticationEntryPoint;
+import kdk.jwttutorial.security.jwt.key.JwksController;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +25,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
 	private final TokenProvider tokenProvider;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final TokenRevocationStore tokenRevocationStore;
 	private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
 	@Bean
@@ -65,6 +70,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 			.antMatchers("/user/login"
 				, "/user/signup"
 				, "/token/refresh"
+				, JwksController.JWKS_PATH
 				, "/swagger-resources"
 				, "/swagger-resources/**"
 				, "/v3/api-docs"
@@ -73,6 +79,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 			.anyRequest().authenticated()
 
 			.and()
-			.apply(new JwtSecurityConfig(tokenProvider));
+			.apply(
+				new JwtSecurityConfig(tokenProvider, verifiedTokenCache, tokenRevocationStore));
 	}
 }
\ No newline at end of file
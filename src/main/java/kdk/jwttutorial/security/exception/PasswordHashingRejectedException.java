@@ -0,0 +1,11 @@
+package kdk.jwttutorial.security.exception;
+
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.error.exception.BusinessException;
+
+public class PasswordHashingRejectedException extends BusinessException {
+
+	public PasswordHashingRejectedException(String message) {
+		super(message, ErrorCode.SERVICE_UNAVAILABLE);
+	}
+}
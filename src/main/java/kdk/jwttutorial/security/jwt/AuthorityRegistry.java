@@ -0,0 +1,70 @@
+package kdk.jwttutorial.security.jwt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import kdk.jwttutorial.user.EnumAuthority;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * "auth" claim 값(ROLE_USER, ROLE_ADMIN 의 조합)을 공유되는 불변 GrantedAuthority 목록으로 변환한다. claim 값의 종류가 적기
+ * 때문에 한 번 변환한 결과를 재사용하여 요청마다 split 과 SimpleGrantedAuthority 생성을 하지 않는다.
+ */
+@Component
+public class AuthorityRegistry {
+
+	// 서명된 토큰의 claim 만 들어오지만 예상하지 못한 조합이 많아져도 메모리가 늘어나지 않도록 제한
+	private static final int MAX_CLAIM_VALUES = 64;
+
+	private final Map<String, GrantedAuthority> authorityByName = Arrays.stream(
+			EnumAuthority.values())
+		.collect(Collectors.toUnmodifiableMap(Enum::name,
+			authority -> new SimpleGrantedAuthority(authority.name())));
+	private final ConcurrentMap<String, List<GrantedAuthority>> authoritiesByClaim =
+		new ConcurrentHashMap<>();
+
+	public List<GrantedAuthority> getAuthorities(String claim) {
+		if (claim == null || claim.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<GrantedAuthority> authorities = authoritiesByClaim.get(claim);
+		if (authorities != null) {
+			return authorities;
+		}
+
+		authorities = parse(claim);
+		if (authoritiesByClaim.size() < MAX_CLAIM_VALUES) {
+			List<GrantedAuthority> previous = authoritiesByClaim.putIfAbsent(claim, authorities);
+			return previous != null ? previous : authorities;
+		}
+		return authorities;
+	}
+
+	private List<GrantedAuthority> parse(String claim) {
+		List<GrantedAuthority> authorities = new ArrayList<>();
+		int start = 0;
+		while (start <= claim.length()) {
+			int end = claim.indexOf(',', start);
+			if (end < 0) {
+				end = claim.length();
+			}
+			if (end > start) {
+				authorities.add(getAuthority(claim.substring(start, end)));
+			}
+			start = end + 1;
+		}
+		return List.copyOf(authorities);
+	}
+
+	private GrantedAuthority getAuthority(String name) {
+		GrantedAuthority authority = authorityByName.get(name);
+		return authority != null ? authority : new SimpleGrantedAuthority(name);
+	}
+}
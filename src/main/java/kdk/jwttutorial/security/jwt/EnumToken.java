@@ -1,5 +1,36 @@
 package kdk.jwttutorial.security.jwt;
 
+import lombok.Getter;
+
+/**
+ * 토큰의 용도. typ claim 에 claim 값을 기록하며, 액세스 토큰이 필요한 곳에는 액세스 토큰만, 재발급에는 리프레시 토큰만
+ * 사용할 수 있다.
+ */
+@Getter
 public enum EnumToken {
-	ACCESS, REFRESH
+	ACCESS("access"), REFRESH("refresh");
+
+	private final String claim;
+
+	EnumToken(String claim) {
+		this.claim = claim;
+	}
+
+	/**
+	 * typ claim 이 없으면 typ claim 도입 전에 발급한 토큰으로 보고, 권한 claim(auth, r)이 있으면 액세스 토큰, 없으면
+	 * 리프레시 토큰으로 판단한다. 당시 액세스 토큰에는 권한 claim 이 항상 있었고 리프레시 토큰에는 없었다.
+	 *
+	 * @return 알 수 없는 typ 이면 null
+	 */
+	public static EnumToken fromClaim(String claim, boolean hasAuthorities) {
+		if (claim == null) {
+			return hasAuthorities ? ACCESS : REFRESH;
+		}
+		for (EnumToken token : values()) {
+			if (token.claim.equals(claim)) {
+				return token;
+			}
+		}
+		return null;
+	}
 }
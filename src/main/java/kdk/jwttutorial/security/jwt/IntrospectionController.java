@@ -0,0 +1,43 @@
+package kdk.jwttutorial.security.jwt;
+
+import java.util.List;
+import javax.validation.Valid;
+import kdk.jwttutorial.security.jwt.dto.IntrospectionDto;
+import kdk.jwttutorial.security.jwt.dto.IntrospectionRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 토큰 introspection (RFC 7662). 인증된 호출자만 사용할 수 있으며, 결과는 캐시하지 않도록 응답한다.
+ */
+@RestController
+@RequestMapping("/token/introspect")
+@RequiredArgsConstructor
+public class IntrospectionController {
+
+	private final TokenIntrospectionService tokenIntrospectionService;
+
+	// RFC 7662 와 같이 form 의 token 파라미터 하나를 확인
+	@PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+	public ResponseEntity<IntrospectionDto> introspect(@RequestParam("token") String token) {
+		return ResponseEntity.ok()
+			.cacheControl(CacheControl.noStore())
+			.body(tokenIntrospectionService.introspect(token));
+	}
+
+	// 게이트웨이가 여러 요청의 토큰을 한 번에 확인, 결과는 요청한 순서대로 반환
+	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<IntrospectionDto>> introspect(
+		@Valid @RequestBody IntrospectionRequestDto introspectionRequestDto) {
+		return ResponseEntity.ok()
+			.cacheControl(CacheControl.noStore())
+			.body(tokenIntrospectionService.introspect(introspectionRequestDto.getTokens()));
+	}
+}
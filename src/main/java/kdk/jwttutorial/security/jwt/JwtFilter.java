@@ -5,6 +5,8 @@ import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.core.Authentication;
@@ -18,8 +20,11 @@ public class JwtFilter extends OncePerRequestFilter {
 
 	public static final String AUTHORIZATION_HEADER = "Authorization";
 	public static final String REFRESH_HEADER = "Refresh";
+	public static final String EXCEPTION_ATTRIBUTE = "exception";
 
 	private final TokenProvider tokenProvider;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final TokenRevocationStore tokenRevocationStore;
 
 	// JWT 인증 정보를 SecurityContext에 저장
 	@Override
@@ -33,8 +38,8 @@ public class JwtFilter extends OncePerRequestFilter {
 		String jwt = resolveToken(request);
 		String requestURI = request.getRequestURI();
 
-		if (StringUtils.hasText(jwt) && tokenProvider.validateToken(request, jwt)) {
-			Authentication authentication = tokenProvider.getAuthentication(jwt);
+		Authentication authentication = StringUtils.hasText(jwt) ? authenticate(request, jwt) : null;
+		if (authentication != null) {
 			SecurityContextHolder.getContext().setAuthentication(authentication);
 			log.debug("Security Context에 '{}' 인증 정보를 저장했습니다, uri: {}", authentication.getName(),
 				requestURI);
@@ -45,6 +50,34 @@ public class JwtFilter extends OncePerRequestFilter {
 		chain.doFilter(request, response);
 	}
 
+	// 이미 검증된 토큰은 캐시된 Authentication을 사용하고, 그 외에는 서명을 검증한 뒤 캐시에 저장
+	// 폐기 여부는 캐시와 관계없이 매 요청 확인
+	private Authentication authenticate(HttpServletRequest request, String jwt) {
+		Authentication authentication = verifiedTokenCache.get(jwt);
+		if (authentication == null) {
+			// 리프레시 토큰은 Bearer 토큰으로 사용할 수 없음
+			TokenVerification verification = tokenProvider.verify(jwt, EnumToken.ACCESS);
+			if (!verification.isValid()) {
+				request.setAttribute(EXCEPTION_ATTRIBUTE, verification.getErrorCode().getCode());
+				return null;
+			}
+			VerifiedToken verifiedToken = verification.getVerifiedToken();
+			authentication = tokenProvider.getAuthentication(jwt, verifiedToken);
+			verifiedTokenCache.put(jwt, authentication, verifiedToken.getExpiration());
+		}
+		if (isRevoked(authentication)) {
+			request.setAttribute(EXCEPTION_ATTRIBUTE, ErrorCode.REVOKED_TOKEN.getCode());
+			return null;
+		}
+		return authentication;
+	}
+
+	private boolean isRevoked(Authentication authentication) {
+		Object details = authentication.getDetails();
+		return details instanceof VerifiedToken
+			&& tokenRevocationStore.isRevoked((VerifiedToken) details);
+	}
+
 	private boolean ignoreFilterUrl(HttpServletRequest request) {
 		if (request.getServletPath().equals("/user/login") || request.getServletPath()
 			.equals("/user/signup") || request.getServletPath().equals("/token/refresh")
@@ -1,5 +1,6 @@
 package kdk.jwttutorial.security.jwt;
 
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.DefaultSecurityFilterChain;
@@ -9,14 +10,20 @@ public class JwtSecurityConfig extends
 	SecurityConfigurerAdapter<DefaultSecurityFilterChain, HttpSecurity> {
 
 	private final TokenProvider tokenProvider;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final TokenRevocationStore tokenRevocationStore;
 
-	public JwtSecurityConfig(TokenProvider tokenProvider) {
+	public JwtSecurityConfig(TokenProvider tokenProvider, VerifiedTokenCache verifiedTokenCache,
+		TokenRevocationStore tokenRevocationStore) {
 		this.tokenProvider = tokenProvider;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.tokenRevocationStore = tokenRevocationStore;
 	}
 
 	@Override
 	public void configure(HttpSecurity http) throws Exception {
-		JwtFilter customFilter = new JwtFilter(tokenProvider);
+		JwtFilter customFilter =
+			new JwtFilter(tokenProvider, verifiedTokenCache, tokenRevocationStore);
 		// 구현한 JwtFilter를 등록
 		http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
 	}
@@ -1,5 +1,8 @@
 package kdk.jwttutorial.security.jwt;
 
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.security.jwt.refresh.RefreshTokenService;
+import kdk.jwttutorial.user.AuthorityVersionCache;
 import kdk.jwttutorial.user.dto.LoginDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,14 +16,38 @@ public class JwtService {
 
 	private final TokenProvider tokenProvider;
 	private final AuthenticationManagerBuilder authenticationManagerBuilder;
+	private final RefreshTokenService refreshTokenService;
+	private final AuthorityVersionCache authorityVersionCache;
 
 	public String getJwt(LoginDto loginDto, EnumToken token) {
+		Authentication authentication = authenticate(loginDto);
+		if (token == EnumToken.ACCESS) {
+			return tokenProvider.createToken(authentication, token);
+		}
+		String jwt = tokenProvider.createToken(authentication, token,
+			getAuthorityVersion(authentication));
+		refreshTokenService.register(jwt, authentication.getName());
+		return jwt;
+	}
+
+	// 인증(DB 조회, BCrypt 검증)은 한 번만 수행하고 액세스/리프레시 토큰을 함께 발급
+	public TokenDto getJwtPair(LoginDto loginDto) {
+		Authentication authentication = authenticate(loginDto);
+		TokenDto tokenDto = tokenProvider.createTokenPair(authentication,
+			getAuthorityVersion(authentication));
+		refreshTokenService.register(tokenDto.getRefreshToken(), authentication.getName());
+		return tokenDto;
+	}
+
+	// 리프레시 토큰에 기록할 권한 버전, 인증 직후라 캐시에 없으면 DB 에서 조회
+	private Long getAuthorityVersion(Authentication authentication) {
+		return authorityVersionCache.get(authentication.getName()).orElse(null);
+	}
+
+	private Authentication authenticate(LoginDto loginDto) {
 		UsernamePasswordAuthenticationToken authenticationToken =
 			new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword());
 
-		Authentication authentication = authenticationManagerBuilder.getObject()
-			.authenticate(authenticationToken);
-
-		return tokenProvider.createToken(authentication, token);
+		return authenticationManagerBuilder.getObject().authenticate(authenticationToken);
 	}
 }
@@ -4,14 +4,21 @@ import javax.servlet.http.HttpServletRequest;
 import kdk.jwttutorial.error.ErrorCode;
 import kdk.jwttutorial.security.jwt.dto.TokenDto;
 import kdk.jwttutorial.security.jwt.exception.InvalidTokenException;
+import kdk.jwttutorial.security.jwt.refresh.RefreshTokenService;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
+import kdk.jwttutorial.security.jwt.revocation.TokenWatermarkService;
 import kdk.jwttutorial.user.UserService;
-import kdk.jwttutorial.user.dto.UserDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,30 +30,80 @@ public class TokenController {
 
 	private final TokenProvider tokenProvider;
 	private final UserService userService;
+	private final TokenRevocationStore tokenRevocationStore;
+	private final TokenWatermarkService tokenWatermarkService;
+	private final RefreshTokenService refreshTokenService;
+	private final TokenRefreshService tokenRefreshService;
 
+	// 리프레시 토큰도 새로 발급하여 교체, 이전 리프레시 토큰은 더 이상 사용할 수 없음
 	@GetMapping("/refresh")
 	public ResponseEntity<TokenDto> refreshToken(HttpServletRequest request) {
-		String refreshToken = request.getHeader(JwtFilter.REFRESH_HEADER);
-		if (StringUtils.hasText(refreshToken) && refreshToken.startsWith("Bearer ")) {
-			refreshToken = refreshToken.substring(7);
-		}
-		if (!StringUtils.hasText(refreshToken) || !tokenProvider.validateToken(request, refreshToken)) {
-			throw new InvalidTokenException(ErrorCode.INVALID_TOKEN.getMessage());
-		}
-
-		UserDto userDto = userService.getUserWithAuthorities(tokenProvider.getSubject(refreshToken));
-		String accessToken = tokenProvider.createToken(userDto, EnumToken.ACCESS);
+		TokenDto tokenDto = tokenRefreshService.refresh(resolveRefreshToken(request));
 		HttpHeaders httpHeaders = new HttpHeaders();
-		httpHeaders.add(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken);
-		httpHeaders.add(JwtFilter.REFRESH_HEADER, "Bearer " + refreshToken);
+		httpHeaders.add(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + tokenDto.getAccessToken());
+		httpHeaders.add(JwtFilter.REFRESH_HEADER, "Bearer " + tokenDto.getRefreshToken());
 
 		return ResponseEntity.ok()
 			.headers(httpHeaders)
-			.body(TokenDto.builder()
-				.accessToken(accessToken)
-				.refreshToken(refreshToken)
-				.build()
-			);
+			.body(tokenDto);
+
+	}
+
+	// 현재 액세스 토큰과, Refresh header 가 있으면 같은 사용자의 리프레시 토큰을 만료 전에 폐기
+	@PostMapping("/revoke")
+	public ResponseEntity<Void> revokeToken(HttpServletRequest request) {
+		VerifiedToken accessToken = getCurrentToken();
+		tokenRevocationStore.revoke(accessToken.getId(), accessToken.getExpiration());
+
+		String refreshToken = resolveRefreshToken(request);
+		if (StringUtils.hasText(refreshToken)) {
+			TokenVerification verification = tokenProvider.verify(refreshToken, EnumToken.REFRESH);
+			if (verification.isValid() && accessToken.getSubject()
+				.equals(verification.getVerifiedToken().getSubject())) {
+				tokenRevocationStore.revoke(verification.getVerifiedToken().getId(),
+					verification.getVerifiedToken().getExpiration());
+				refreshTokenService.revoke(refreshToken);
+			}
+		}
+		log.debug("'{}' 의 토큰을 폐기했습니다", accessToken.getSubject());
+
+		return ResponseEntity.noContent().build();
+	}
 
+	// 현재 사용자가 지금까지 발급받은 모든 토큰을 폐기 (모든 기기에서 로그아웃)
+	@PostMapping("/revoke-all")
+	public ResponseEntity<Void> revokeAllTokens() {
+		String subject = getCurrentToken().getSubject();
+		tokenWatermarkService.invalidateAll(subject);
+		refreshTokenService.revokeAll(subject);
+
+		return ResponseEntity.noContent().build();
+	}
+
+	// 계정 도용 등으로 관리자가 특정 사용자의 모든 토큰을 폐기
+	@PostMapping("/revoke-all/{username}")
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	public ResponseEntity<Void> revokeAllTokens(@PathVariable String username) {
+		userService.getUserWithAuthorities(username);
+		tokenWatermarkService.invalidateAll(username);
+		refreshTokenService.revokeAll(username);
+
+		return ResponseEntity.noContent().build();
+	}
+
+	private VerifiedToken getCurrentToken() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !(authentication.getDetails() instanceof VerifiedToken)) {
+			throw new InvalidTokenException(ErrorCode.INVALID_TOKEN);
+		}
+		return (VerifiedToken) authentication.getDetails();
+	}
+
+	private String resolveRefreshToken(HttpServletRequest request) {
+		String refreshToken = request.getHeader(JwtFilter.REFRESH_HEADER);
+		if (StringUtils.hasText(refreshToken) && refreshToken.startsWith("Bearer ")) {
+			refreshToken = refreshToken.substring(7);
+		}
+		return refreshToken;
 	}
 }
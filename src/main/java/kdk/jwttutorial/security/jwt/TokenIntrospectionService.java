@@ -0,0 +1,181 @@
+package kdk.jwttutorial.security.jwt;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import kdk.jwttutorial.security.jwt.dto.IntrospectionDto;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 토큰을 직접 검증하지 못하는 서비스를 위해 토큰의 유효 여부와 claim 을 알려준다. JwtFilter 와 같은 VerifiedTokenCache 를
+ * 사용하므로 이미 검증한 토큰은 서명을 다시 검증하지 않고, 폐기 여부는 매번 확인한다.
+ * <p>
+ * 여러 토큰을 한 번에 요청하면 캐시에 없는 토큰만 모아 검증한다. 그 수가 parallel-threshold 의 두 배 이상이면 묶음마다
+ * parallel-threshold 개 이상이 되도록 나누어 전용 스레드와 요청 스레드에서 함께 검증하고, 스레드가 모두 바쁘면 요청 스레드가
+ * 직접 검증한다.
+ */
+@Service
+public class TokenIntrospectionService implements MeterBinder, DisposableBean {
+
+	private final TokenProvider tokenProvider;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final TokenRevocationStore tokenRevocationStore;
+	private final ThreadPoolExecutor executor;
+	private final int threads;
+	private final int parallelThreshold;
+	private final LongAdder introspections = new LongAdder();
+	private final LongAdder verifications = new LongAdder();
+
+	public TokenIntrospectionService(TokenProvider tokenProvider,
+		VerifiedTokenCache verifiedTokenCache, TokenRevocationStore tokenRevocationStore,
+		@Value("${jwt.introspection.threads:4}") int threads,
+		@Value("${jwt.introspection.parallel-threshold:16}") int parallelThreshold) {
+		this.tokenProvider = tokenProvider;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.tokenRevocationStore = tokenRevocationStore;
+		this.threads = threads;
+		this.parallelThreshold = Math.max(1, parallelThreshold);
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(threads * 4),
+			runnable -> {
+				Thread thread = new Thread(runnable,
+					"token-introspection-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			},
+			new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	public IntrospectionDto introspect(String token) {
+		introspections.increment();
+		return toIntrospection(find(token));
+	}
+
+	// 유효하고 폐기되지 않은 토큰의 Authentication, 그 외에는 null
+	public Authentication authenticate(String token) {
+		Authentication authentication = find(token);
+		return isActive(authentication) ? authentication : null;
+	}
+
+	// 요청한 순서대로 결과를 반환
+	public List<IntrospectionDto> introspect(List<String> tokens) {
+		introspections.add(tokens.size());
+		Authentication[] authentications = new Authentication[tokens.size()];
+		List<Integer> misses = new ArrayList<>();
+		for (int i = 0; i < tokens.size(); i++) {
+			String token = tokens.get(i);
+			authentications[i] = StringUtils.hasText(token) ? verifiedTokenCache.get(token) : null;
+			if (authentications[i] == null) {
+				misses.add(i);
+			}
+		}
+
+		if (misses.size() < parallelThreshold * 2) {
+			verify(tokens, misses, authentications);
+		} else {
+			// 첫 묶음은 요청 스레드가 검증
+			int chunkSize = Math.max(parallelThreshold,
+				(misses.size() + threads) / (threads + 1));
+			List<CompletableFuture<Void>> futures = new ArrayList<>();
+			for (int from = chunkSize; from < misses.size(); from += chunkSize) {
+				List<Integer> chunk =
+					misses.subList(from, Math.min(from + chunkSize, misses.size()));
+				futures.add(CompletableFuture.runAsync(
+					() -> verify(tokens, chunk, authentications), executor));
+			}
+			verify(tokens, misses.subList(0, chunkSize), authentications);
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		}
+
+		return Arrays.stream(authentications)
+			.map(this::toIntrospection)
+			.collect(Collectors.toList());
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("jwt.introspection.tokens", introspections, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("jwt.introspection.verifications", verifications, LongAdder::sum)
+			.register(registry);
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	private Authentication find(String token) {
+		Authentication authentication =
+			StringUtils.hasText(token) ? verifiedTokenCache.get(token) : null;
+		return authentication != null ? authentication : verify(token);
+	}
+
+	// 각 스레드는 자기 묶음의 index 에만 쓰고, 결과는 join 이후에 읽는다
+	private void verify(List<String> tokens, List<Integer> indexes,
+		Authentication[] authentications) {
+		for (int index : indexes) {
+			authentications[index] = verify(tokens.get(index));
+		}
+	}
+
+	// 검증에 성공한 토큰은 JwtFilter 와 같은 방법으로 캐시에 저장
+	private Authentication verify(String token) {
+		if (!StringUtils.hasText(token)) {
+			return null;
+		}
+		verifications.increment();
+		TokenVerification verification = tokenProvider.verify(token, EnumToken.ACCESS);
+		if (!verification.isValid()) {
+			return null;
+		}
+		VerifiedToken verifiedToken = verification.getVerifiedToken();
+		Authentication authentication = tokenProvider.getAuthentication(token, verifiedToken);
+		verifiedTokenCache.put(token, authentication, verifiedToken.getExpiration());
+		return authentication;
+	}
+
+	private boolean isActive(Authentication authentication) {
+		if (authentication == null || !(authentication.getDetails() instanceof VerifiedToken)) {
+			return false;
+		}
+		VerifiedToken verifiedToken = (VerifiedToken) authentication.getDetails();
+		return verifiedToken.getType() == EnumToken.ACCESS
+			&& verifiedToken.getExpiration() > System.currentTimeMillis()
+			&& !tokenRevocationStore.isRevoked(verifiedToken);
+	}
+
+	private IntrospectionDto toIntrospection(Authentication authentication) {
+		if (!isActive(authentication)) {
+			return IntrospectionDto.inactive();
+		}
+		VerifiedToken verifiedToken = (VerifiedToken) authentication.getDetails();
+		return IntrospectionDto.builder()
+			.active(true)
+			.sub(verifiedToken.getSubject())
+			.authorities(authentication.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toList()))
+			.exp(verifiedToken.getExpiration() / 1000)
+			.iat(verifiedToken.getIssuedAt() / 1000)
+			.jti(verifiedToken.getId())
+			.build();
+	}
+}
@@ -1,22 +1,25 @@
 package kdk.jwttutorial.security.jwt;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtBuilder;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SecurityException;
-import java.security.Key;
-import java.util.Arrays;
-import java.util.Collection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.nio.ByteBuffer;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.codec.TokenClaims;
+import kdk.jwttutorial.security.jwt.codec.TokenCodec;
+import kdk.jwttutorial.security.jwt.codec.TokenEngine;
+import kdk.jwttutorial.security.jwt.codec.TokenFormat;
+import kdk.jwttutorial.security.jwt.codec.TokenProfile;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.security.jwt.exception.InvalidTokenException;
+import kdk.jwttutorial.security.jwt.key.KeyRingLoader;
+import kdk.jwttutorial.security.jwt.opaque.OpaqueTokenCodec;
+import kdk.jwttutorial.security.jwt.opaque.OpaqueTokenStore;
 import kdk.jwttutorial.user.auth.dto.AuthorityDto;
 import kdk.jwttutorial.user.dto.UserDto;
 import lombok.extern.log4j.Log4j2;
@@ -25,136 +28,210 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
 @Component
 @Log4j2
-public class TokenProvider implements InitializingBean {
+public class TokenProvider implements InitializingBean, MeterBinder {
 
 	static final String ISSUER = "kdk";
-	private static final String AUTHORITIES_KEY = "auth";
 
-	private final String secret;
+	private final KeyRingLoader keyRingLoader;
 	private final long accessTokenValidityInMilliseconds;
 	private final long refreshTokenValidityInMilliseconds;
+	private final TokenEngine engine;
+	private final TokenProfile profile;
+	private final TokenFormat format;
+	private final AuthorityRegistry authorityRegistry;
+	private final OpaqueTokenStore opaqueTokenStore;
 
-	private Key key;
+	private TokenCodec codec;
 
 	public TokenProvider(
-		@Value("${jwt.secret}") String secret,
+		KeyRingLoader keyRingLoader,
 		@Value("${jwt.access-token-validity-in-seconds}") long accessTokenValidityInMilliseconds,
-		@Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidityInMilliseconds) {
-		this.secret = secret;
+		@Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidityInMilliseconds,
+		@Value("${jwt.engine}") String engine,
+		@Value("${jwt.profile}") String profile,
+		@Value("${jwt.format:jwt}") String format,
+		AuthorityRegistry authorityRegistry,
+		OpaqueTokenStore opaqueTokenStore) {
+		this.keyRingLoader = keyRingLoader;
 		this.accessTokenValidityInMilliseconds = accessTokenValidityInMilliseconds * 1000;
 		this.refreshTokenValidityInMilliseconds = refreshTokenValidityInMilliseconds * 1000;
+		this.engine = TokenEngine.from(engine);
+		this.profile = TokenProfile.from(profile);
+		this.format = TokenFormat.from(format);
+		this.authorityRegistry = authorityRegistry;
+		this.opaqueTokenStore = opaqueTokenStore;
 	}
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
-		byte[] keyBytes = Decoders.BASE64.decode(secret);
-		this.key = Keys.hmacShaKeyFor(keyBytes);
+		// 키 파일이 다시 읽히면 codec 이 다음 호출부터 새 KeyRing 을 사용
+		TokenCodec jwtCodec = engine.createCodec(keyRingLoader, profile);
+		// opaque 로 발급하는 중에도 이미 발급한 JWT 는 jwtCodec 으로 검증
+		this.codec = format == TokenFormat.OPAQUE
+			? new OpaqueTokenCodec(jwtCodec, opaqueTokenStore) : jwtCodec;
+		log.info("JWT 엔진: {}, profile: {}, algorithm: {}, format: {}", engine, profile,
+			keyRingLoader.get().getAlgorithm(), format);
 	}
 
-	public String createToken(Authentication authentication, EnumToken token) {
-		String authorities = authentication.getAuthorities().stream()
-			.map(GrantedAuthority::getAuthority)
-			.collect(Collectors.joining(","));
-
-		long now = (new Date()).getTime();
-		Date validity;
-		validity =
-			token == EnumToken.ACCESS ?
-				new Date(now + this.accessTokenValidityInMilliseconds)
-				: new Date(now + this.refreshTokenValidityInMilliseconds);
-
-		JwtBuilder builder = Jwts.builder();
-		if (token == EnumToken.ACCESS) {
-			builder.claim(AUTHORITIES_KEY, authorities);
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		if (codec instanceof MeterBinder) {
+			((MeterBinder) codec).bindTo(registry);
 		}
+	}
 
-		return builder
-			.setHeaderParam("typ", "JWT")
-			.setIssuer(ISSUER)
-			.setSubject(authentication.getName())
-			.signWith(key, SignatureAlgorithm.HS512)
-			.setExpiration(validity)
-			.setIssuedAt(new Date())
-			.compact();
+	public String createToken(Authentication authentication, EnumToken token) {
+		return createToken(authentication, token, null);
+	}
+
+	/**
+	 * @param authorityVersion 리프레시 토큰에 기록할 권한 버전, null 이면 리프레시 토큰에 권한을 기록하지 않음
+	 */
+	public String createToken(Authentication authentication, EnumToken token,
+		Long authorityVersion) {
+		return createToken(authentication.getName(), joinAuthorities(authentication), token,
+			authorityVersion);
 	}
 
 	public String createToken(UserDto userDto, EnumToken token) {
 		String authorities = userDto.getAuthorityDtoSet().stream()
 			.map(AuthorityDto::getAuthorityName).collect(Collectors.joining(","));
 
-		long now = (new Date()).getTime();
-		Date validity;
-		validity =
-			token == EnumToken.ACCESS ?
-				new Date(now + this.accessTokenValidityInMilliseconds)
-				: new Date(now + this.refreshTokenValidityInMilliseconds);
+		return createToken(userDto.getEmail(), authorities, token, userDto.getAuthorityVersion());
+	}
+
+	public TokenDto createTokenPair(Authentication authentication) {
+		return createTokenPair(authentication, null);
+	}
+
+	// 한 번의 인증 결과로 액세스 토큰과 리프레시 토큰을 함께 발급
+	public TokenDto createTokenPair(Authentication authentication, Long authorityVersion) {
+		return createTokenPair(authentication.getName(), joinAuthorities(authentication),
+			authorityVersion);
+	}
 
-		JwtBuilder builder = Jwts.builder();
-		if (token == EnumToken.ACCESS) {
-			builder.claim(AUTHORITIES_KEY, authorities);
+	// 권한 버전이 현재와 같은 리프레시 토큰의 claim 만으로 사용자 조회 없이 토큰 쌍을 다시 발급
+	public TokenDto createTokenPair(VerifiedToken refreshToken) {
+		if (refreshToken.getType() != EnumToken.REFRESH) {
+			throw new InvalidTokenException(ErrorCode.INVALID_TOKEN_TYPE);
 		}
+		if (refreshToken.getRefreshAuthorities() == null
+			|| refreshToken.getAuthorityVersion() == null) {
+			throw new InvalidTokenException(ErrorCode.UNSUPPORTED_TOKEN);
+		}
+		return createTokenPair(refreshToken.getSubject(), refreshToken.getRefreshAuthorities(),
+			refreshToken.getAuthorityVersion());
+	}
 
-		return builder
-			.setHeaderParam("typ", "JWT")
-			.setIssuer(ISSUER)
-			.setSubject(userDto.getEmail())
-			.signWith(key, SignatureAlgorithm.HS512)
-			.setExpiration(validity)
-			.setIssuedAt(new Date())
-			.compact();
+	private TokenDto createTokenPair(String subject, String authorities, Long authorityVersion) {
+		return TokenDto.builder()
+			.accessToken(createToken(subject, authorities, EnumToken.ACCESS, null))
+			.refreshToken(createToken(subject, authorities, EnumToken.REFRESH, authorityVersion))
+			.build();
+	}
+
+	private String joinAuthorities(Authentication authentication) {
+		return authentication.getAuthorities().stream()
+			.map(GrantedAuthority::getAuthority)
+			.collect(Collectors.joining(","));
+	}
+
+	// 권한은 액세스 토큰에는 auth(또는 r), 권한 버전과 함께 기록하는 리프레시 토큰에는 ra claim 에 기록
+	private String createToken(String subject, String authorities, EnumToken token,
+		Long authorityVersion) {
+		boolean stampRefreshToken = token == EnumToken.REFRESH && authorityVersion != null;
+		long now = (new Date()).getTime();
+		long validity =
+			token == EnumToken.ACCESS ?
+				now + this.accessTokenValidityInMilliseconds
+				: now + this.refreshTokenValidityInMilliseconds;
+
+		return codec.encode(TokenClaims.builder()
+			.issuer(ISSUER)
+			.subject(subject)
+			.type(token)
+			.authorities(token == EnumToken.ACCESS ? authorities : null)
+			.refreshAuthorities(stampRefreshToken ? authorities : null)
+			.authorityVersion(stampRefreshToken ? authorityVersion : null)
+			.issuedAt(now)
+			.expiration(validity)
+			.id(createTokenId())
+			.build());
+	}
+
+	// 폐기할 때 토큰을 구분하는 jti, 128 bit random 을 base64url 로 인코딩
+	private static String createTokenId() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		byte[] id = ByteBuffer.allocate(16)
+			.putLong(random.nextLong())
+			.putLong(random.nextLong())
+			.array();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
 	}
 
 	public Authentication getAuthentication(String token) {
-		Claims claims = Jwts
-			.parserBuilder()
-			.setSigningKey(key)
-			.build()
-			.parseClaimsJws(token)
-			.getBody();
+		return getAuthentication(token, verifyOrThrow(token, EnumToken.ACCESS));
+	}
+
+	public Authentication getAuthentication(String token, VerifiedToken verifiedToken) {
+		List<GrantedAuthority> authorities =
+			authorityRegistry.getAuthorities(verifiedToken.getAuthorities());
 
-		Collection<? extends GrantedAuthority> authorities =
-			Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-				.map(SimpleGrantedAuthority::new)
-				.collect(Collectors.toList());
+		User principal = new User(verifiedToken.getSubject(), "", authorities);
 
-		User principal = new User(claims.getSubject(), "", authorities);
+		// 캐시된 Authentication 으로도 jti 와 만료 시각을 확인할 수 있도록 details 에 보관
+		UsernamePasswordAuthenticationToken authentication =
+			new UsernamePasswordAuthenticationToken(principal, token, authorities);
+		authentication.setDetails(verifiedToken);
+		return authentication;
+	}
+
+	// 토큰을 한 번만 파싱하여 검증 결과와 claim을 함께 반환
+	public TokenVerification verify(String token) {
+		TokenVerification verification = codec.decode(token);
+		if (!verification.isValid()) {
+			log.info(verification.getErrorCode().getMessage());
+		}
+		return verification;
+	}
 
-		return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+	/**
+	 * verify 와 같고, 용도가 type 이 아닌 토큰은 INVALID_TOKEN_TYPE 으로 거절한다. 인증에는 ACCESS, 재발급에는 REFRESH
+	 * 를 사용하여 리프레시 토큰이 Bearer 토큰으로, 액세스 토큰이 재발급에 쓰이지 않도록 한다.
+	 */
+	public TokenVerification verify(String token, EnumToken type) {
+		TokenVerification verification = verify(token);
+		if (verification.isValid() && verification.getVerifiedToken().getType() != type) {
+			log.info(ErrorCode.INVALID_TOKEN_TYPE.getMessage());
+			return TokenVerification.failure(ErrorCode.INVALID_TOKEN_TYPE);
+		}
+		return verification;
 	}
 
 	public boolean validateToken(HttpServletRequest request, String token) {
-		try {
-			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-			return true;
-		} catch (SecurityException | MalformedJwtException e) {
-			log.info(ErrorCode.INCORRECT_SIGNATURE.getMessage());
-			request.setAttribute("exception", ErrorCode.INCORRECT_SIGNATURE.getCode());
-		} catch (ExpiredJwtException e) {
-			log.info(ErrorCode.EXPIRED_TOKEN.getMessage());
-			request.setAttribute("exception", ErrorCode.EXPIRED_TOKEN.getCode());
-		} catch (UnsupportedJwtException e) {
-			log.info(ErrorCode.UNSUPPORTED_TOKEN.getMessage());
-			request.setAttribute("exception", ErrorCode.UNSUPPORTED_TOKEN.getCode());
-		} catch (IllegalArgumentException e) {
-			log.info(ErrorCode.INVALID_TOKEN.getMessage());
-			request.setAttribute("exception", ErrorCode.INVALID_TOKEN.getCode());
+		TokenVerification verification = verify(token, EnumToken.ACCESS);
+		if (!verification.isValid()) {
+			request.setAttribute(JwtFilter.EXCEPTION_ATTRIBUTE, verification.getErrorCode().getCode());
 		}
-		return false;
+		return verification.isValid();
 	}
 
 	public String getSubject(String token) {
-		return Jwts.parserBuilder()
-			.setSigningKey(key)
-			.build()
-			.parseClaimsJws(token)
-			.getBody()
-			.getSubject();
+		return verifyOrThrow(token, null).getSubject();
+	}
+
+	// type 이 null 이면 용도를 확인하지 않음
+	private VerifiedToken verifyOrThrow(String token, EnumToken type) {
+		TokenVerification verification = type == null ? verify(token) : verify(token, type);
+		if (!verification.isValid()) {
+			throw new InvalidTokenException(verification.getErrorCode());
+		}
+		return verification.getVerifiedToken();
 	}
 
 }
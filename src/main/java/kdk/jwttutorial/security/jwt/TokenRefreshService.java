@@ -0,0 +1,69 @@
+package kdk.jwttutorial.security.jwt;
+
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.security.jwt.exception.InvalidTokenException;
+import kdk.jwttutorial.security.jwt.refresh.RefreshCoalescer;
+import kdk.jwttutorial.security.jwt.refresh.RefreshTokenService;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
+import kdk.jwttutorial.user.AuthorityVersionCache;
+import kdk.jwttutorial.user.UserService;
+import kdk.jwttutorial.user.dto.UserDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 리프레시 토큰으로 새 토큰 쌍을 발급한다. REST 와 gRPC 가 같은 교체(rotation), 동시 요청 합치기를 거치도록 한 곳에서 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRefreshService {
+
+	private final TokenProvider tokenProvider;
+	private final UserService userService;
+	private final TokenRevocationStore tokenRevocationStore;
+	private final RefreshTokenService refreshTokenService;
+	private final AuthorityVersionCache authorityVersionCache;
+	private final RefreshCoalescer refreshCoalescer;
+
+	// 리프레시 토큰도 새로 발급하여 교체, 이전 리프레시 토큰은 더 이상 사용할 수 없음
+	// 같은 리프레시 토큰으로 동시에 들어온 요청은 한 번만 처리하고 결과를 공유
+	public TokenDto refresh(String refreshToken) {
+		if (!StringUtils.hasText(refreshToken)) {
+			throw new InvalidTokenException(ErrorCode.INVALID_TOKEN);
+		}
+		return refreshCoalescer.refresh(refreshToken, () -> rotate(refreshToken));
+	}
+
+	private TokenDto rotate(String refreshToken) {
+		// 액세스 토큰으로는 재발급할 수 없음
+		TokenVerification verification = tokenProvider.verify(refreshToken, EnumToken.REFRESH);
+		if (!verification.isValid()) {
+			throw new InvalidTokenException(verification.getErrorCode());
+		}
+		VerifiedToken verifiedToken = verification.getVerifiedToken();
+		if (tokenRevocationStore.isRevoked(verifiedToken)) {
+			throw new InvalidTokenException(ErrorCode.REVOKED_TOKEN);
+		}
+
+		return refreshTokenService.rotate(refreshToken, verifiedToken,
+			() -> createTokenPair(verifiedToken));
+	}
+
+	// 리프레시 토큰의 권한 버전이 현재 버전과 같으면 토큰의 권한으로 발급하고, 권한이 바뀌었거나 버전이 없으면 사용자를 조회
+	private TokenDto createTokenPair(VerifiedToken refreshToken) {
+		Long authorityVersion = refreshToken.getAuthorityVersion();
+		if (authorityVersion != null && refreshToken.getRefreshAuthorities() != null
+			&& authorityVersionCache.get(refreshToken.getSubject())
+			.filter(authorityVersion::equals).isPresent()) {
+			return tokenProvider.createTokenPair(refreshToken);
+		}
+
+		UserDto userDto = userService.getUserWithAuthorities(refreshToken.getSubject());
+		return TokenDto.builder()
+			.accessToken(tokenProvider.createToken(userDto, EnumToken.ACCESS))
+			.refreshToken(tokenProvider.createToken(userDto, EnumToken.REFRESH))
+			.build();
+	}
+}
@@ -0,0 +1,31 @@
+package kdk.jwttutorial.security.jwt;
+
+import kdk.jwttutorial.error.ErrorCode;
+import lombok.Getter;
+
+/**
+ * 토큰 검증 결과. 성공하면 VerifiedToken 을, 실패하면 실패 원인 ErrorCode 를 가진다.
+ */
+@Getter
+public class TokenVerification {
+
+	private final VerifiedToken verifiedToken;
+	private final ErrorCode errorCode;
+
+	private TokenVerification(VerifiedToken verifiedToken, ErrorCode errorCode) {
+		this.verifiedToken = verifiedToken;
+		this.errorCode = errorCode;
+	}
+
+	public static TokenVerification success(VerifiedToken verifiedToken) {
+		return new TokenVerification(verifiedToken, null);
+	}
+
+	public static TokenVerification failure(ErrorCode errorCode) {
+		return new TokenVerification(null, errorCode);
+	}
+
+	public boolean isValid() {
+		return verifiedToken != null;
+	}
+}
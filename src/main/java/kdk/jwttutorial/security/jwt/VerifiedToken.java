@@ -0,0 +1,37 @@
+package kdk.jwttutorial.security.jwt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 서명 검증이 끝난 토큰의 claim. 한 번 파싱한 결과를 필터와 컨트롤러가 함께 사용한다.
+ */
+@Getter
+public class VerifiedToken {
+
+	private final String subject;
+	// typ claim, typ claim 도입 전에 발급한 토큰은 권한 claim 유무로 판단 (EnumToken.fromClaim)
+	private final EnumToken type;
+	private final String authorities;
+	// 리프레시 토큰의 ra, av claim, 권한 버전이 같으면 사용자를 조회하지 않고 이 권한으로 재발급
+	private final String refreshAuthorities;
+	private final Long authorityVersion;
+	private final long issuedAt;
+	private final long expiration;
+	// jti, 폐기 여부 확인에 사용하며 jti 도입 전에 발급한 토큰은 null
+	private final String id;
+
+	@Builder
+	public VerifiedToken(String subject, EnumToken type, String authorities,
+		String refreshAuthorities, Long authorityVersion, long issuedAt, long expiration,
+		String id) {
+		this.subject = subject;
+		this.type = type;
+		this.authorities = authorities;
+		this.refreshAuthorities = refreshAuthorities;
+		this.authorityVersion = authorityVersion;
+		this.issuedAt = issuedAt;
+		this.expiration = expiration;
+		this.id = id;
+	}
+}
@@ -0,0 +1,116 @@
+package kdk.jwttutorial.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import kdk.jwttutorial.security.jwt.key.KeysRemovedEvent;
+import kdk.jwttutorial.security.jwt.opaque.OpaqueTokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서명 검증이 끝난 토큰의 Authentication 을 토큰 만료 시각(exp)까지 보관한다. 키는 토큰 원문 대신 SHA-256 digest 를
+ * 사용한다. opaque 토큰은 OpaqueTokenStore 조회 한 번으로 검증되므로 digest 를 계산하지 않고 캐시하지 않는다.
+ * <p>
+ * 키가 삭제되면 캐시를 모두 비운다. 캐시에는 kid 가 없고 키 삭제는 드물므로 다시 검증하는 비용은 한 번뿐이다.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+	private static final String CACHE_NAME = "verifiedToken";
+
+	private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+
+	private final Cache<ByteBuffer, Entry> cache;
+
+	public VerifiedTokenCache(@Value("${jwt.cache.max-size}") long maximumSize) {
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfter(new ExpiresAtExpiry())
+			.recordStats()
+			.build();
+	}
+
+	public Authentication get(String token) {
+		if (OpaqueTokenStore.isOpaque(token)) {
+			return null;
+		}
+		Entry entry = cache.getIfPresent(digest(token));
+		return entry == null ? null : entry.authentication;
+	}
+
+	public void put(String token, Authentication authentication, long expiresAtMillis) {
+		if (expiresAtMillis <= System.currentTimeMillis() || OpaqueTokenStore.isOpaque(token)) {
+			return;
+		}
+		cache.put(digest(token), new Entry(authentication, expiresAtMillis));
+	}
+
+	@EventListener
+	public void onKeysRemoved(KeysRemovedEvent event) {
+		cache.invalidateAll();
+	}
+
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+	}
+
+	private ByteBuffer digest(String token) {
+		MessageDigest messageDigest = SHA_256.get();
+		return ByteBuffer.wrap(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static class Entry {
+
+		private final Authentication authentication;
+		private final long expiresAtMillis;
+
+		private Entry(Authentication authentication, long expiresAtMillis) {
+			this.authentication = authentication;
+			this.expiresAtMillis = expiresAtMillis;
+		}
+	}
+
+	private static class ExpiresAtExpiry implements Expiry<ByteBuffer, Entry> {
+
+		@Override
+		public long expireAfterCreate(ByteBuffer key, Entry value, long currentTime) {
+			long remaining = value.expiresAtMillis - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(ByteBuffer key, Entry value, long currentTime,
+			long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(ByteBuffer key, Entry value, long currentTime,
+			long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import kdk.jwttutorial.user.EnumAuthority;
+
+/**
+ * 쉼표로 연결한 권한 문자열과 EnumAuthority bitmask 를 서로 변환한다. mask 에 해당하는 권한 문자열은 미리 만들어 두고
+ * 이름 순(ROLE_ADMIN,ROLE_USER)으로 연결한다.
+ */
+final class AuthorityMask {
+
+	static final String CLAIM = "r";
+
+	private static final String[] AUTHORITIES_BY_MASK = createTable();
+
+	private AuthorityMask() {
+	}
+
+	/**
+	 * @return EnumAuthority 가 아닌 권한이 있으면 -1
+	 */
+	static int toMask(String authorities) {
+		int mask = 0;
+		int start = 0;
+		while (start <= authorities.length()) {
+			int end = authorities.indexOf(',', start);
+			if (end < 0) {
+				end = authorities.length();
+			}
+			if (end > start) {
+				int authorityMask = maskOf(authorities, start, end);
+				if (authorityMask == 0) {
+					return -1;
+				}
+				mask |= authorityMask;
+			}
+			start = end + 1;
+		}
+		return mask;
+	}
+
+	/**
+	 * @return 정의되지 않은 bit 가 있으면 null
+	 */
+	static String toAuthorities(long mask) {
+		if (mask < 0 || mask >= AUTHORITIES_BY_MASK.length) {
+			return null;
+		}
+		return AUTHORITIES_BY_MASK[(int) mask];
+	}
+
+	private static int maskOf(String authorities, int start, int end) {
+		for (EnumAuthority authority : EnumAuthority.values()) {
+			String name = authority.name();
+			if (name.length() == end - start && authorities.startsWith(name, start)) {
+				return authority.getMask();
+			}
+		}
+		return 0;
+	}
+
+	private static String[] createTable() {
+		int allMask = Arrays.stream(EnumAuthority.values())
+			.mapToInt(EnumAuthority::getMask)
+			.reduce(0, (left, right) -> left | right);
+		String[] table = new String[Integer.highestOneBit(allMask) << 1];
+		for (int mask = 0; mask < table.length; mask++) {
+			if ((mask & ~allMask) != 0) {
+				continue;
+			}
+			int current = mask;
+			table[mask] = Arrays.stream(EnumAuthority.values())
+				.filter(authority -> (current & authority.getMask()) != 0)
+				.map(EnumAuthority::name)
+				.sorted(Comparator.naturalOrder())
+				.collect(Collectors.joining(","));
+		}
+		return table;
+	}
+}
@@ -0,0 +1,105 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * padding 없는 base64url 인코딩. 중간 String 이나 배열을 만들지 않도록 byte 배열의 구간을 직접 읽고 쓴다.
+ */
+final class Base64Url {
+
+	private static final byte[] ALPHABET =
+		"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+			.getBytes(StandardCharsets.US_ASCII);
+	private static final int[] VALUES = new int[128];
+
+	static {
+		Arrays.fill(VALUES, -1);
+		for (int i = 0; i < ALPHABET.length; i++) {
+			VALUES[ALPHABET[i]] = i;
+		}
+	}
+
+	private Base64Url() {
+	}
+
+	static int encodedLength(int length) {
+		int remainder = length % 3;
+		return length / 3 * 4 + (remainder == 0 ? 0 : remainder + 1);
+	}
+
+	static int decodedLength(int length) {
+		int remainder = length % 4;
+		return length / 4 * 3 + (remainder == 0 ? 0 : remainder - 1);
+	}
+
+	static byte[] encode(byte[] src) {
+		byte[] dst = new byte[encodedLength(src.length)];
+		encode(src, 0, src.length, dst, 0);
+		return dst;
+	}
+
+	static int encode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+		int end = offset + length;
+		int i = offset;
+		int d = dstOffset;
+		while (end - i >= 3) {
+			int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+			dst[d++] = ALPHABET[bits >>> 18 & 0x3f];
+			dst[d++] = ALPHABET[bits >>> 12 & 0x3f];
+			dst[d++] = ALPHABET[bits >>> 6 & 0x3f];
+			dst[d++] = ALPHABET[bits & 0x3f];
+			i += 3;
+		}
+		int remainder = end - i;
+		if (remainder > 0) {
+			int bits = (src[i] & 0xff) << 16 | (remainder == 2 ? (src[i + 1] & 0xff) << 8 : 0);
+			dst[d++] = ALPHABET[bits >>> 18 & 0x3f];
+			dst[d++] = ALPHABET[bits >>> 12 & 0x3f];
+			if (remainder == 2) {
+				dst[d++] = ALPHABET[bits >>> 6 & 0x3f];
+			}
+		}
+		return d - dstOffset;
+	}
+
+	/**
+	 * @return 디코딩한 byte 수, base64url 형식이 아니면 -1
+	 */
+	static int decode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+		if (length % 4 == 1) {
+			return -1;
+		}
+		int end = offset + length;
+		int i = offset;
+		int d = dstOffset;
+		while (end - i >= 4) {
+			int bits = value(src[i]) << 18 | value(src[i + 1]) << 12 | value(src[i + 2]) << 6
+				| value(src[i + 3]);
+			if (bits < 0) {
+				return -1;
+			}
+			dst[d++] = (byte) (bits >>> 16);
+			dst[d++] = (byte) (bits >>> 8);
+			dst[d++] = (byte) bits;
+			i += 4;
+		}
+		int remainder = end - i;
+		if (remainder > 0) {
+			int bits = value(src[i]) << 18 | value(src[i + 1]) << 12
+				| (remainder == 3 ? value(src[i + 2]) << 6 : 0);
+			if (bits < 0) {
+				return -1;
+			}
+			dst[d++] = (byte) (bits >>> 16);
+			if (remainder == 3) {
+				dst[d++] = (byte) (bits >>> 8);
+			}
+		}
+		return d - dstOffset;
+	}
+
+	private static int value(byte b) {
+		return b < 0 ? -1 : VALUES[b];
+	}
+}
@@ -0,0 +1,382 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 중첩 없는 claim JSON 객체를 byte 배열 위에서 바로 읽는다. 필요한 claim(sub, typ, auth, r, ra, av, exp, iat, jti)만
+ * String/long 으로 꺼내고 나머지 값은 건너뛴다. 스레드마다 하나씩 재사용한다.
+ */
+final class ClaimsJsonReader {
+
+	private static final byte[] SUB = {'s', 'u', 'b'};
+	private static final byte[] TYPE = {'t', 'y', 'p'};
+	private static final byte[] AUTH = {'a', 'u', 't', 'h'};
+	private static final byte[] ROLES = {'r'};
+	private static final byte[] REFRESH_AUTHORITIES = {'r', 'a'};
+	private static final byte[] AUTHORITY_VERSION = {'a', 'v'};
+	private static final byte[] EXP = {'e', 'x', 'p'};
+	private static final byte[] IAT = {'i', 'a', 't'};
+	private static final byte[] JTI = {'j', 't', 'i'};
+
+	private byte[] json;
+	private int position;
+	private int end;
+
+	private String subject;
+	private String type;
+	private String authorities;
+	private long roles;
+	private String refreshAuthorities;
+	private long authorityVersion;
+	private long issuedAt;
+	private long expiration;
+	private boolean hasExpiration;
+	private String id;
+
+	/**
+	 * @return JSON 형식이 올바르면 true
+	 */
+	boolean read(byte[] json, int length) {
+		this.json = json;
+		this.position = 0;
+		this.end = length;
+		this.subject = null;
+		this.type = null;
+		this.authorities = null;
+		this.roles = -1;
+		this.refreshAuthorities = null;
+		this.authorityVersion = -1;
+		this.issuedAt = 0;
+		this.expiration = 0;
+		this.hasExpiration = false;
+		this.id = null;
+
+		skipWhitespace();
+		if (!consume('{')) {
+			return false;
+		}
+		skipWhitespace();
+		if (consume('}')) {
+			return finish();
+		}
+		while (true) {
+			skipWhitespace();
+			int keyStart = position + 1;
+			if (!skipString()) {
+				return false;
+			}
+			int keyEnd = position - 1;
+			skipWhitespace();
+			if (!consume(':')) {
+				return false;
+			}
+			skipWhitespace();
+			if (!readValue(keyStart, keyEnd)) {
+				return false;
+			}
+			skipWhitespace();
+			if (consume(',')) {
+				continue;
+			}
+			if (consume('}')) {
+				return finish();
+			}
+			return false;
+		}
+	}
+
+	String getSubject() {
+		return subject;
+	}
+
+	// typ claim, 없으면 null
+	String getType() {
+		return type;
+	}
+
+	String getAuthorities() {
+		return authorities;
+	}
+
+	/**
+	 * @return 권한 bitmask claim(r), 없으면 -1
+	 */
+	long getRoles() {
+		return roles;
+	}
+
+	String getRefreshAuthorities() {
+		return refreshAuthorities;
+	}
+
+	/**
+	 * @return 권한 버전 claim(av), 없으면 -1
+	 */
+	long getAuthorityVersion() {
+		return authorityVersion;
+	}
+
+	long getIssuedAt() {
+		return issuedAt;
+	}
+
+	long getExpiration() {
+		return expiration;
+	}
+
+	boolean hasExpiration() {
+		return hasExpiration;
+	}
+
+	String getId() {
+		return id;
+	}
+
+	private boolean finish() {
+		skipWhitespace();
+		json = null;
+		return position == end;
+	}
+
+	private boolean readValue(int keyStart, int keyEnd) {
+		if (keyEquals(keyStart, keyEnd, SUB)) {
+			subject = readString();
+			return subject != null;
+		}
+		if (keyEquals(keyStart, keyEnd, TYPE)) {
+			type = readString();
+			return type != null;
+		}
+		if (keyEquals(keyStart, keyEnd, AUTH)) {
+			authorities = readString();
+			return authorities != null;
+		}
+		if (keyEquals(keyStart, keyEnd, ROLES)) {
+			roles = readNumber();
+			return roles >= 0;
+		}
+		if (keyEquals(keyStart, keyEnd, REFRESH_AUTHORITIES)) {
+			refreshAuthorities = readString();
+			return refreshAuthorities != null;
+		}
+		if (keyEquals(keyStart, keyEnd, AUTHORITY_VERSION)) {
+			authorityVersion = readNumber();
+			return authorityVersion >= 0;
+		}
+		if (keyEquals(keyStart, keyEnd, EXP)) {
+			expiration = readSeconds();
+			hasExpiration = expiration >= 0;
+			return hasExpiration;
+		}
+		if (keyEquals(keyStart, keyEnd, IAT)) {
+			issuedAt = readSeconds();
+			return issuedAt >= 0;
+		}
+		if (keyEquals(keyStart, keyEnd, JTI)) {
+			id = readString();
+			return id != null;
+		}
+		return skipValue();
+	}
+
+	private boolean keyEquals(int start, int keyEnd, byte[] key) {
+		if (keyEnd - start != key.length) {
+			return false;
+		}
+		for (int i = 0; i < key.length; i++) {
+			if (json[start + i] != key[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// 초 단위 NumericDate를 밀리초로 변환, 형식이 올바르지 않으면 -1
+	private long readSeconds() {
+		long value = readNumber();
+		return value < 0 ? -1 : value * 1000;
+	}
+
+	// 12자리 이하의 음이 아닌 정수, 형식이 올바르지 않으면 -1
+	private long readNumber() {
+		int start = position;
+		long value = 0;
+		while (position < end && json[position] >= '0' && json[position] <= '9') {
+			if (position - start >= 12) {
+				return -1;
+			}
+			value = value * 10 + (json[position++] - '0');
+		}
+		return position == start ? -1 : value;
+	}
+
+	private String readString() {
+		if (position >= end || json[position] != '"') {
+			return null;
+		}
+		int start = ++position;
+		while (position < end) {
+			byte b = json[position];
+			if (b == '"') {
+				return new String(json, start, position++ - start, StandardCharsets.UTF_8);
+			}
+			if (b == '\\') {
+				return readEscapedString(start);
+			}
+			if (b >= 0 && b < 0x20) {
+				return null;
+			}
+			position++;
+		}
+		return null;
+	}
+
+	private String readEscapedString(int start) {
+		StringBuilder value = new StringBuilder();
+		int segmentStart = start;
+		while (position < end) {
+			byte b = json[position];
+			if (b == '"') {
+				value.append(new String(json, segmentStart, position++ - segmentStart,
+					StandardCharsets.UTF_8));
+				return value.toString();
+			}
+			if (b >= 0 && b < 0x20) {
+				return null;
+			}
+			if (b != '\\') {
+				position++;
+				continue;
+			}
+			value.append(new String(json, segmentStart, position - segmentStart,
+				StandardCharsets.UTF_8));
+			if (++position >= end) {
+				return null;
+			}
+			switch (json[position++]) {
+				case '"':
+					value.append('"');
+					break;
+				case '\\':
+					value.append('\\');
+					break;
+				case '/':
+					value.append('/');
+					break;
+				case 'b':
+					value.append('\b');
+					break;
+				case 'f':
+					value.append('\f');
+					break;
+				case 'n':
+					value.append('\n');
+					break;
+				case 'r':
+					value.append('\r');
+					break;
+				case 't':
+					value.append('\t');
+					break;
+				case 'u':
+					int codePoint = readHex();
+					if (codePoint < 0) {
+						return null;
+					}
+					value.append((char) codePoint);
+					break;
+				default:
+					return null;
+			}
+			segmentStart = position;
+		}
+		return null;
+	}
+
+	private int readHex() {
+		if (end - position < 4) {
+			return -1;
+		}
+		int value = 0;
+		for (int i = 0; i < 4; i++) {
+			int digit = Character.digit(json[position++], 16);
+			if (digit < 0) {
+				return -1;
+			}
+			value = value << 4 | digit;
+		}
+		return value;
+	}
+
+	private boolean skipValue() {
+		if (position >= end) {
+			return false;
+		}
+		byte b = json[position];
+		if (b == '"') {
+			return skipString();
+		}
+		if (b == '{' || b == '[') {
+			return skipNested();
+		}
+		int start = position;
+		while (position < end && json[position] != ',' && json[position] != '}'
+			&& json[position] != ' ' && json[position] != '\t' && json[position] != '\n'
+			&& json[position] != '\r') {
+			position++;
+		}
+		return position > start;
+	}
+
+	private boolean skipNested() {
+		int depth = 0;
+		while (position < end) {
+			byte b = json[position];
+			if (b == '"') {
+				if (!skipString()) {
+					return false;
+				}
+				continue;
+			}
+			position++;
+			if (b == '{' || b == '[') {
+				depth++;
+			} else if ((b == '}' || b == ']') && --depth == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean skipString() {
+		if (position >= end || json[position] != '"') {
+			return false;
+		}
+		position++;
+		while (position < end) {
+			byte b = json[position++];
+			if (b == '"') {
+				return true;
+			}
+			if (b == '\\') {
+				position++;
+			}
+		}
+		return false;
+	}
+
+	private boolean consume(char c) {
+		if (position < end && json[position] == c) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	private void skipWhitespace() {
+		while (position < end && (json[position] == ' ' || json[position] == '\t'
+			|| json[position] == '\n' || json[position] == '\r')) {
+			position++;
+		}
+	}
+}
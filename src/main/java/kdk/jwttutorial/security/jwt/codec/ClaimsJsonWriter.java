@@ -0,0 +1,82 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * jjwt(jackson) 와 같은 순서(auth 또는 r, ra, av, typ, iss, sub, exp, iat, jti)와 escape 규칙으로 claim JSON 을
+ * 만든다.
+ */
+final class ClaimsJsonWriter {
+
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	private ClaimsJsonWriter() {
+	}
+
+	static byte[] write(TokenClaims claims, TokenProfile profile) {
+		StringBuilder json = new StringBuilder(160).append('{');
+		if (claims.getAuthorities() != null) {
+			int mask = profile == TokenProfile.COMPACT
+				? AuthorityMask.toMask(claims.getAuthorities()) : -1;
+			if (mask >= 0) {
+				json.append("\"r\":").append(mask).append(',');
+			} else {
+				appendString(json.append("\"auth\":"), claims.getAuthorities()).append(',');
+			}
+		}
+		if (claims.getRefreshAuthorities() != null) {
+			appendString(json.append("\"ra\":"), claims.getRefreshAuthorities()).append(',');
+		}
+		if (claims.getAuthorityVersion() != null) {
+			json.append("\"av\":").append(claims.getAuthorityVersion()).append(',');
+		}
+		if (claims.getType() != null) {
+			appendString(json.append("\"typ\":"), claims.getType().getClaim()).append(',');
+		}
+		appendString(json.append("\"iss\":"), claims.getIssuer());
+		appendString(json.append(",\"sub\":"), claims.getSubject());
+		json.append(",\"exp\":").append(claims.getExpiration() / 1000);
+		json.append(",\"iat\":").append(claims.getIssuedAt() / 1000);
+		if (claims.getId() != null) {
+			appendString(json.append(",\"jti\":"), claims.getId());
+		}
+		return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static StringBuilder appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					json.append("\\\"");
+					break;
+				case '\\':
+					json.append("\\\\");
+					break;
+				case '\b':
+					json.append("\\b");
+					break;
+				case '\f':
+					json.append("\\f");
+					break;
+				case '\n':
+					json.append("\\n");
+					break;
+				case '\r':
+					json.append("\\r");
+					break;
+				case '\t':
+					json.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+					} else {
+						json.append(c);
+					}
+			}
+		}
+		return json.append('"');
+	}
+}
@@ -0,0 +1,162 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import kdk.jwttutorial.security.jwt.key.KeyRing;
+
+/**
+ * KeyRing 의 키마다 인코딩된 header 와 스레드별 Mac 을 미리 만들어 둔다. 검증 시에는 토큰의 header 구간을 그대로 hash
+ * table 에서 찾아 키를 고르므로 header JSON 을 파싱하지 않는다. KeyRing 이 교체되면 새로 만든다.
+ */
+final class Hs512KeySet {
+
+	private static final String ALGORITHM = "HmacSHA512";
+
+	private final KeyRing keyRing;
+	private final Entry signing;
+	private final byte[][] headers;
+	private final Entry[] entries;
+	private final int mask;
+
+	Hs512KeySet(KeyRing keyRing, TokenProfile profile) {
+		if (keyRing.getAlgorithm() != SignatureAlgorithm.HS512) {
+			throw new IllegalStateException(
+				"hs512 engine 은 HS512 키만 사용할 수 있습니다: " + keyRing.getAlgorithm());
+		}
+		this.keyRing = keyRing;
+
+		List<byte[]> acceptedHeaders = new ArrayList<>();
+		List<Entry> acceptedEntries = new ArrayList<>();
+		Entry current = null;
+		for (Map.Entry<String, Key> key : keyRing.getKeys().entrySet()) {
+			String headerKid = KeyRing.DEFAULT_KID.equals(key.getKey()) ? null : key.getKey();
+			ThreadLocal<Mac> mac = createThreadLocalMac(key.getValue());
+			Entry standard = new Entry(header(TokenProfile.STANDARD, headerKid), mac);
+			Entry compact = new Entry(header(TokenProfile.COMPACT, headerKid), mac);
+			acceptedHeaders.add(standard.header);
+			acceptedEntries.add(standard);
+			acceptedHeaders.add(compact.header);
+			acceptedEntries.add(compact);
+			if (key.getKey().equals(keyRing.getCurrentKid())) {
+				current = profile == TokenProfile.COMPACT ? compact : standard;
+			}
+		}
+		this.signing = current;
+
+		int capacity = Integer.highestOneBit(acceptedHeaders.size() * 4 - 1) << 1;
+		this.headers = new byte[capacity][];
+		this.entries = new Entry[capacity];
+		this.mask = capacity - 1;
+		for (int i = 0; i < acceptedHeaders.size(); i++) {
+			byte[] header = acceptedHeaders.get(i);
+			int index = hash(header, header.length) & mask;
+			while (headers[index] != null) {
+				index = (index + 1) & mask;
+			}
+			headers[index] = header;
+			entries[index] = acceptedEntries.get(i);
+		}
+	}
+
+	KeyRing getKeyRing() {
+		return keyRing;
+	}
+
+	Entry getSigning() {
+		return signing;
+	}
+
+	/**
+	 * @param token     토큰 byte 배열
+	 * @param headerLength 첫 번째 '.' 의 위치
+	 * @return 등록되지 않은 header(알 수 없는 kid, 다른 알고리즘 등)이면 null
+	 */
+	Entry find(byte[] token, int headerLength) {
+		if (headerLength <= 0) {
+			return null;
+		}
+		int index = hash(token, headerLength) & mask;
+		while (headers[index] != null) {
+			if (equals(headers[index], token, headerLength)) {
+				return entries[index];
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	// header JSON 의 key 순서는 jjwt 와 같게 typ, kid, alg
+	private static byte[] header(TokenProfile profile, String kid) {
+		StringBuilder json = new StringBuilder("{");
+		if (profile == TokenProfile.STANDARD) {
+			json.append("\"typ\":\"JWT\",");
+		}
+		if (kid != null) {
+			json.append("\"kid\":\"").append(kid).append("\",");
+		}
+		json.append("\"alg\":\"HS512\"}");
+		return Base64Url.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static int hash(byte[] bytes, int length) {
+		int hash = 1;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + bytes[i];
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean equals(byte[] header, byte[] token, int headerLength) {
+		if (header.length != headerLength) {
+			return false;
+		}
+		for (int i = 0; i < headerLength; i++) {
+			if (header[i] != token[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static ThreadLocal<Mac> createThreadLocalMac(Key key) {
+		SecretKeySpec secretKey = new SecretKeySpec(key.getEncoded(), ALGORITHM);
+		createMac(secretKey);
+		return ThreadLocal.withInitial(() -> createMac(secretKey));
+	}
+
+	private static Mac createMac(SecretKeySpec secretKey) {
+		try {
+			Mac hmac = Mac.getInstance(ALGORITHM);
+			hmac.init(secretKey);
+			return hmac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static final class Entry {
+
+		private final byte[] header;
+		private final ThreadLocal<Mac> mac;
+
+		private Entry(byte[] header, ThreadLocal<Mac> mac) {
+			this.header = header;
+			this.mac = mac;
+		}
+
+		byte[] getHeader() {
+			return header;
+		}
+
+		Mac getMac() {
+			return mac.get();
+		}
+	}
+}
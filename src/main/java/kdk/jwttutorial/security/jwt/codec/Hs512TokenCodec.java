@@ -0,0 +1,218 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.function.Supplier;
+import javax.crypto.Mac;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.EnumToken;
+import kdk.jwttutorial.security.jwt.TokenVerification;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import kdk.jwttutorial.security.jwt.key.KeyRing;
+
+/**
+ * HS512 header(standard 또는 compact)와 iss/sub/exp/iat/typ/auth(또는 r) claim 으로 고정된 토큰만 처리하는
+ * codec.
+ * <p>
+ * header 는 KeyRing 의 키(kid)별로 미리 인코딩해 두고 비교만 하며, base64url 과 claim JSON 은 스레드별 버퍼
+ * 위에서 직접 처리한다. Mac 도 키별, 스레드별로 재사용한다. 만료된 토큰은 HMAC 을 계산하기 전에 거절하므로, 서명도 틀리고
+ * 만료도 된 토큰은 jjwt 와 달리 EXPIRED_TOKEN 으로 보고된다.
+ */
+public class Hs512TokenCodec implements TokenCodec {
+
+	private static final int SIGNATURE_LENGTH = 64;
+	private static final int SIGNATURE_SEGMENT_LENGTH = Base64Url.encodedLength(SIGNATURE_LENGTH);
+	// 이보다 긴 토큰은 스레드 버퍼에 보관하지 않는다
+	private static final int MAX_BUFFER_LENGTH = 8192;
+
+	private final Supplier<KeyRing> keyRingSource;
+	private final TokenProfile profile;
+	private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+	private volatile Hs512KeySet keySet;
+
+	public Hs512TokenCodec(Key key) {
+		this(key, TokenProfile.STANDARD);
+	}
+
+	public Hs512TokenCodec(Key key, TokenProfile profile) {
+		this(constant(KeyRing.single(key)), profile);
+	}
+
+	public Hs512TokenCodec(Supplier<KeyRing> keyRingSource, TokenProfile profile) {
+		this.keyRingSource = keyRingSource;
+		this.profile = profile;
+		this.keySet = new Hs512KeySet(keyRingSource.get(), profile);
+	}
+
+	@Override
+	public String encode(TokenClaims claims) {
+		Hs512KeySet.Entry signing = keySet().getSigning();
+		byte[] header = signing.getHeader();
+		byte[] payload = ClaimsJsonWriter.write(claims, profile);
+		int signingInputLength = header.length + 1 + Base64Url.encodedLength(payload.length);
+		byte[] token = new byte[signingInputLength + 1 + SIGNATURE_SEGMENT_LENGTH];
+
+		System.arraycopy(header, 0, token, 0, header.length);
+		token[header.length] = '.';
+		Base64Url.encode(payload, 0, payload.length, token, header.length + 1);
+
+		Mac hmac = signing.getMac();
+		hmac.update(token, 0, signingInputLength);
+		byte[] signature = hmac.doFinal();
+		token[signingInputLength] = '.';
+		Base64Url.encode(signature, 0, signature.length, token, signingInputLength + 1);
+		return new String(token, StandardCharsets.US_ASCII);
+	}
+
+	@Override
+	public TokenVerification decode(String token) {
+		if (token == null || token.isEmpty()) {
+			return TokenVerification.failure(ErrorCode.INVALID_TOKEN);
+		}
+		Buffers buffer = buffers.get();
+		int length = token.length();
+		byte[] bytes = buffer.token(length);
+		for (int i = 0; i < length; i++) {
+			char c = token.charAt(i);
+			if (c > 0x7f) {
+				return TokenVerification.failure(ErrorCode.INCORRECT_SIGNATURE);
+			}
+			bytes[i] = (byte) c;
+		}
+
+		// 설정한 profile 과 관계없이 두 형식의 header 를 모두 허용하고, header 의 kid 로 검증 키를 선택
+		int headerLength = indexOf(bytes, 0, length);
+		Hs512KeySet.Entry verifying = keySet().find(bytes, headerLength);
+		if (verifying == null) {
+			return TokenVerification.failure(ErrorCode.INCORRECT_SIGNATURE);
+		}
+		int payloadStart = headerLength + 1;
+		int payloadEnd = indexOf(bytes, payloadStart, length);
+		if (payloadEnd < 0) {
+			return TokenVerification.failure(ErrorCode.INCORRECT_SIGNATURE);
+		}
+		int signatureStart = payloadEnd + 1;
+		if (signatureStart == length) {
+			return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+		}
+		if (indexOf(bytes, signatureStart, length) >= 0) {
+			return TokenVerification.failure(ErrorCode.INCORRECT_SIGNATURE);
+		}
+
+		int payloadSegmentLength = payloadEnd - payloadStart;
+		byte[] payload = buffer.payload(Base64Url.decodedLength(payloadSegmentLength));
+		int payloadLength = Base64Url.decode(bytes, payloadStart, payloadSegmentLength, payload, 0);
+		ClaimsJsonReader claims = buffer.claims;
+		if (payloadLength < 0 || !claims.read(payload, payloadLength)) {
+			return TokenVerification.failure(ErrorCode.INCORRECT_SIGNATURE);
+		}
+		if (!claims.hasExpiration()) {
+			return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+		}
+		if (System.currentTimeMillis() > claims.getExpiration()) {
+			return TokenVerification.failure(ErrorCode.EXPIRED_TOKEN);
+		}
+
+		if (length - signatureStart != SIGNATURE_SEGMENT_LENGTH
+			|| Base64Url.decode(bytes, signatureStart, SIGNATURE_SEGMENT_LENGTH, buffer.signature, 0)
+			!= SIGNATURE_LENGTH
+			|| !signatureMatches(verifying.getMac(), bytes, payloadEnd, buffer)) {
+			return TokenVerification.failure(ErrorCode.INCORRECT_SIGNATURE);
+		}
+
+		String authorities = claims.getAuthorities();
+		if (authorities == null && claims.getRoles() >= 0) {
+			authorities = AuthorityMask.toAuthorities(claims.getRoles());
+			if (authorities == null) {
+				return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+			}
+		}
+
+		EnumToken type = EnumToken.fromClaim(claims.getType(), authorities != null);
+		if (type == null) {
+			return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+		}
+
+		long authorityVersion = claims.getAuthorityVersion();
+		return TokenVerification.success(VerifiedToken.builder()
+			.subject(claims.getSubject())
+			.type(type)
+			.authorities(authorities)
+			.refreshAuthorities(claims.getRefreshAuthorities())
+			.authorityVersion(authorityVersion < 0 ? null : authorityVersion)
+			.issuedAt(claims.getIssuedAt())
+			.expiration(claims.getExpiration())
+			.id(claims.getId())
+			.build());
+	}
+
+	private boolean signatureMatches(Mac hmac, byte[] bytes, int signingInputLength,
+		Buffers buffer) {
+		hmac.update(bytes, 0, signingInputLength);
+		try {
+			hmac.doFinal(buffer.expected, 0);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+		// 서명 비교는 상수 시간으로 수행
+		int difference = 0;
+		for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+			difference |= buffer.signature[i] ^ buffer.expected[i];
+		}
+		return difference == 0;
+	}
+
+	// KeyRing 이 교체되었으면 키별 header 와 Mac 을 다시 만든다
+	private Hs512KeySet keySet() {
+		KeyRing keyRing = keyRingSource.get();
+		Hs512KeySet current = keySet;
+		if (current.getKeyRing() != keyRing) {
+			current = new Hs512KeySet(keyRing, profile);
+			keySet = current;
+		}
+		return current;
+	}
+
+	private static Supplier<KeyRing> constant(KeyRing keyRing) {
+		return () -> keyRing;
+	}
+
+	private static int indexOf(byte[] bytes, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (bytes[i] == '.') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static class Buffers {
+
+		private final byte[] signature = new byte[SIGNATURE_LENGTH];
+		private final byte[] expected = new byte[SIGNATURE_LENGTH];
+		private final ClaimsJsonReader claims = new ClaimsJsonReader();
+		private byte[] token = new byte[512];
+		private byte[] payload = new byte[384];
+
+		private byte[] token(int length) {
+			if (length <= token.length) {
+				return token;
+			}
+			if (length > MAX_BUFFER_LENGTH) {
+				return new byte[length];
+			}
+			return token = new byte[length];
+		}
+
+		private byte[] payload(int length) {
+			if (length <= payload.length) {
+				return payload;
+			}
+			if (length > MAX_BUFFER_LENGTH) {
+				return new byte[length];
+			}
+			return payload = new byte[length];
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.SignatureException;
+import java.security.Key;
+import java.util.Date;
+import java.util.function.Supplier;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.EnumToken;
+import kdk.jwttutorial.security.jwt.TokenVerification;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import kdk.jwttutorial.security.jwt.key.KeyRing;
+
+public class JjwtTokenCodec implements TokenCodec {
+
+	private static final String AUTHORITIES_KEY = "auth";
+	private static final String REFRESH_AUTHORITIES_KEY = "ra";
+	private static final String AUTHORITY_VERSION_KEY = "av";
+	private static final String TYPE_KEY = "typ";
+
+	private final Supplier<KeyRing> keyRingSource;
+	private final TokenProfile profile;
+	private final JwtParser jwtParser;
+
+	public JjwtTokenCodec(Key key) {
+		this(key, TokenProfile.STANDARD);
+	}
+
+	public JjwtTokenCodec(Key key, TokenProfile profile) {
+		this(constant(KeyRing.single(key)), profile);
+	}
+
+	public JjwtTokenCodec(Supplier<KeyRing> keyRingSource, TokenProfile profile) {
+		this.keyRingSource = keyRingSource;
+		this.profile = profile;
+		this.jwtParser = Jwts.parserBuilder()
+			.setSigningKeyResolver(new KeyRingSigningKeyResolver())
+			.build();
+	}
+
+	@Override
+	public String encode(TokenClaims claims) {
+		KeyRing keyRing = keyRingSource.get();
+		JwtBuilder builder = Jwts.builder();
+		if (claims.getAuthorities() != null) {
+			int mask = profile == TokenProfile.COMPACT
+				? AuthorityMask.toMask(claims.getAuthorities()) : -1;
+			if (mask >= 0) {
+				builder.claim(AuthorityMask.CLAIM, mask);
+			} else {
+				builder.claim(AUTHORITIES_KEY, claims.getAuthorities());
+			}
+		}
+		if (claims.getRefreshAuthorities() != null) {
+			builder.claim(REFRESH_AUTHORITIES_KEY, claims.getRefreshAuthorities());
+		}
+		if (claims.getAuthorityVersion() != null) {
+			builder.claim(AUTHORITY_VERSION_KEY, claims.getAuthorityVersion());
+		}
+		if (claims.getType() != null) {
+			builder.claim(TYPE_KEY, claims.getType().getClaim());
+		}
+		if (profile == TokenProfile.STANDARD) {
+			builder.setHeaderParam("typ", "JWT");
+		}
+		if (keyRing.getCurrentHeaderKid() != null) {
+			builder.setHeaderParam(JwsHeader.KEY_ID, keyRing.getCurrentHeaderKid());
+		}
+
+		return builder
+			.setIssuer(claims.getIssuer())
+			.setSubject(claims.getSubject())
+			.signWith(keyRing.getSigningKey(), keyRing.getAlgorithm())
+			.setExpiration(new Date(claims.getExpiration()))
+			.setIssuedAt(new Date(claims.getIssuedAt()))
+			.setId(claims.getId())
+			.compact();
+	}
+
+	@Override
+	public TokenVerification decode(String token) {
+		try {
+			Claims claims = jwtParser.parseClaimsJws(token).getBody();
+			// 만료 시각이 없는 토큰은 발급하지 않으므로 지원하지 않는다
+			if (claims.getExpiration() == null) {
+				return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+			}
+			String authorities = getAuthorities(claims);
+			if (authorities == null && claims.containsKey(AuthorityMask.CLAIM)) {
+				return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+			}
+			Object authorityVersion = claims.get(AUTHORITY_VERSION_KEY);
+			if (authorityVersion != null && !(authorityVersion instanceof Integer
+				|| authorityVersion instanceof Long)) {
+				return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+			}
+			Object type = claims.get(TYPE_KEY);
+			EnumToken tokenType = EnumToken.fromClaim(type == null ? null : type.toString(),
+				authorities != null);
+			if (tokenType == null) {
+				return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+			}
+			Object refreshAuthorities = claims.get(REFRESH_AUTHORITIES_KEY);
+			return TokenVerification.success(VerifiedToken.builder()
+				.subject(claims.getSubject())
+				.type(tokenType)
+				.authorities(authorities)
+				.refreshAuthorities(
+					refreshAuthorities instanceof String ? (String) refreshAuthorities : null)
+				.authorityVersion(authorityVersion == null ? null
+					: ((Number) authorityVersion).longValue())
+				.issuedAt(claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime())
+				.expiration(claims.getExpiration().getTime())
+				.id(claims.getId())
+				.build());
+		} catch (SecurityException | MalformedJwtException e) {
+			return TokenVerification.failure(ErrorCode.INCORRECT_SIGNATURE);
+		} catch (ExpiredJwtException e) {
+			return TokenVerification.failure(ErrorCode.EXPIRED_TOKEN);
+		} catch (UnsupportedJwtException e) {
+			return TokenVerification.failure(ErrorCode.UNSUPPORTED_TOKEN);
+		} catch (IllegalArgumentException e) {
+			return TokenVerification.failure(ErrorCode.INVALID_TOKEN);
+		}
+	}
+
+	// "auth" 문자열 claim 을 우선 사용하고, 없으면 "r" bitmask claim 을 권한 문자열로 변환
+	private String getAuthorities(Claims claims) {
+		Object authorities = claims.get(AUTHORITIES_KEY);
+		if (authorities != null) {
+			return authorities.toString();
+		}
+		Object mask = claims.get(AuthorityMask.CLAIM);
+		if (mask instanceof Integer || mask instanceof Long) {
+			return AuthorityMask.toAuthorities(((Number) mask).longValue());
+		}
+		return null;
+	}
+
+	private static Supplier<KeyRing> constant(KeyRing keyRing) {
+		return () -> keyRing;
+	}
+
+	// header 의 kid 로 현재 KeyRing 에서 검증 키를 선택, alg 는 KeyRing 의 알고리즘만 허용
+	private class KeyRingSigningKeyResolver extends SigningKeyResolverAdapter {
+
+		@Override
+		public Key resolveSigningKey(JwsHeader header, Claims claims) {
+			KeyRing keyRing = keyRingSource.get();
+			if (!keyRing.getAlgorithm().getValue().equals(header.getAlgorithm())) {
+				throw new SignatureException("지원하지 않는 알고리즘입니다: " + header.getAlgorithm());
+			}
+			Key key = keyRing.getKey(header.getKeyId());
+			if (key == null) {
+				throw new SignatureException("등록되지 않은 kid 입니다: " + header.getKeyId());
+			}
+			return key;
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import kdk.jwttutorial.security.jwt.TokenVerification;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * primary 엔진의 결과를 그대로 사용하면서 shadow 엔진도 함께 실행하여 결과가 다르면 로그와 metric 으로 보고한다.
+ */
+@Log4j2
+public class ShadowTokenCodec implements TokenCodec, MeterBinder {
+
+	private final TokenCodec primary;
+	private final TokenCodec shadow;
+	private final LongAdder comparisons = new LongAdder();
+	private final LongAdder disagreements = new LongAdder();
+
+	public ShadowTokenCodec(TokenCodec primary, TokenCodec shadow) {
+		this.primary = primary;
+		this.shadow = shadow;
+	}
+
+	@Override
+	public String encode(TokenClaims claims) {
+		String token = primary.encode(claims);
+		try {
+			String shadowToken = shadow.encode(claims);
+			record("encode", token.equals(shadowToken) ? null : "token");
+		} catch (RuntimeException e) {
+			record("encode", e.toString());
+		}
+		return token;
+	}
+
+	@Override
+	public TokenVerification decode(String token) {
+		TokenVerification verification = primary.decode(token);
+		try {
+			record("decode", difference(verification, shadow.decode(token)));
+		} catch (RuntimeException e) {
+			record("decode", e.toString());
+		}
+		return verification;
+	}
+
+	public long getComparisonCount() {
+		return comparisons.sum();
+	}
+
+	public long getDisagreementCount() {
+		return disagreements.sum();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("jwt.codec.shadow.comparisons", comparisons, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("jwt.codec.shadow.disagreements", disagreements, LongAdder::sum)
+			.register(registry);
+	}
+
+	private void record(String operation, String difference) {
+		comparisons.increment();
+		if (difference != null) {
+			disagreements.increment();
+			log.warn("토큰 엔진 결과가 일치하지 않습니다, operation: {}, difference: {}", operation,
+				difference);
+		}
+	}
+
+	private String difference(TokenVerification expected, TokenVerification actual) {
+		if (expected.isValid() != actual.isValid() || expected.getErrorCode() != actual.getErrorCode()) {
+			return "result " + expected.getErrorCode() + " != " + actual.getErrorCode();
+		}
+		if (!expected.isValid()) {
+			return null;
+		}
+		VerifiedToken expectedToken = expected.getVerifiedToken();
+		VerifiedToken actualToken = actual.getVerifiedToken();
+		if (!Objects.equals(expectedToken.getSubject(), actualToken.getSubject())) {
+			return "sub";
+		}
+		if (expectedToken.getType() != actualToken.getType()) {
+			return "typ";
+		}
+		if (!Objects.equals(expectedToken.getAuthorities(), actualToken.getAuthorities())) {
+			return "auth";
+		}
+		if (!Objects.equals(expectedToken.getRefreshAuthorities(),
+			actualToken.getRefreshAuthorities())) {
+			return "ra";
+		}
+		if (!Objects.equals(expectedToken.getAuthorityVersion(),
+			actualToken.getAuthorityVersion())) {
+			return "av";
+		}
+		if (expectedToken.getIssuedAt() != actualToken.getIssuedAt()) {
+			return "iat";
+		}
+		if (expectedToken.getExpiration() != actualToken.getExpiration()) {
+			return "exp";
+		}
+		if (!Objects.equals(expectedToken.getId(), actualToken.getId())) {
+			return "jti";
+		}
+		return null;
+	}
+}
@@ -0,0 +1,37 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import kdk.jwttutorial.security.jwt.EnumToken;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class TokenClaims {
+
+	private final String issuer;
+	private final String subject;
+	// typ claim, 액세스 토큰과 리프레시 토큰을 구분
+	private final EnumToken type;
+	private final String authorities;
+	// 리프레시 토큰에만 포함, 액세스 토큰의 권한(auth, r)과 구분하여 ra claim 에 기록
+	private final String refreshAuthorities;
+	// 리프레시 토큰에만 포함(av), 발급 당시 사용자의 권한 버전
+	private final Long authorityVersion;
+	private final long issuedAt;
+	private final long expiration;
+	private final String id;
+
+	@Builder
+	public TokenClaims(String issuer, String subject, EnumToken type, String authorities,
+		String refreshAuthorities, Long authorityVersion, long issuedAt, long expiration,
+		String id) {
+		this.issuer = issuer;
+		this.subject = subject;
+		this.type = type;
+		this.authorities = authorities;
+		this.refreshAuthorities = refreshAuthorities;
+		this.authorityVersion = authorityVersion;
+		this.issuedAt = issuedAt;
+		this.expiration = expiration;
+		this.id = id;
+	}
+}
@@ -0,0 +1,13 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import kdk.jwttutorial.security.jwt.TokenVerification;
+
+/**
+ * 토큰 서명/검증 엔진. TokenProvider 는 jwt.engine 설정에 따라 구현체를 선택한다.
+ */
+public interface TokenCodec {
+
+	String encode(TokenClaims claims);
+
+	TokenVerification decode(String token);
+}
@@ -0,0 +1,35 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+import kdk.jwttutorial.security.jwt.key.KeyRing;
+
+public enum TokenEngine {
+
+	JJWT {
+		@Override
+		public TokenCodec createCodec(Supplier<KeyRing> keyRingSource, TokenProfile profile) {
+			return new JjwtTokenCodec(keyRingSource, profile);
+		}
+	},
+	HS512 {
+		@Override
+		public TokenCodec createCodec(Supplier<KeyRing> keyRingSource, TokenProfile profile) {
+			return new Hs512TokenCodec(keyRingSource, profile);
+		}
+	},
+	// jjwt 결과를 사용하고, HS512 codec 결과와 비교하여 불일치를 보고
+	SHADOW {
+		@Override
+		public TokenCodec createCodec(Supplier<KeyRing> keyRingSource, TokenProfile profile) {
+			return new ShadowTokenCodec(new JjwtTokenCodec(keyRingSource, profile),
+				new Hs512TokenCodec(keyRingSource, profile));
+		}
+	};
+
+	public abstract TokenCodec createCodec(Supplier<KeyRing> keyRingSource, TokenProfile profile);
+
+	public static TokenEngine from(String engine) {
+		return valueOf(engine.trim().toUpperCase(Locale.ROOT));
+	}
+}
@@ -0,0 +1,18 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import java.util.Locale;
+
+/**
+ * 발급하는 토큰의 종류. OPAQUE 로 발급하는 중에도 이미 발급한 JWT 는 계속 검증한다.
+ */
+public enum TokenFormat {
+
+	// 서명된 JWT, 다른 서비스도 키만 있으면 검증 가능
+	JWT,
+	// claim 을 서버 메모리(OpaqueTokenStore)에 두고 random 문자열만 발급, 발급한 서버만 검증 가능
+	OPAQUE;
+
+	public static TokenFormat from(String format) {
+		return valueOf(format.trim().toUpperCase(Locale.ROOT));
+	}
+}
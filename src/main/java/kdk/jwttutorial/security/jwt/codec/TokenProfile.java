@@ -0,0 +1,18 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import java.util.Locale;
+
+/**
+ * 발급하는 토큰의 형식. 검증은 설정과 관계없이 두 형식을 모두 허용한다.
+ */
+public enum TokenProfile {
+
+	// header {"typ":"JWT","alg":"HS512"}, 권한은 "auth" 문자열 claim
+	STANDARD,
+	// header {"alg":"HS512"}, 권한은 EnumAuthority mask 를 합친 "r" 정수 claim
+	COMPACT;
+
+	public static TokenProfile from(String profile) {
+		return valueOf(profile.trim().toUpperCase(Locale.ROOT));
+	}
+}
@@ -0,0 +1,45 @@
+package kdk.jwttutorial.security.jwt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * RFC 7662 형식의 introspection 결과. 유효하지 않은 토큰은 다른 정보 없이 active=false 만 반환한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@JsonInclude(Include.NON_NULL)
+public class IntrospectionDto {
+
+	private static final IntrospectionDto INACTIVE = IntrospectionDto.builder()
+		.active(false)
+		.build();
+
+	private boolean active;
+	private String sub;
+	private List<String> authorities;
+	// 초 단위
+	private Long exp;
+	private Long iat;
+	private String jti;
+
+	@Builder
+	public IntrospectionDto(boolean active, String sub, List<String> authorities, Long exp,
+		Long iat, String jti) {
+		this.active = active;
+		this.sub = sub;
+		this.authorities = authorities;
+		this.exp = exp;
+		this.iat = iat;
+		this.jti = jti;
+	}
+
+	public static IntrospectionDto inactive() {
+		return INACTIVE;
+	}
+}
@@ -0,0 +1,25 @@
+package kdk.jwttutorial.security.jwt.dto;
+
+import java.util.List;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IntrospectionRequestDto {
+
+	public static final int MAX_TOKENS = 100;
+
+	@NotEmpty
+	@Size(max = MAX_TOKENS)
+	private List<String> tokens;
+
+	@Builder
+	public IntrospectionRequestDto(@NotEmpty @Size(max = MAX_TOKENS) List<String> tokens) {
+		this.tokens = tokens;
+	}
+}
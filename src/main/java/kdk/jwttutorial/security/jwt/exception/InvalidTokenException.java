@@ -8,4 +8,9 @@ public class InvalidTokenException extends InvalidValueException {
 	public InvalidTokenException(String value) {
 		super(value, ErrorCode.INVALID_TOKEN);
 	}
+
+	// 클라이언트가 원인(만료, 재사용 등)을 구분할 수 있도록 응답에 errorCode 를 그대로 사용
+	public InvalidTokenException(ErrorCode errorCode) {
+		super(errorCode.getMessage(), errorCode);
+	}
 }
@@ -1,10 +1,15 @@
 package kdk.jwttutorial.security.jwt.exception.handler;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import kdk.jwttutorial.error.ErrorCode;
 import kdk.jwttutorial.error.ErrorResponse;
+import kdk.jwttutorial.security.jwt.JwtFilter;
 import org.json.simple.JSONObject;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
@@ -13,23 +18,25 @@ import org.springframework.stereotype.Component;
 @Component
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
+	private static final Map<String, ErrorCode> TOKEN_ERROR_CODES = Stream.of(
+		ErrorCode.INCORRECT_SIGNATURE,
+		ErrorCode.EXPIRED_TOKEN,
+		ErrorCode.UNSUPPORTED_TOKEN,
+		ErrorCode.INVALID_TOKEN,
+		ErrorCode.REVOKED_TOKEN,
+		ErrorCode.REUSED_REFRESH_TOKEN,
+		ErrorCode.INVALID_TOKEN_TYPE
+	).collect(Collectors.toMap(ErrorCode::getCode, Function.identity()));
+
 	@Override
 	public void commence(HttpServletRequest request, HttpServletResponse response,
 		AuthenticationException authException) throws IOException {
-		String exception = (String) request.getAttribute("exception");
+		String exception = (String) request.getAttribute(JwtFilter.EXCEPTION_ATTRIBUTE);
 
 		if (exception == null) {
 			setResponse(response, ErrorCode.INVALID_TOKEN);
-		} else if (exception.equals(ErrorCode.INCORRECT_SIGNATURE.getCode())) {
-			setResponse(response, ErrorCode.INCORRECT_SIGNATURE);
-		} else if (exception.equals(ErrorCode.EXPIRED_TOKEN.getCode())) {
-			setResponse(response, ErrorCode.EXPIRED_TOKEN);
-		} else if (exception.equals(ErrorCode.UNSUPPORTED_TOKEN.getCode())) {
-			setResponse(response, ErrorCode.UNSUPPORTED_TOKEN);
-		} else if (exception.equals(ErrorCode.INVALID_TOKEN.getCode())) {
-			setResponse(response, ErrorCode.INVALID_TOKEN);
 		} else {
-			setResponse(response, ErrorCode.UNKNOWN_TOKEN);
+			setResponse(response, TOKEN_ERROR_CODES.getOrDefault(exception, ErrorCode.UNKNOWN_TOKEN));
 		}
 	}
 
@@ -0,0 +1,94 @@
+package kdk.jwttutorial.security.jwt.key;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * KeyRing 의 공개 키를 JWK Set(RFC 7517) JSON 으로 만든 결과와 ETag. KeyRing 마다 한 번만 만든다.
+ * <p>
+ * HS512 키는 공개하면 안 되므로 포함하지 않는다. kid 가 없는 토큰은 kid {@link KeyRing#DEFAULT_KID} 의 키로 검증한다.
+ */
+public final class JwkSet {
+
+	private static final int P256_COORDINATE_LENGTH = 32;
+	// ETag 는 body 의 SHA-256 앞 16 byte
+	private static final int ETAG_LENGTH = 16;
+
+	private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+	private final KeyRing keyRing;
+	private final String body;
+	private final String eTag;
+
+	private JwkSet(KeyRing keyRing) {
+		this.keyRing = keyRing;
+		this.body = render(keyRing);
+		this.eTag = digest(body);
+	}
+
+	public static JwkSet of(KeyRing keyRing) {
+		return new JwkSet(keyRing);
+	}
+
+	public KeyRing getKeyRing() {
+		return keyRing;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public String getETag() {
+		return eTag;
+	}
+
+	// kid 는 KeyRing 에서 escape 가 필요 없는 문자만 허용하므로 그대로 쓴다
+	private static String render(KeyRing keyRing) {
+		StringBuilder json = new StringBuilder("{\"keys\":[");
+		boolean first = true;
+		for (Map.Entry<String, Key> key : keyRing.getKeys().entrySet()) {
+			if (!(key.getValue() instanceof ECPublicKey)) {
+				continue;
+			}
+			ECPublicKey publicKey = (ECPublicKey) key.getValue();
+			if (!first) {
+				json.append(',');
+			}
+			first = false;
+			json.append("{\"kty\":\"EC\",\"crv\":\"P-256\",\"use\":\"sig\",\"alg\":\"")
+				.append(keyRing.getAlgorithm().getValue())
+				.append("\",\"kid\":\"").append(key.getKey())
+				.append("\",\"x\":\"").append(coordinate(publicKey.getW().getAffineX()))
+				.append("\",\"y\":\"").append(coordinate(publicKey.getW().getAffineY()))
+				.append("\"}");
+		}
+		return json.append("]}").toString();
+	}
+
+	// 좌표는 부호 없는 32 byte big-endian 으로 고정
+	private static String coordinate(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		byte[] fixed = new byte[P256_COORDINATE_LENGTH];
+		int length = Math.min(bytes.length, P256_COORDINATE_LENGTH);
+		System.arraycopy(bytes, bytes.length - length, fixed, P256_COORDINATE_LENGTH - length,
+			length);
+		return BASE64_URL.encodeToString(fixed);
+	}
+
+	private static String digest(String body) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256")
+				.digest(body.getBytes(StandardCharsets.UTF_8));
+			return BASE64_URL.encodeToString(Arrays.copyOf(hash, ETAG_LENGTH));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
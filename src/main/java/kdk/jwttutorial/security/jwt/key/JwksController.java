@@ -0,0 +1,50 @@
+package kdk.jwttutorial.security.jwt.key;
+
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 다른 서비스가 토큰을 직접 검증할 수 있도록 공개 키를 JWK Set 으로 제공한다. ETag 가 같으면(If-None-Match) 304 로
+ * 응답한다.
+ */
+@RestController
+public class JwksController {
+
+	public static final String JWKS_PATH = "/.well-known/jwks.json";
+
+	private final KeyRingLoader keyRingLoader;
+	private final CacheControl cacheControl;
+	private volatile JwkSet jwkSet;
+
+	public JwksController(KeyRingLoader keyRingLoader,
+		@Value("${jwt.jwks.max-age-seconds}") long maxAgeSeconds) {
+		this.keyRingLoader = keyRingLoader;
+		this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+		this.jwkSet = JwkSet.of(keyRingLoader.get());
+	}
+
+	@GetMapping(value = JWKS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<String> getJwkSet() {
+		JwkSet current = currentJwkSet();
+		return ResponseEntity.ok()
+			.cacheControl(cacheControl)
+			.eTag(current.getETag())
+			.body(current.getBody());
+	}
+
+	// 키 파일이 다시 읽혀 KeyRing 이 바뀐 경우에만 새로 만든다
+	private JwkSet currentJwkSet() {
+		JwkSet current = jwkSet;
+		KeyRing keyRing = keyRingLoader.get();
+		if (current.getKeyRing() != keyRing) {
+			current = JwkSet.of(keyRing);
+			jwkSet = current;
+		}
+		return current;
+	}
+}
@@ -0,0 +1,110 @@
+package kdk.jwttutorial.security.jwt.key;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.security.Key;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * kid 로 찾을 수 있는 검증 키 목록과 현재 서명 키. 생성 후 변경하지 않으며, 키 교체는 새 KeyRing 으로 바꾸는 방식으로 한다.
+ * <p>
+ * HS512 는 서명 키와 검증 키가 같고, ES256 은 현재 kid 의 개인 키로 서명하고 공개 키로 검증한다. 공개 키는 JWKS 로 공개한다.
+ * <p>
+ * HS512 에서 kid 가 {@link #DEFAULT_KID} 인 키로 서명한 토큰은 header 에 kid 를 넣지 않고, kid 가 없는 토큰은 이 키로
+ * 검증한다. (kid 도입 전에 발급한 토큰 호환)
+ */
+public final class KeyRing {
+
+	public static final String DEFAULT_KID = "default";
+
+	// header JSON 에 escape 없이 넣을 수 있는 문자만 허용
+	private static final Pattern KID_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+	private final SignatureAlgorithm algorithm;
+	private final Map<String, Key> keys;
+	private final String currentKid;
+	private final Key signingKey;
+
+	private KeyRing(SignatureAlgorithm algorithm, Map<String, Key> keys, String currentKid,
+		Key signingKey) {
+		if (keys.isEmpty()) {
+			throw new IllegalArgumentException("키가 없습니다");
+		}
+		for (String kid : keys.keySet()) {
+			if (!KID_PATTERN.matcher(kid).matches()) {
+				throw new IllegalArgumentException("kid 형식이 올바르지 않습니다: " + kid);
+			}
+		}
+		if (!keys.containsKey(currentKid)) {
+			throw new IllegalArgumentException("현재 서명 키가 목록에 없습니다: " + currentKid);
+		}
+		if (signingKey == null) {
+			throw new IllegalArgumentException("서명 키가 없습니다");
+		}
+		this.algorithm = algorithm;
+		this.keys = Collections.unmodifiableMap(new LinkedHashMap<>(keys));
+		this.currentKid = currentKid;
+		this.signingKey = signingKey;
+	}
+
+	/**
+	 * HS512 키 목록
+	 */
+	public static KeyRing of(Map<String, Key> keys, String currentKid) {
+		return new KeyRing(SignatureAlgorithm.HS512, keys, currentKid, keys.get(currentKid));
+	}
+
+	/**
+	 * 비대칭 키 목록
+	 *
+	 * @param publicKeys 검증에 사용할 공개 키, 현재 kid 의 공개 키를 포함
+	 * @param signingKey 현재 kid 의 개인 키
+	 */
+	public static KeyRing of(SignatureAlgorithm algorithm, Map<String, Key> publicKeys,
+		String currentKid, Key signingKey) {
+		if (!algorithm.isEllipticCurve()) {
+			throw new IllegalArgumentException("지원하지 않는 알고리즘입니다: " + algorithm);
+		}
+		return new KeyRing(algorithm, publicKeys, currentKid, signingKey);
+	}
+
+	public static KeyRing single(Key key) {
+		return of(Collections.singletonMap(DEFAULT_KID, key), DEFAULT_KID);
+	}
+
+	public SignatureAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * @param kid 토큰 header 의 kid, 없으면 null
+	 * @return 등록되지 않은 kid 이면 null
+	 */
+	public Key getKey(String kid) {
+		return keys.get(kid == null ? DEFAULT_KID : kid);
+	}
+
+	public Map<String, Key> getKeys() {
+		return keys;
+	}
+
+	public String getCurrentKid() {
+		return currentKid;
+	}
+
+	public Key getSigningKey() {
+		return signingKey;
+	}
+
+	/**
+	 * @return 토큰 header 에 넣을 kid, HS512 기본 키이면 null
+	 */
+	public String getCurrentHeaderKid() {
+		if (algorithm == SignatureAlgorithm.HS512 && DEFAULT_KID.equals(currentKid)) {
+			return null;
+		}
+		return currentKid;
+	}
+}
@@ -0,0 +1,242 @@
+package kdk.jwttutorial.security.jwt.key;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECKey;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * jwt.key-file 이 없으면 jwt.secret 하나로 KeyRing 을 만들고, 있으면 키 파일에서 읽는다. 키 파일은 주기적으로 변경 여부를
+ * 확인하여 재시작 없이 다시 읽으며, 읽기에 실패하면 기존 KeyRing 을 유지한다.
+ * <p>
+ * 키 파일 형식(properties):
+ * <pre>
+ * current=2026-10
+ * key.default=(기존 jwt.secret, base64)
+ * key.2026-10=(base64, 64 byte 이상)
+ * </pre>
+ * jwt.algorithm 이 es256 이면 키 파일이 필요하며, 현재 kid 는 개인 키(PKCS#8)와 공개 키(X.509)를, 이전 kid 는 공개 키만
+ * 둔다. 키는 P-256 이어야 한다.
+ * <pre>
+ * current=2026-10
+ * private.2026-10=(PKCS#8, base64)
+ * public.2026-10=(X.509, base64)
+ * public.2026-04=(X.509, base64)
+ * </pre>
+ * 교체 순서: 새 키를 추가하여 모든 서버에 반영(ES256 은 JWKS max-age 만큼 더 대기) → current 를 새 키로 변경 → 이전 키로
+ * 발급한 리프레시 토큰이 만료되면 이전 키 삭제. 키를 삭제하면 KeysRemovedEvent 를 발행하여 검증된 토큰 캐시를 비운다.
+ * jwt.algorithm 을 바꾸면 기존 토큰은 모두 검증에 실패한다.
+ */
+@Component
+@Log4j2
+public class KeyRingLoader implements Supplier<KeyRing> {
+
+	private static final String CURRENT_PROPERTY = "current";
+	private static final String KEY_PROPERTY_PREFIX = "key.";
+	private static final String PRIVATE_KEY_PROPERTY_PREFIX = "private.";
+	private static final String PUBLIC_KEY_PROPERTY_PREFIX = "public.";
+	// HS512 는 512 bit 이상의 키가 필요
+	private static final int MIN_KEY_LENGTH = 64;
+	private static final int ES256_FIELD_SIZE = 256;
+	private static final String EC_SIGNATURE_ALGORITHM = "SHA256withECDSA";
+
+	private final SignatureAlgorithm algorithm;
+	private final Path keyFile;
+	private final ApplicationEventPublisher eventPublisher;
+	private volatile KeyRing keyRing;
+	private volatile FileTime loadedModifiedTime;
+
+	public KeyRingLoader(String secret, String keyFile) {
+		this(secret, keyFile, SignatureAlgorithm.HS512.name());
+	}
+
+	public KeyRingLoader(String secret, String keyFile, String algorithm) {
+		this(secret, keyFile, algorithm, event -> {
+		});
+	}
+
+	@Autowired
+	public KeyRingLoader(@Value("${jwt.secret}") String secret,
+		@Value("${jwt.key-file:}") String keyFile,
+		@Value("${jwt.algorithm:hs512}") String algorithm,
+		ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+		this.algorithm = SignatureAlgorithm.forName(algorithm.trim().toUpperCase(Locale.ROOT));
+		if (this.algorithm != SignatureAlgorithm.HS512
+			&& this.algorithm != SignatureAlgorithm.ES256) {
+			throw new IllegalStateException("지원하지 않는 알고리즘입니다: " + algorithm);
+		}
+		if (StringUtils.hasText(keyFile)) {
+			this.keyFile = Paths.get(keyFile);
+			if (!reload()) {
+				throw new IllegalStateException("키 파일을 읽을 수 없습니다: " + keyFile);
+			}
+		} else if (this.algorithm != SignatureAlgorithm.HS512) {
+			throw new IllegalStateException(this.algorithm + " 는 jwt.key-file 이 필요합니다");
+		} else {
+			this.keyFile = null;
+			this.keyRing = KeyRing.single(createKey(secret));
+		}
+	}
+
+	@Override
+	public KeyRing get() {
+		return keyRing;
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.key-file-check-interval-ms:10000}")
+	public void reloadIfModified() {
+		if (keyFile == null) {
+			return;
+		}
+		try {
+			if (!Files.getLastModifiedTime(keyFile).equals(loadedModifiedTime)) {
+				reload();
+			}
+		} catch (IOException e) {
+			log.error("키 파일 변경 여부를 확인할 수 없습니다, file: {}", keyFile, e);
+		}
+	}
+
+	/**
+	 * @return 새 KeyRing 으로 교체했으면 true
+	 */
+	public boolean reload() {
+		try {
+			FileTime modifiedTime = Files.getLastModifiedTime(keyFile);
+			KeyRing loaded = read(keyFile, algorithm);
+			KeyRing previous = this.keyRing;
+			this.keyRing = loaded;
+			this.loadedModifiedTime = modifiedTime;
+			log.info("키 파일을 읽었습니다, kid: {}, current: {}", loaded.getKeys().keySet(),
+				loaded.getCurrentKid());
+			if (previous != null) {
+				publishRemovedKids(previous, loaded);
+			}
+			return true;
+		} catch (IOException | RuntimeException e) {
+			log.error("키 파일을 읽을 수 없어 기존 키를 유지합니다, file: {}", keyFile, e);
+			return false;
+		}
+	}
+
+	// 삭제된 키로 서명한 토큰이 검증 캐시에 남아 만료 시각까지 인증되지 않도록 알림
+	private void publishRemovedKids(KeyRing previous, KeyRing loaded) {
+		Set<String> removedKids = new HashSet<>(previous.getKeys().keySet());
+		removedKids.removeAll(loaded.getKeys().keySet());
+		if (!removedKids.isEmpty()) {
+			log.info("삭제된 키가 있어 검증된 토큰 캐시를 비웁니다, kid: {}", removedKids);
+			eventPublisher.publishEvent(new KeysRemovedEvent(removedKids));
+		}
+	}
+
+	private static KeyRing read(Path keyFile, SignatureAlgorithm algorithm) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(keyFile, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		String currentKid = properties.getProperty(CURRENT_PROPERTY, KeyRing.DEFAULT_KID).trim();
+
+		if (algorithm == SignatureAlgorithm.HS512) {
+			Map<String, Key> keys = new LinkedHashMap<>();
+			for (String name : properties.stringPropertyNames()) {
+				if (name.startsWith(KEY_PROPERTY_PREFIX)) {
+					keys.put(name.substring(KEY_PROPERTY_PREFIX.length()),
+						createKey(properties.getProperty(name).trim()));
+				}
+			}
+			return KeyRing.of(keys, currentKid);
+		}
+
+		Map<String, Key> publicKeys = new LinkedHashMap<>();
+		for (String name : properties.stringPropertyNames()) {
+			if (name.startsWith(PUBLIC_KEY_PROPERTY_PREFIX)) {
+				publicKeys.put(name.substring(PUBLIC_KEY_PROPERTY_PREFIX.length()),
+					createEcKey(new X509EncodedKeySpec(
+						Decoders.BASE64.decode(properties.getProperty(name).trim()))));
+			}
+		}
+		String privateKey = properties.getProperty(PRIVATE_KEY_PROPERTY_PREFIX + currentKid);
+		if (privateKey == null) {
+			throw new IllegalArgumentException("현재 서명 키의 개인 키가 없습니다: " + currentKid);
+		}
+		Key signingKey =
+			createEcKey(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(privateKey.trim())));
+		KeyRing keyRing = KeyRing.of(algorithm, publicKeys, currentKid, signingKey);
+		checkKeyPair(signingKey, keyRing.getKey(currentKid));
+		return keyRing;
+	}
+
+	// 개인 키와 공개 키가 짝이 맞지 않으면 검증할 수 없는 토큰을 발급하게 되므로 읽을 때 확인
+	private static void checkKeyPair(Key privateKey, Key publicKey) {
+		byte[] data = "key-pair-check".getBytes(StandardCharsets.US_ASCII);
+		try {
+			Signature signer = Signature.getInstance(EC_SIGNATURE_ALGORITHM);
+			signer.initSign((PrivateKey) privateKey);
+			signer.update(data);
+			byte[] signature = signer.sign();
+
+			Signature verifier = Signature.getInstance(EC_SIGNATURE_ALGORITHM);
+			verifier.initVerify((PublicKey) publicKey);
+			verifier.update(data);
+			if (!verifier.verify(signature)) {
+				throw new IllegalArgumentException("개인 키와 공개 키가 일치하지 않습니다");
+			}
+		} catch (GeneralSecurityException e) {
+			throw new IllegalArgumentException("개인 키와 공개 키를 확인할 수 없습니다", e);
+		}
+	}
+
+	private static Key createKey(String secret) {
+		byte[] keyBytes = Decoders.BASE64.decode(secret);
+		if (keyBytes.length < MIN_KEY_LENGTH) {
+			throw new IllegalArgumentException("키는 " + MIN_KEY_LENGTH + " byte 이상이어야 합니다");
+		}
+		return Keys.hmacShaKeyFor(keyBytes);
+	}
+
+	private static Key createEcKey(KeySpec keySpec) {
+		Key key;
+		try {
+			KeyFactory keyFactory = KeyFactory.getInstance("EC");
+			key = keySpec instanceof PKCS8EncodedKeySpec
+				? keyFactory.generatePrivate(keySpec) : keyFactory.generatePublic(keySpec);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalArgumentException("EC 키 형식이 올바르지 않습니다", e);
+		}
+		if (((ECKey) key).getParams().getCurve().getField().getFieldSize() != ES256_FIELD_SIZE) {
+			throw new IllegalArgumentException("ES256 은 P-256 키가 필요합니다");
+		}
+		return key;
+	}
+}
@@ -0,0 +1,18 @@
+package kdk.jwttutorial.security.jwt.key;
+
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * 키 파일을 다시 읽어 이전 KeyRing 에 있던 kid 가 삭제되었을 때 발행한다. 검증 결과를 캐시하는 쪽에서 캐시를 비워 삭제된 키로
+ * 서명한 토큰이 더 이상 인증되지 않도록 한다.
+ */
+@Getter
+public class KeysRemovedEvent {
+
+	private final Set<String> kids;
+
+	public KeysRemovedEvent(Set<String> kids) {
+		this.kids = Set.copyOf(kids);
+	}
+}
@@ -0,0 +1,65 @@
+package kdk.jwttutorial.security.jwt.opaque;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.TokenVerification;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import kdk.jwttutorial.security.jwt.codec.TokenClaims;
+import kdk.jwttutorial.security.jwt.codec.TokenCodec;
+
+/**
+ * claim 을 OpaqueTokenStore 에 보관하고 opaque 토큰을 발급한다. 검증은 opaque 토큰이면 저장소 조회 한 번으로 끝내고, 그 외에는
+ * 이미 발급한 JWT 로 보고 jwt codec 에 맡긴다.
+ */
+public class OpaqueTokenCodec implements TokenCodec, MeterBinder {
+
+	private static final TokenVerification INVALID =
+		TokenVerification.failure(ErrorCode.INVALID_TOKEN);
+	private static final TokenVerification EXPIRED =
+		TokenVerification.failure(ErrorCode.EXPIRED_TOKEN);
+
+	private final TokenCodec jwtCodec;
+	private final OpaqueTokenStore opaqueTokenStore;
+
+	public OpaqueTokenCodec(TokenCodec jwtCodec, OpaqueTokenStore opaqueTokenStore) {
+		this.jwtCodec = jwtCodec;
+		this.opaqueTokenStore = opaqueTokenStore;
+	}
+
+	@Override
+	public String encode(TokenClaims claims) {
+		return opaqueTokenStore.issue(VerifiedToken.builder()
+			.subject(claims.getSubject())
+			.type(claims.getType())
+			.authorities(claims.getAuthorities())
+			.refreshAuthorities(claims.getRefreshAuthorities())
+			.authorityVersion(claims.getAuthorityVersion())
+			.issuedAt(claims.getIssuedAt())
+			.expiration(claims.getExpiration())
+			.id(claims.getId())
+			.build());
+	}
+
+	@Override
+	public TokenVerification decode(String token) {
+		if (!OpaqueTokenStore.isOpaque(token)) {
+			return jwtCodec.decode(token);
+		}
+		TokenVerification verification = opaqueTokenStore.get(token);
+		if (verification == null) {
+			return INVALID;
+		}
+		if (verification.getVerifiedToken().getExpiration() <= System.currentTimeMillis()) {
+			return EXPIRED;
+		}
+		return verification;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		if (jwtCodec instanceof MeterBinder) {
+			((MeterBinder) jwtCodec).bindTo(registry);
+		}
+	}
+}
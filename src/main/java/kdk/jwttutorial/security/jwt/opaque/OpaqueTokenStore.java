@@ -0,0 +1,155 @@
+package kdk.jwttutorial.security.jwt.opaque;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import kdk.jwttutorial.security.jwt.TokenVerification;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * opaque 토큰과 claim 의 관계를 메모리에 보관한다. 토큰 hash 로 나눈 shard 별 lock 으로 보호하므로 검증은 shard 하나의 hash
+ * 조회 한 번이며, 검증 결과(TokenVerification)를 그대로 보관하여 조회할 때 객체를 만들지 않는다.
+ * <p>
+ * 만료된 토큰은 prune-interval-ms 마다 정리한다. shard 가 가득 차면 가장 먼저 발급한 토큰을 만료 전이라도 지우므로, 동시에 유효한
+ * 토큰 수보다 max-entries 를 크게 설정한다. 서버를 재시작하면 모든 opaque 토큰이 무효가 된다.
+ */
+@Component
+@Log4j2
+public class OpaqueTokenStore implements MeterBinder {
+
+	// 24 byte(192 bit) random 을 base64url 로 인코딩한 32자, JWT 와 달리 '.' 이 없다
+	static final int TOKEN_BYTES = 24;
+	static final int TOKEN_LENGTH = 32;
+
+	private final SecureRandom random = new SecureRandom();
+	private final Shard[] shards;
+	private final int shardMask;
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+
+	public OpaqueTokenStore(@Value("${jwt.opaque.max-entries:1000000}") int maxEntries,
+		@Value("${jwt.opaque.shards:64}") int shardCount) {
+		if (maxEntries < 1 || shardCount < 1) {
+			throw new IllegalArgumentException(
+				"maxEntries: " + maxEntries + ", shards: " + shardCount);
+		}
+		// shard 수를 2의 거듭제곱으로 맞춰 나머지 연산 대신 mask 를 사용
+		int count = Integer.highestOneBit(Math.min(shardCount, maxEntries));
+		int shardCapacity = Math.max(1, maxEntries / count);
+		this.shards = new Shard[count];
+		for (int i = 0; i < count; i++) {
+			shards[i] = new Shard(shardCapacity, evictions);
+		}
+		this.shardMask = count - 1;
+	}
+
+	public static boolean isOpaque(String token) {
+		return token != null && token.length() == TOKEN_LENGTH && token.indexOf('.') < 0;
+	}
+
+	// 추측할 수 없도록 SecureRandom 으로 만든 토큰을 발급
+	public String issue(VerifiedToken verifiedToken) {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		random.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		Shard shard = shard(token);
+		synchronized (shard) {
+			shard.entries.put(token, TokenVerification.success(verifiedToken));
+		}
+		return token;
+	}
+
+	/**
+	 * @return 발급하지 않았거나 정리된 토큰이면 null, 만료되었지만 아직 정리되지 않은 토큰은 그대로 반환
+	 */
+	public TokenVerification get(String token) {
+		Shard shard = shard(token);
+		synchronized (shard) {
+			return shard.entries.get(token);
+		}
+	}
+
+	public void remove(String token) {
+		Shard shard = shard(token);
+		synchronized (shard) {
+			shard.entries.remove(token);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.opaque.prune-interval-ms:60000}")
+	public void prune() {
+		long now = System.currentTimeMillis();
+		int pruned = 0;
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				Iterator<TokenVerification> iterator = shard.entries.values().iterator();
+				while (iterator.hasNext()) {
+					if (iterator.next().getVerifiedToken().getExpiration() <= now) {
+						iterator.remove();
+						pruned++;
+					}
+				}
+			}
+		}
+		expirations.add(pruned);
+		if (pruned > 0) {
+			log.debug("만료된 opaque 토큰을 정리했습니다, 정리: {}", pruned);
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				size += shard.entries.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("jwt.opaque.tokens", this, OpaqueTokenStore::size)
+			.register(registry);
+		FunctionCounter.builder("jwt.opaque.evicted", evictions, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("jwt.opaque.expired", expirations, LongAdder::sum)
+			.register(registry);
+	}
+
+	// 문자열 hashCode 의 상위 bit 를 하위 bit 에 섞어 shard 에 고르게 나눈다
+	private Shard shard(String token) {
+		int hash = token.hashCode();
+		return shards[(hash ^ (hash >>> 16)) & shardMask];
+	}
+
+	private static final class Shard {
+
+		// 발급 순서, 가득 차면 가장 오래된 토큰부터 지운다
+		private final Map<String, TokenVerification> entries;
+
+		private Shard(int capacity, LongAdder evictions) {
+			this.entries = new LinkedHashMap<>() {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, TokenVerification> eldest) {
+					if (size() <= capacity) {
+						return false;
+					}
+					evictions.increment();
+					return true;
+				}
+			};
+		}
+	}
+}
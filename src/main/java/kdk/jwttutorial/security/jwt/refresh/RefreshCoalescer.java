@@ -0,0 +1,183 @@
+package kdk.jwttutorial.security.jwt.refresh;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 같은 리프레시 토큰으로 동시에 들어온 재발급 요청을 한 번만 처리한다(single-flight). 먼저 온 요청이 검증, 교체, 서명을
+ * 수행하고, 처리 중이거나 window 안에 끝난 결과는 같은 토큰으로 온 다른 요청이 그대로 받는다. 리프레시 토큰은 교체되므로
+ * 병렬 요청이 각자 재발급하면 두 번째 요청부터 재사용으로 판단되어 family 가 폐기된다.
+ * <p>
+ * 처리 중인 요청 표는 토큰 hash 로 나눈 stripe 별 lock 으로 보호하며, stripe 마다 보관 개수가 정해져 있다. 가득 차면 window 가
+ * 지난 결과부터 비우고, 그래도 자리가 없으면 합치지 않고 바로 처리한다. 실패한 결과는 보관하지 않는다.
+ */
+@Component
+public class RefreshCoalescer implements MeterBinder {
+
+	private final Stripe[] stripes;
+	private final int stripeMask;
+	private final int stripeCapacity;
+	private final long windowNanos;
+	private final LongSupplier nanoTime;
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder bypassed = new LongAdder();
+
+	@Autowired
+	public RefreshCoalescer(@Value("${jwt.refresh.coalescing.window-ms:2000}") long windowMillis,
+		@Value("${jwt.refresh.coalescing.max-entries:4096}") int maxEntries,
+		@Value("${jwt.refresh.coalescing.stripes:16}") int stripeCount) {
+		this(windowMillis, maxEntries, stripeCount, System::nanoTime);
+	}
+
+	RefreshCoalescer(long windowMillis, int maxEntries, int stripeCount, LongSupplier nanoTime) {
+		if (windowMillis < 0 || maxEntries < 1 || stripeCount < 1) {
+			throw new IllegalArgumentException("windowMillis: " + windowMillis + ", maxEntries: "
+				+ maxEntries + ", stripes: " + stripeCount);
+		}
+		// stripe 수를 2의 거듭제곱으로 맞춰 나머지 연산 대신 mask 를 사용
+		int count = Integer.highestOneBit(Math.min(stripeCount, maxEntries));
+		this.stripes = new Stripe[count];
+		for (int i = 0; i < count; i++) {
+			stripes[i] = new Stripe();
+		}
+		this.stripeMask = count - 1;
+		this.stripeCapacity = Math.max(1, maxEntries / count);
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+		this.nanoTime = nanoTime;
+	}
+
+	/**
+	 * 같은 refreshToken 으로 처리 중이거나 window 안에 성공한 결과가 있으면 그 결과를, 없으면 refresher 로 처리한 결과를
+	 * 반환한다. 처리 중인 요청을 기다린 경우 그 요청이 던진 예외를 같이 던진다.
+	 */
+	public TokenDto refresh(String refreshToken, Supplier<TokenDto> refresher) {
+		Stripe stripe = stripes[spread(refreshToken.hashCode()) & stripeMask];
+		CompletableFuture<TokenDto> future;
+		Entry entry;
+		synchronized (stripe) {
+			long now = nanoTime.getAsLong();
+			Entry existing = stripe.entries.get(refreshToken);
+			if (existing != null && existing.isShareable(now, windowNanos)) {
+				future = existing.future;
+				entry = null;
+			} else {
+				if (existing != null) {
+					stripe.entries.remove(refreshToken);
+				}
+				if (stripe.entries.size() >= stripeCapacity) {
+					stripe.removeExpired(now, windowNanos);
+				}
+				if (stripe.entries.size() >= stripeCapacity) {
+					bypassed.increment();
+					return refresher.get();
+				}
+				entry = new Entry();
+				stripe.entries.put(refreshToken, entry);
+				future = entry.future;
+			}
+		}
+		if (entry == null) {
+			coalesced.increment();
+			return join(future);
+		}
+
+		try {
+			TokenDto tokenDto = refresher.get();
+			synchronized (stripe) {
+				entry.completed = true;
+				entry.completedAt = nanoTime.getAsLong();
+			}
+			entry.future.complete(tokenDto);
+			return tokenDto;
+		} catch (RuntimeException | Error e) {
+			synchronized (stripe) {
+				stripe.entries.remove(refreshToken, entry);
+			}
+			entry.future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.entries.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("jwt.refresh.coalesced", coalesced, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("jwt.refresh.coalescing.bypassed", bypassed, LongAdder::sum)
+			.register(registry);
+	}
+
+	private static TokenDto join(CompletableFuture<TokenDto> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	// 문자열 hashCode 의 상위 bit 를 하위 bit 에 섞어 stripe 에 고르게 나눈다
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private static final class Stripe {
+
+		// 등록 순서, 오래된 항목부터 비운다
+		private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+		private void removeExpired(long now, long windowNanos) {
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().isExpired(now, windowNanos)) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		private final CompletableFuture<TokenDto> future = new CompletableFuture<>();
+		// stripe lock 안에서 읽고 씀
+		private boolean completed;
+		private long completedAt;
+
+		private boolean isShareable(long now, long windowNanos) {
+			return !completed || now - completedAt < windowNanos;
+		}
+
+		private boolean isExpired(long now, long windowNanos) {
+			return completed && now - completedAt >= windowNanos;
+		}
+	}
+}
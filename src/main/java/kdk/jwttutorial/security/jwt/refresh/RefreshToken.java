@@ -0,0 +1,52 @@
+package kdk.jwttutorial.security.jwt.refresh;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 발급한 리프레시 토큰. 토큰 원문 대신 SHA-256 hash 를 저장하며, 같은 로그인에서 재발급으로 이어진 토큰은 같은 family 에 속한다.
+ */
+@Entity
+@Table(name = "refresh_token", indexes = {
+	@Index(name = "idx_refresh_token_family", columnList = "family_id"),
+	@Index(name = "idx_refresh_token_subject", columnList = "subject")})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RefreshToken {
+
+	@Id
+	@Column(name = "token_hash", length = 43)
+	private String tokenHash;
+
+	@Column(name = "family_id", nullable = false, length = 22)
+	private String familyId;
+
+	@Column(nullable = false, length = 100)
+	private String subject;
+
+	@Column(name = "expires_at", nullable = false)
+	private long expiresAt;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 10)
+	private RefreshTokenStatus status;
+
+	@Builder
+	public RefreshToken(String tokenHash, String familyId, String subject, long expiresAt,
+		RefreshTokenStatus status) {
+		this.tokenHash = tokenHash;
+		this.familyId = familyId;
+		this.subject = subject;
+		this.expiresAt = expiresAt;
+		this.status = status;
+	}
+}
@@ -0,0 +1,30 @@
+package kdk.jwttutorial.security.jwt.refresh;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+	// 상태가 from 일 때만 바꾸므로, 같은 토큰으로 동시에 재발급하면 한 요청만 성공
+	@Modifying(clearAutomatically = true)
+	@Query("update RefreshToken t set t.status = :to "
+		+ "where t.tokenHash = :tokenHash and t.status = :from")
+	int updateStatus(@Param("tokenHash") String tokenHash, @Param("from") RefreshTokenStatus from,
+		@Param("to") RefreshTokenStatus to);
+
+	@Modifying(clearAutomatically = true)
+	@Query("update RefreshToken t set t.status = :status where t.familyId = :familyId")
+	int updateFamilyStatus(@Param("familyId") String familyId,
+		@Param("status") RefreshTokenStatus status);
+
+	@Modifying(clearAutomatically = true)
+	@Query("update RefreshToken t set t.status = :status where t.subject = :subject")
+	int updateSubjectStatus(@Param("subject") String subject,
+		@Param("status") RefreshTokenStatus status);
+
+	@Modifying(clearAutomatically = true)
+	@Query("delete from RefreshToken t where t.expiresAt < :now")
+	int deleteAllExpiredBefore(@Param("now") long now);
+}
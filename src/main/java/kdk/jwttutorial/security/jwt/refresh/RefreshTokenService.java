@@ -0,0 +1,180 @@
+package kdk.jwttutorial.security.jwt.refresh;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.EnumToken;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.security.jwt.exception.InvalidTokenException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 리프레시 토큰을 재발급할 때마다 새 리프레시 토큰으로 교체(rotation)한다. 로그인에서 시작한 토큰들은 하나의 family 를 이루며,
+ * 이미 교체된 토큰이 다시 사용되면 탈취된 것으로 보고 family 전체를 폐기한다.
+ * <p>
+ * 토큰 hash 와 family 의 관계는 바뀌지 않으므로 메모리에 캐시하고, 상태는 DB 의 조건부 update 한 번으로 바꾼다. 재발급은 PK 로
+ * update 한 번과 insert 한 번만 수행하며 조회 쿼리는 캐시 miss 일 때만 실행한다.
+ */
+@Service
+@Log4j2
+public class RefreshTokenService implements MeterBinder {
+
+	private static final String CACHE_NAME = "refreshTokenFamily";
+
+	private final RefreshTokenRepository refreshTokenRepository;
+	private final long refreshTokenValidityInMilliseconds;
+	// 이 시각(epoch ms) 전에 발급한 리프레시 토큰만 rotation 도입 전 토큰으로 보고 편입
+	private final long legacyIssuedBefore;
+	// 토큰 hash -> family id
+	private final Cache<String, String> familyIds;
+	private final LongAdder rotations = new LongAdder();
+	private final LongAdder reuseDetections = new LongAdder();
+
+	public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+		@Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidityInSeconds,
+		@Value("${jwt.refresh.cache.max-size:100000}") long cacheMaximumSize,
+		@Value("${jwt.refresh.legacy-issued-before:0}") long legacyIssuedBefore) {
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.refreshTokenValidityInMilliseconds = refreshTokenValidityInSeconds * 1000;
+		this.legacyIssuedBefore = legacyIssuedBefore;
+		this.familyIds = Caffeine.newBuilder()
+			.maximumSize(cacheMaximumSize)
+			.expireAfterWrite(Duration.ofSeconds(refreshTokenValidityInSeconds))
+			.recordStats()
+			.build();
+	}
+
+	// 로그인으로 발급한 리프레시 토큰으로 새 family 를 시작
+	@Transactional
+	public void register(String refreshToken, String subject) {
+		save(hash(refreshToken), createFamilyId(), subject, RefreshTokenStatus.ACTIVE);
+	}
+
+	/**
+	 * 서명과 만료를 검증한 리프레시 토큰을 교체하고 tokenIssuer 로 발급한 새 토큰 쌍을 반환한다. 재사용을 감지하여 family 를
+	 * 폐기한 결과는 예외를 던져도 commit 한다.
+	 */
+	@Transactional(noRollbackFor = InvalidTokenException.class)
+	public TokenDto rotate(String refreshToken, VerifiedToken verifiedToken,
+		Supplier<TokenDto> tokenIssuer) {
+		String subject = verifiedToken.getSubject();
+		String tokenHash = hash(refreshToken);
+		String familyId = familyIds.get(tokenHash, hash -> refreshTokenRepository.findById(hash)
+			.map(RefreshToken::getFamilyId)
+			.orElse(null));
+		if (familyId == null) {
+			// 기록이 없는 토큰 중 rotation 도입 전에 발급한 토큰만 새 family 로 편입하고 교체된 것으로 기록
+			if (!isLegacy(verifiedToken)) {
+				log.warn("기록이 없는 리프레시 토큰입니다, 사용자: {}", subject);
+				throw new InvalidTokenException(ErrorCode.INVALID_TOKEN);
+			}
+			familyId = createFamilyId();
+			save(tokenHash, familyId, subject, RefreshTokenStatus.ROTATED);
+		} else if (refreshTokenRepository.updateStatus(tokenHash, RefreshTokenStatus.ACTIVE,
+			RefreshTokenStatus.ROTATED) == 0) {
+			reuseDetections.increment();
+			int revoked = refreshTokenRepository.updateFamilyStatus(familyId,
+				RefreshTokenStatus.REVOKED);
+			log.warn("교체된 리프레시 토큰이 다시 사용되어 family 를 폐기했습니다, 사용자: {}, family: {}, 토큰: {}",
+				subject, familyId, revoked);
+			throw new InvalidTokenException(ErrorCode.REUSED_REFRESH_TOKEN);
+		}
+		rotations.increment();
+
+		TokenDto tokenDto = tokenIssuer.get();
+		save(hash(tokenDto.getRefreshToken()), familyId, subject, RefreshTokenStatus.ACTIVE);
+		return tokenDto;
+	}
+
+	// 로그아웃, 이 토큰이 속한 family 의 토큰을 더 이상 재발급에 사용할 수 없음
+	@Transactional
+	public void revoke(String refreshToken) {
+		String tokenHash = hash(refreshToken);
+		String familyId = familyIds.get(tokenHash, hash -> refreshTokenRepository.findById(hash)
+			.map(RefreshToken::getFamilyId)
+			.orElse(null));
+		if (familyId != null) {
+			refreshTokenRepository.updateFamilyStatus(familyId, RefreshTokenStatus.REVOKED);
+		}
+	}
+
+	// 사용자의 모든 family 를 폐기
+	@Transactional
+	public void revokeAll(String subject) {
+		refreshTokenRepository.updateSubjectStatus(subject, RefreshTokenStatus.REVOKED);
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.refresh.prune-interval-ms:600000}")
+	@Transactional
+	public void prune() {
+		int deleted = refreshTokenRepository.deleteAllExpiredBefore(System.currentTimeMillis());
+		if (deleted > 0) {
+			log.debug("만료된 리프레시 토큰을 정리했습니다, 정리: {}", deleted);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, familyIds, CACHE_NAME);
+		FunctionCounter.builder("jwt.refresh.rotations", rotations, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("jwt.refresh.reuse.detected", reuseDetections, LongAdder::sum)
+			.register(registry);
+	}
+
+	// rotation 도입 전 토큰은 jti 가 없거나 legacyIssuedBefore 전에 발급됨
+	private boolean isLegacy(VerifiedToken verifiedToken) {
+		return verifiedToken.getType() == EnumToken.REFRESH
+			&& (verifiedToken.getId() == null || verifiedToken.getIssuedAt() < legacyIssuedBefore);
+	}
+
+	private void save(String tokenHash, String familyId, String subject,
+		RefreshTokenStatus status) {
+		refreshTokenRepository.save(RefreshToken.builder()
+			.tokenHash(tokenHash)
+			.familyId(familyId)
+			.subject(subject)
+			.expiresAt(System.currentTimeMillis() + refreshTokenValidityInMilliseconds)
+			.status(status)
+			.build());
+		familyIds.put(tokenHash, familyId);
+	}
+
+	// DB 에는 토큰 원문 대신 SHA-256 을 base64url 로 인코딩하여 저장
+	static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+				.digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String createFamilyId() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		byte[] id = ByteBuffer.allocate(16)
+			.putLong(random.nextLong())
+			.putLong(random.nextLong())
+			.array();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+	}
+}
@@ -0,0 +1,9 @@
+package kdk.jwttutorial.security.jwt.refresh;
+
+public enum RefreshTokenStatus {
+	// 재발급에 사용할 수 있는 family 의 마지막 토큰
+	ACTIVE,
+	// 재발급에 이미 사용한 토큰, 다시 사용되면 탈취로 보고 family 전체를 폐기
+	ROTATED,
+	REVOKED
+}
@@ -0,0 +1,87 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열(jti) Bloom filter. 조회는 lock 없이 bit 만 읽고, 추가는 CAS 로 bit 를 켠다. 삭제는 지원하지 않으므로 만료된
+ * 항목을 정리할 때는 새로 만든다.
+ */
+final class BloomFilter {
+
+	private static final int MAX_BIT_COUNT = 1 << 30;
+	private static final int MAX_HASH_COUNT = 16;
+
+	private final AtomicLongArray words;
+	private final int bitMask;
+	private final int hashCount;
+	private final long capacity;
+
+	/**
+	 * @param capacity                 이 개수까지 추가해도 오탐률이 falsePositiveProbability 이하
+	 * @param falsePositiveProbability 오탐률
+	 */
+	BloomFilter(long capacity, double falsePositiveProbability) {
+		if (capacity < 1 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+			throw new IllegalArgumentException(
+				"capacity: " + capacity + ", falsePositiveProbability: " + falsePositiveProbability);
+		}
+		long optimalBits = (long) Math.ceil(
+			-capacity * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+		// bit 수를 2의 거듭제곱으로 맞춰 나머지 연산 대신 mask 를 사용
+		int bitCount = (int) Math.min(MAX_BIT_COUNT,
+			Math.max(Long.SIZE, Long.highestOneBit(Math.max(optimalBits - 1, 1)) << 1));
+		this.words = new AtomicLongArray(bitCount / Long.SIZE);
+		this.bitMask = bitCount - 1;
+		this.hashCount = (int) Math.min(MAX_HASH_COUNT,
+			Math.max(1, Math.round((double) bitCount / capacity * Math.log(2))));
+		this.capacity = capacity;
+	}
+
+	long getCapacity() {
+		return capacity;
+	}
+
+	void put(String value) {
+		long hash = hash(value);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashCount; i++) {
+			int index = (hash1 + i * hash2) & bitMask;
+			int word = index >>> 6;
+			long bit = 1L << index;
+			long current;
+			while (((current = words.get(word)) & bit) == 0
+				&& !words.compareAndSet(word, current, current | bit)) {
+				// 다른 스레드가 같은 word 를 바꾼 경우 다시 시도
+			}
+		}
+	}
+
+	boolean mightContain(String value) {
+		long hash = hash(value);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashCount; i++) {
+			int index = (hash1 + i * hash2) & bitMask;
+			if ((words.get(index >>> 6) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// FNV-1a 64 bit 후 MurmurHash3 fmix64 로 bit 를 섞는다
+	private static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,283 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 같은 서버의 여러 프로세스가 함께 쓰는 append-only 폐기 로그. 파일을 memory-map 하므로 다른 프로세스가 추가한 레코드를 read
+ * 호출이나 DB 조회 없이 page cache 에서 바로 읽는다.
+ * <p>
+ * 파일은 64 byte header 뒤에 8 byte 단위로 정렬한 레코드가 이어진다.
+ * <pre>
+ * header: magic(int) version(int) end(long, 마지막 레코드의 끝) superseded(long, 압축으로 교체되면 1)
+ * record: length(int) type(byte) 0(byte) keyLength(short) value(long) key(UTF-8)
+ * </pre>
+ * 추가는 파일 lock 안에서 레코드를 쓴 뒤 end 를 release 쓰기로 늘리고, 읽는 쪽은 end 를 acquire 로 읽어 그 앞까지만 읽는다.
+ * 압축은 살아있는 레코드만 새 파일에 쓰고 rename 으로 교체한 뒤 이전 파일에 superseded 를 표시한다. 표시를 본 프로세스는 새
+ * 파일을 처음부터 다시 읽는다. 같은 레코드를 다시 반영해도 결과가 같으므로 중복은 문제 되지 않는다.
+ * <p>
+ * 파일 크기는 처음 만들 때 정해지고, 이미 있는 파일은 그 크기 그대로 사용한다.
+ */
+final class RevocationLog implements Closeable {
+
+	static final byte TOKEN = 1;
+	static final byte WATERMARK = 2;
+
+	// "JRVL"
+	private static final int MAGIC = 0x4a52564c;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 64;
+	private static final int END_OFFSET = 8;
+	private static final int SUPERSEDED_OFFSET = 16;
+	private static final int RECORD_HEADER_SIZE = 16;
+	private static final int MAX_KEY_LENGTH = Short.MAX_VALUE;
+	private static final VarHandle LONG_VIEW =
+		MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+	@FunctionalInterface
+	interface RecordHandler {
+
+		void accept(byte type, String key, long value);
+	}
+
+	@FunctionalInterface
+	interface RecordFilter {
+
+		boolean isLive(byte type, long value);
+	}
+
+	private final Path path;
+	private final int initialSize;
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	// 이 프로세스가 다음에 읽을 레코드 위치
+	private int position;
+
+	private RevocationLog(Path path, int initialSize) {
+		this.path = path;
+		this.initialSize = initialSize;
+	}
+
+	static RevocationLog open(Path path, int initialSize) throws IOException {
+		if (initialSize < HEADER_SIZE * 2) {
+			throw new IllegalArgumentException("initialSize: " + initialSize);
+		}
+		RevocationLog revocationLog = new RevocationLog(path, initialSize);
+		revocationLog.map();
+		return revocationLog;
+	}
+
+	/**
+	 * @return 파일이 가득 차 추가하지 못하면 false
+	 */
+	synchronized boolean append(byte type, String key, long value) throws IOException {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		if (keyBytes.length > MAX_KEY_LENGTH) {
+			throw new IllegalArgumentException("key length: " + keyBytes.length);
+		}
+		int length = align(RECORD_HEADER_SIZE + keyBytes.length);
+		while (true) {
+			try (FileLock ignored = channel.lock()) {
+				if (!isSuperseded()) {
+					long end = (long) LONG_VIEW.getAcquire(buffer, END_OFFSET);
+					if (end + length > buffer.capacity()) {
+						return false;
+					}
+					writeRecord(buffer, (int) end, length, type, keyBytes, value);
+					LONG_VIEW.setRelease(buffer, END_OFFSET, end + length);
+					return true;
+				}
+			}
+			remap();
+		}
+	}
+
+	// 마지막으로 읽은 위치 이후에 추가된 레코드를 순서대로 전달
+	synchronized void poll(RecordHandler handler) throws IOException {
+		if (isSuperseded()) {
+			remap();
+		}
+		long end = (long) LONG_VIEW.getAcquire(buffer, END_OFFSET);
+		while (position < end) {
+			int length = recordLength(position);
+			handler.accept(buffer.get(position + 4), readKey(position),
+				buffer.getLong(position + 8));
+			position += length;
+		}
+	}
+
+	/**
+	 * key 별로 가장 큰 value 하나만 남기고, filter 를 통과하지 못한 레코드는 버린 새 파일로 교체한다. 교체한 파일은 다음
+	 * {@link #poll(RecordHandler)} 에서 처음부터 다시 읽는다.
+	 */
+	synchronized void compact(RecordFilter filter) throws IOException {
+		while (true) {
+			FileChannel previousChannel = channel;
+			try (FileLock ignored = previousChannel.lock()) {
+				if (!isSuperseded()) {
+					replace(filter);
+				}
+			}
+			if (previousChannel != channel) {
+				previousChannel.close();
+				return;
+			}
+			remap();
+		}
+	}
+
+	synchronized long usedBytes() {
+		return (long) LONG_VIEW.getAcquire(buffer, END_OFFSET);
+	}
+
+	synchronized int capacity() {
+		return buffer.capacity();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+
+	// 파일 lock 안에서 호출
+	private void replace(RecordFilter filter) throws IOException {
+		Map<String, Long> tokens = new LinkedHashMap<>();
+		Map<String, Long> watermarks = new LinkedHashMap<>();
+		long end = (long) LONG_VIEW.getAcquire(buffer, END_OFFSET);
+		for (int offset = HEADER_SIZE; offset < end; offset += recordLength(offset)) {
+			byte type = buffer.get(offset + 4);
+			if (type == TOKEN) {
+				tokens.merge(readKey(offset), buffer.getLong(offset + 8), Math::max);
+			} else if (type == WATERMARK) {
+				watermarks.merge(readKey(offset), buffer.getLong(offset + 8), Math::max);
+			}
+		}
+
+		Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+		Files.deleteIfExists(compacted);
+		FileChannel compactedChannel = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW,
+			StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			MappedByteBuffer compactedBuffer =
+				compactedChannel.map(MapMode.READ_WRITE, 0, buffer.capacity());
+			initialize(compactedBuffer);
+			int compactedEnd = HEADER_SIZE;
+			compactedEnd = writeLive(compactedBuffer, compactedEnd, TOKEN, tokens, filter);
+			compactedEnd = writeLive(compactedBuffer, compactedEnd, WATERMARK, watermarks, filter);
+			LONG_VIEW.setRelease(compactedBuffer, END_OFFSET, (long) compactedEnd);
+			compactedBuffer.force();
+			Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE);
+
+			LONG_VIEW.setRelease(buffer, SUPERSEDED_OFFSET, 1L);
+			channel = compactedChannel;
+			buffer = compactedBuffer;
+			position = HEADER_SIZE;
+		} catch (IOException | RuntimeException e) {
+			compactedChannel.close();
+			Files.deleteIfExists(compacted);
+			throw e;
+		}
+	}
+
+	private static int writeLive(ByteBuffer target, int offset, byte type,
+		Map<String, Long> records, RecordFilter filter) {
+		for (Map.Entry<String, Long> record : records.entrySet()) {
+			if (filter.isLive(type, record.getValue())) {
+				byte[] keyBytes = record.getKey().getBytes(StandardCharsets.UTF_8);
+				int length = align(RECORD_HEADER_SIZE + keyBytes.length);
+				writeRecord(target, offset, length, type, keyBytes, record.getValue());
+				offset += length;
+			}
+		}
+		return offset;
+	}
+
+	// 다른 프로세스가 압축하여 교체한 파일을 다시 열고 처음부터 읽음
+	private void remap() throws IOException {
+		channel.close();
+		map();
+	}
+
+	private void map() throws IOException {
+		while (true) {
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+			try (FileLock ignored = channel.lock()) {
+				long size = channel.size();
+				buffer = channel.map(MapMode.READ_WRITE, 0, size == 0 ? initialSize : size);
+				if (size == 0) {
+					initialize(buffer);
+				} else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+					throw new IOException("폐기 로그 형식이 아닙니다: " + path);
+				}
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+			position = HEADER_SIZE;
+			if (!isSuperseded()) {
+				return;
+			}
+			// 열고 lock 을 잡는 사이 다른 프로세스가 압축하여 교체함
+			channel.close();
+		}
+	}
+
+	private boolean isSuperseded() {
+		return (long) LONG_VIEW.getAcquire(buffer, SUPERSEDED_OFFSET) != 0;
+	}
+
+	private int recordLength(int offset) throws IOException {
+		int length = buffer.getInt(offset);
+		if (length < RECORD_HEADER_SIZE || (length & 7) != 0) {
+			throw new IOException("폐기 로그가 손상되었습니다: " + path + ", offset: " + offset);
+		}
+		return length;
+	}
+
+	private String readKey(int offset) {
+		byte[] keyBytes = new byte[buffer.getShort(offset + 6)];
+		ByteBuffer source = buffer.duplicate();
+		source.position(offset + RECORD_HEADER_SIZE);
+		source.get(keyBytes);
+		return new String(keyBytes, StandardCharsets.UTF_8);
+	}
+
+	private static void initialize(ByteBuffer target) {
+		target.putInt(0, MAGIC);
+		target.putInt(4, VERSION);
+		LONG_VIEW.setRelease(target, SUPERSEDED_OFFSET, 0L);
+		LONG_VIEW.setRelease(target, END_OFFSET, (long) HEADER_SIZE);
+	}
+
+	private static void writeRecord(ByteBuffer target, int offset, int length, byte type,
+		byte[] keyBytes, long value) {
+		target.putInt(offset, length);
+		target.put(offset + 4, type);
+		target.put(offset + 5, (byte) 0);
+		target.putShort(offset + 6, (short) keyBytes.length);
+		target.putLong(offset + 8, value);
+		ByteBuffer keyTarget = target.duplicate();
+		keyTarget.position(offset + RECORD_HEADER_SIZE);
+		keyTarget.put(keyBytes);
+	}
+
+	private static int align(int length) {
+		return (length + 7) & ~7;
+	}
+}
@@ -0,0 +1,274 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import kdk.jwttutorial.invalidation.InvalidationBroadcaster;
+import kdk.jwttutorial.invalidation.InvalidationEvent;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 만료 전에 폐기한 토큰의 jti 를 토큰 만료 시각까지 보관한다.
+ * <p>
+ * 모든 요청에서 확인하므로 Bloom filter 를 먼저 조회하고, filter 에 있을 수도 있는 경우에만 정확한 목록을 조회한다. 조회는
+ * lock 을 사용하지 않는다. 폐기와 정리는 드물게 일어나므로 lock 안에서 수행하며, 정리할 때 만료된 jti 를 지우고 filter 를 새로
+ * 만든다. 정확한 목록에 먼저 넣은 뒤 filter 에 넣으므로, filter 에서 찾은 jti 는 목록에서도 찾을 수 있다.
+ * <p>
+ * 사용자의 토큰을 한 번에 폐기할 때는 subject 별 기준 시각(watermark)을 두고, 그 전에 발급(iat)한 토큰을 폐기한 것으로 본다. 요청마다
+ * map 조회 한 번으로 확인하며, 저장과 재시작 후 복구는 {@link TokenWatermarkService} 가 맡는다.
+ * <p>
+ * jwt.revocation.log.path 를 지정하면 폐기한 jti 와 기준 시각을 {@link RevocationLog} 에도 기록하여 같은 서버의 다른 프로세스와
+ * 공유한다. 시작할 때 로그를 모두 읽으므로 재시작하거나 새로 띄운 프로세스도 DB 조회 없이 바로 폐기 상태를 갖고, 이후에는 다른
+ * 프로세스가 추가한 레코드를 주기적으로 읽어 반영한다. 로그에 쓰지 못하면 이 프로세스에만 반영한다.
+ * <p>
+ * 다른 서버에는 {@link InvalidationBroadcaster} 로 알리고, 다른 서버에서 받은 폐기는 로그에 기록하지 않고 반영만 한다.
+ */
+@Component
+@Log4j2
+public class TokenRevocationStore implements MeterBinder, DisposableBean {
+
+	private final long expectedTokens;
+	private final double falsePositiveProbability;
+	private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+	private final Map<String, Long> watermarks = new ConcurrentHashMap<>();
+	private final LongAdder filterHits = new LongAdder();
+	private final LongAdder falsePositives = new LongAdder();
+	// 기준 시각은 리프레시 토큰 유효 기간만큼 로그에 남김
+	private final long watermarkRetentionMillis;
+	private final RevocationLog revocationLog;
+	private final InvalidationBroadcaster invalidationBroadcaster;
+	private volatile BloomFilter filter;
+
+	public TokenRevocationStore(long expectedTokens, double falsePositiveProbability) {
+		this(expectedTokens, falsePositiveProbability, null, 0, null);
+	}
+
+	@Autowired
+	public TokenRevocationStore(InvalidationBroadcaster invalidationBroadcaster,
+		@Value("${jwt.revocation.expected-tokens}") long expectedTokens,
+		@Value("${jwt.revocation.false-positive-probability}") double falsePositiveProbability,
+		@Value("${jwt.revocation.log.path:}") String logPath,
+		@Value("${jwt.revocation.log.size-bytes:67108864}") int logSizeBytes,
+		@Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidityInSeconds) {
+		this(expectedTokens, falsePositiveProbability, openLog(logPath, logSizeBytes),
+			refreshTokenValidityInSeconds * 1000, invalidationBroadcaster);
+	}
+
+	TokenRevocationStore(long expectedTokens, double falsePositiveProbability,
+		RevocationLog revocationLog, long watermarkRetentionMillis,
+		InvalidationBroadcaster invalidationBroadcaster) {
+		this.expectedTokens = expectedTokens;
+		this.falsePositiveProbability = falsePositiveProbability;
+		this.filter = new BloomFilter(expectedTokens, falsePositiveProbability);
+		this.revocationLog = revocationLog;
+		this.watermarkRetentionMillis = watermarkRetentionMillis;
+		this.invalidationBroadcaster = invalidationBroadcaster;
+		pollLog();
+		if (invalidationBroadcaster != null) {
+			invalidationBroadcaster.subscribe(this::onInvalidation);
+		}
+	}
+
+	/**
+	 * @param tokenId         폐기할 토큰의 jti, null 이면(jti 도입 전 토큰) 무시
+	 * @param expiresAtMillis 토큰 만료 시각, 이후에는 보관하지 않는다
+	 */
+	public void revoke(String tokenId, long expiresAtMillis) {
+		if (applyRevoked(tokenId, expiresAtMillis)) {
+			appendToLog(RevocationLog.TOKEN, tokenId, expiresAtMillis);
+			broadcast(InvalidationEvent.tokenRevoked(tokenId, expiresAtMillis));
+		}
+	}
+
+	/**
+	 * @param subject             사용자 email
+	 * @param invalidBeforeMillis 이 시각 전에 발급한 토큰을 폐기, 기존 기준보다 이르면 무시
+	 */
+	public void invalidateBefore(String subject, long invalidBeforeMillis) {
+		applyWatermark(subject, invalidBeforeMillis);
+		appendToLog(RevocationLog.WATERMARK, subject, invalidBeforeMillis);
+		broadcast(InvalidationEvent.tokensInvalidated(subject, invalidBeforeMillis));
+	}
+
+	// 로그에 기록하지 않고 이 프로세스에만 반영, DB 나 로그에서 읽은 값을 반영할 때 사용
+	void applyWatermark(String subject, long invalidBeforeMillis) {
+		watermarks.merge(subject, invalidBeforeMillis, Math::max);
+	}
+
+	// 기준 시각 전에 발급한 토큰은 모두 만료되었으므로 더 이상 비교할 필요가 없음
+	public void removeWatermarksBefore(long thresholdMillis) {
+		watermarks.values().removeIf(invalidBeforeMillis -> invalidBeforeMillis < thresholdMillis);
+	}
+
+	public boolean isRevoked(VerifiedToken token) {
+		Long invalidBeforeMillis = watermarks.get(token.getSubject());
+		if (invalidBeforeMillis != null && token.getIssuedAt() < invalidBeforeMillis) {
+			return true;
+		}
+		return isRevoked(token.getId());
+	}
+
+	public boolean isRevoked(String tokenId) {
+		if (tokenId == null || !filter.mightContain(tokenId)) {
+			return false;
+		}
+		filterHits.increment();
+		if (!revokedTokens.containsKey(tokenId)) {
+			falsePositives.increment();
+			return false;
+		}
+		return true;
+	}
+
+	// 다른 프로세스가 로그에 추가한 레코드를 반영
+	@Scheduled(fixedDelayString = "${jwt.revocation.log.poll-interval-ms:500}")
+	public void pollLog() {
+		if (revocationLog == null) {
+			return;
+		}
+		try {
+			revocationLog.poll((type, key, value) -> {
+				if (type == RevocationLog.TOKEN) {
+					applyRevoked(key, value);
+				} else if (type == RevocationLog.WATERMARK) {
+					applyWatermark(key, value);
+				}
+			});
+		} catch (IOException e) {
+			log.warn("폐기 로그를 읽지 못했습니다", e);
+		}
+	}
+
+	// 만료된 jti 와 유효 기간이 지난 기준 시각을 로그에서 지움
+	@Scheduled(fixedDelayString = "${jwt.revocation.log.compact-interval-ms:600000}")
+	public void compactLog() {
+		if (revocationLog == null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		try {
+			revocationLog.compact((type, value) -> type == RevocationLog.TOKEN ? value > now
+				: value >= now - watermarkRetentionMillis);
+			log.debug("폐기 로그를 압축했습니다, 사용: {} / {} byte", revocationLog.usedBytes(),
+				revocationLog.capacity());
+		} catch (IOException e) {
+			log.warn("폐기 로그를 압축하지 못했습니다", e);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:60000}")
+	public synchronized void prune() {
+		long now = System.currentTimeMillis();
+		int before = revokedTokens.size();
+		revokedTokens.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+		if (revokedTokens.size() != before) {
+			rebuildFilter();
+			log.debug("만료된 폐기 토큰을 정리했습니다, 정리: {}, 남은 토큰: {}", before - revokedTokens.size(),
+				revokedTokens.size());
+		}
+	}
+
+	public int size() {
+		return revokedTokens.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("jwt.revocation.tokens", revokedTokens, Map::size)
+			.register(registry);
+		Gauge.builder("jwt.revocation.watermarks", watermarks, Map::size)
+			.register(registry);
+		FunctionCounter.builder("jwt.revocation.filter.hits", filterHits, LongAdder::sum)
+			.register(registry);
+		FunctionCounter.builder("jwt.revocation.filter.false.positives", falsePositives,
+				LongAdder::sum)
+			.register(registry);
+		if (revocationLog != null) {
+			Gauge.builder("jwt.revocation.log.used.bytes", revocationLog, RevocationLog::usedBytes)
+				.register(registry);
+		}
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		if (revocationLog != null) {
+			revocationLog.close();
+		}
+	}
+
+	// 로그 lock 을 잡은 채 이 lock 을 기다리는 경우가 있으므로, 이 lock 안에서는 로그를 사용하지 않음
+	private synchronized boolean applyRevoked(String tokenId, long expiresAtMillis) {
+		if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+			return false;
+		}
+		revokedTokens.merge(tokenId, expiresAtMillis, Math::max);
+		filter.put(tokenId);
+		if (revokedTokens.size() > filter.getCapacity()) {
+			rebuildFilter();
+		}
+		return true;
+	}
+
+	private void broadcast(InvalidationEvent event) {
+		if (invalidationBroadcaster != null) {
+			invalidationBroadcaster.publish(event);
+		}
+	}
+
+	private void onInvalidation(InvalidationEvent event) {
+		if (event.getType() == InvalidationEvent.Type.TOKEN_REVOKED) {
+			applyRevoked(event.getKey(), event.getValue());
+		} else if (event.getType() == InvalidationEvent.Type.TOKENS_INVALIDATED) {
+			applyWatermark(event.getKey(), event.getValue());
+		}
+	}
+
+	private void appendToLog(byte type, String key, long value) {
+		if (revocationLog == null) {
+			return;
+		}
+		try {
+			if (!revocationLog.append(type, key, value)) {
+				compactLog();
+				if (!revocationLog.append(type, key, value)) {
+					log.warn("폐기 로그가 가득 차 이 프로세스에만 반영했습니다, 크기: {} byte",
+						revocationLog.capacity());
+				}
+			}
+		} catch (IOException e) {
+			log.warn("폐기 로그에 쓰지 못해 이 프로세스에만 반영했습니다", e);
+		}
+	}
+
+	private static RevocationLog openLog(String logPath, int logSizeBytes) {
+		if (!StringUtils.hasText(logPath)) {
+			return null;
+		}
+		try {
+			return RevocationLog.open(Paths.get(logPath), logSizeBytes);
+		} catch (IOException e) {
+			throw new IllegalStateException("폐기 로그를 열 수 없습니다: " + logPath, e);
+		}
+	}
+
+	// lock 안에서만 호출, 목록이 늘어나면 capacity 를 두 배로 잡아 오탐률을 유지
+	private void rebuildFilter() {
+		BloomFilter rebuilt = new BloomFilter(
+			Math.max(expectedTokens, revokedTokens.size() * 2L), falsePositiveProbability);
+		revokedTokens.keySet().forEach(rebuilt::put);
+		filter = rebuilt;
+	}
+}
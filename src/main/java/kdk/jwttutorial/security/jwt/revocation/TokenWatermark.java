@@ -0,0 +1,36 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자(subject)별로 이 시각 전에 발급한 토큰을 모두 폐기한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TokenWatermark {
+
+	@Id
+	@Column(length = 100)
+	private String subject;
+
+	// epoch millis, 토큰 iat 와 비교
+	@Column(nullable = false)
+	private long invalidBefore;
+
+	@Builder
+	public TokenWatermark(String subject, long invalidBefore) {
+		this.subject = subject;
+		this.invalidBefore = invalidBefore;
+	}
+
+	public void raise(long invalidBefore) {
+		this.invalidBefore = Math.max(this.invalidBefore, invalidBefore);
+	}
+}
@@ -0,0 +1,14 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TokenWatermarkRepository extends JpaRepository<TokenWatermark, String> {
+
+	// 이 시각 전의 기준은 그 사이 발급한 토큰이 모두 만료되어 더 이상 필요 없음
+	@Modifying(clearAutomatically = true)
+	@Query("delete from TokenWatermark w where w.invalidBefore < :threshold")
+	int deleteAllInvalidBefore(@Param("threshold") long threshold);
+}
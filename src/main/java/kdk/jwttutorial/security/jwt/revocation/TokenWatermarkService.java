@@ -0,0 +1,68 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 사용자별 토큰 폐기 기준 시각을 DB 에 저장하고 {@link TokenRevocationStore} 에 반영한다. 시작할 때 저장된 기준을 모두 읽고,
+ * 주기적으로 다시 읽어 다른 서버에서 저장한 기준도 반영한다. 요청 처리 중에는 DB 를 조회하지 않는다.
+ * <p>
+ * 비밀번호 변경, 권한 회수, 계정 도용 등 사용자의 모든 토큰을 무효화해야 할 때 {@link #invalidateAll(String)} 을 호출한다.
+ */
+@Service
+@Log4j2
+public class TokenWatermarkService {
+
+	private final TokenWatermarkRepository tokenWatermarkRepository;
+	private final TokenRevocationStore tokenRevocationStore;
+	private final long refreshTokenValidityInMilliseconds;
+
+	public TokenWatermarkService(TokenWatermarkRepository tokenWatermarkRepository,
+		TokenRevocationStore tokenRevocationStore,
+		@Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidityInSeconds) {
+		this.tokenWatermarkRepository = tokenWatermarkRepository;
+		this.tokenRevocationStore = tokenRevocationStore;
+		this.refreshTokenValidityInMilliseconds = refreshTokenValidityInSeconds * 1000;
+		load();
+	}
+
+	/**
+	 * iat 는 초 단위이므로 현재 시각을 초 단위로 내려 기준으로 삼는다. 같은 초 안에 새로 발급한 토큰은 폐기되지 않는다.
+	 *
+	 * @return 기준 시각(epoch millis), 이 시각 전에 발급한 토큰을 폐기
+	 */
+	@Transactional
+	public long invalidateAll(String subject) {
+		long invalidBefore = System.currentTimeMillis() / 1000 * 1000;
+		TokenWatermark watermark = tokenWatermarkRepository.findById(subject)
+			.orElseGet(() -> tokenWatermarkRepository.save(TokenWatermark.builder()
+				.subject(subject)
+				.invalidBefore(invalidBefore)
+				.build()));
+		watermark.raise(invalidBefore);
+		tokenRevocationStore.invalidateBefore(subject, watermark.getInvalidBefore());
+		log.debug("'{}' 의 {} 전에 발급한 토큰을 모두 폐기했습니다", subject, watermark.getInvalidBefore());
+		return watermark.getInvalidBefore();
+	}
+
+	// 리프레시 토큰 유효 기간이 지난 기준은 지우고, 남은 기준을 다시 읽음
+	@Scheduled(fixedDelayString = "${jwt.revocation.watermark-sync-interval-ms:60000}")
+	@Transactional
+	public void synchronize() {
+		long threshold = System.currentTimeMillis() - refreshTokenValidityInMilliseconds;
+		int deleted = tokenWatermarkRepository.deleteAllInvalidBefore(threshold);
+		tokenRevocationStore.removeWatermarksBefore(threshold);
+		load();
+		if (deleted > 0) {
+			log.debug("만료된 토큰 폐기 기준을 정리했습니다, 정리: {}", deleted);
+		}
+	}
+
+	private void load() {
+		tokenWatermarkRepository.findAll().forEach(watermark -> tokenRevocationStore
+			.applyWatermark(watermark.getSubject(), watermark.getInvalidBefore()));
+	}
+}
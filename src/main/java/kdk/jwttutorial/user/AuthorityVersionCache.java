@@ -0,0 +1,55 @@
+package kdk.jwttutorial.user;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import kdk.jwttutorial.user.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * email 별 현재 권한 버전. 사용자 정보가 바뀌었다는 이벤트(다른 노드에서 바뀐 경우 포함)로만 무효화하므로, 권한이 바뀌지 않는 한
+ * 처음 한 번만 DB 에서 조회한다. 이벤트를 놓친 경우에 대비해 expire-seconds 가 지나면 다시 조회한다.
+ */
+@Component
+public class AuthorityVersionCache implements MeterBinder {
+
+	private static final String CACHE_NAME = "authorityVersion";
+
+	private final UserRepository userRepository;
+	private final LoadingCache<String, Optional<Long>> cache;
+
+	public AuthorityVersionCache(UserRepository userRepository,
+		@Value("${user.authority-version-cache.max-size:100000}") long maximumSize,
+		@Value("${user.authority-version-cache.expire-seconds:3600}") long expireSeconds) {
+		this.userRepository = userRepository;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(Duration.ofSeconds(expireSeconds))
+			.recordStats()
+			.build(this::load);
+	}
+
+	public Optional<Long> get(String email) {
+		return cache.get(email);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		cache.invalidate(event.getEmail());
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+	}
+
+	private Optional<Long> load(String email) {
+		return userRepository.findAuthorityVersionByEmail(email);
+	}
+}
@@ -1,5 +1,15 @@
 package kdk.jwttutorial.user;
 
+import lombok.Getter;
+
+@Getter
 public enum EnumAuthority {
-	ROLE_ADMIN, ROLE_USER
+	// mask 는 compact 토큰의 권한 bitmask claim 에 사용되므로 한 번 정한 값은 바꾸지 않는다
+	ROLE_ADMIN(1 << 1), ROLE_USER(1);
+
+	private final int mask;
+
+	EnumAuthority(int mask) {
+		this.mask = mask;
+	}
 }
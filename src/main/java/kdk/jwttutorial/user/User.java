@@ -1,6 +1,7 @@
 package kdk.jwttutorial.user;
 
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -42,6 +43,10 @@ public class User {
 			@JoinColumn(name = "authority_name", referencedColumnName = "authority_name")})
 	private Set<Authority> authorities;
 
+	// 권한이 바뀔 때마다 증가, 리프레시 토큰의 av claim 과 비교하여 재발급 시 사용자 조회 여부를 결정
+	@Column(name = "authority_version", nullable = false)
+	private long authorityVersion;
+
 	@Builder
 	public User(Long userId, String email, String password, String nickname,
 		Set<Authority> authorities) {
@@ -51,4 +56,20 @@ public class User {
 		this.nickname = nickname;
 		this.authorities = authorities;
 	}
+
+	/**
+	 * @return 권한이 실제로 바뀌어 권한 버전이 증가했으면 true
+	 */
+	public boolean changeAuthorities(Set<Authority> authorities) {
+		if (getAuthorityNames(this.authorities).equals(getAuthorityNames(authorities))) {
+			return false;
+		}
+		this.authorities = authorities;
+		this.authorityVersion++;
+		return true;
+	}
+
+	private static Set<String> getAuthorityNames(Set<Authority> authorities) {
+		return authorities.stream().map(Authority::getAuthorityName).collect(Collectors.toSet());
+	}
 }
\ No newline at end of file
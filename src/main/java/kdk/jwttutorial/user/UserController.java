@@ -1,7 +1,8 @@
 package kdk.jwttutorial.user;
 
+import java.util.concurrent.CompletableFuture;
 import javax.validation.Valid;
-import kdk.jwttutorial.security.jwt.EnumToken;
+import kdk.jwttutorial.security.PasswordHashingExecutor;
 import kdk.jwttutorial.security.jwt.JwtFilter;
 import kdk.jwttutorial.security.jwt.JwtService;
 import kdk.jwttutorial.security.jwt.dto.TokenDto;
@@ -26,27 +27,30 @@ public class UserController {
 
 	private final UserService userService;
 	private final JwtService jwtService;
+	private final PasswordHashingExecutor passwordHashingExecutor;
 
+	// BCrypt 검증은 passwordHashingExecutor 에서 수행하고 요청 스레드는 바로 반환
 	@PostMapping("/login")
-	public ResponseEntity<TokenDto> login(@Valid @RequestBody LoginDto loginDto) {
-		String accessToken = jwtService.getJwt(loginDto, EnumToken.ACCESS);
-		String refreshToken = jwtService.getJwt(loginDto, EnumToken.REFRESH);
-		HttpHeaders httpHeaders = new HttpHeaders();
-		httpHeaders.add(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken);
-		httpHeaders.add(JwtFilter.REFRESH_HEADER, "Bearer " + refreshToken);
-
-		return ResponseEntity.ok()
-			.headers(httpHeaders)
-			.body(TokenDto.builder()
-				.accessToken(accessToken)
-				.refreshToken(refreshToken)
-				.build()
-			);
+	public CompletableFuture<ResponseEntity<TokenDto>> login(
+		@Valid @RequestBody LoginDto loginDto) {
+		return passwordHashingExecutor.submit(() -> jwtService.getJwtPair(loginDto))
+			.thenApply(tokenDto -> {
+				HttpHeaders httpHeaders = new HttpHeaders();
+				httpHeaders.add(JwtFilter.AUTHORIZATION_HEADER,
+					"Bearer " + tokenDto.getAccessToken());
+				httpHeaders.add(JwtFilter.REFRESH_HEADER, "Bearer " + tokenDto.getRefreshToken());
+
+				return ResponseEntity.ok()
+					.headers(httpHeaders)
+					.body(tokenDto);
+			});
 	}
 
 	@PostMapping("/signup")
-	public ResponseEntity<UserDto> signup(@Valid @RequestBody UserDto userDto) {
-		return ResponseEntity.status(HttpStatus.CREATED).body(userService.signup(userDto));
+	public CompletableFuture<ResponseEntity<UserDto>> signup(
+		@Valid @RequestBody UserDto userDto) {
+		return passwordHashingExecutor.submit(() -> userService.signup(userDto))
+			.thenApply(body -> ResponseEntity.status(HttpStatus.CREATED).body(body));
 	}
 
 	@GetMapping("/myInfo")
@@ -0,0 +1,79 @@
+package kdk.jwttutorial.user;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import kdk.jwttutorial.user.dto.UserDto;
+import kdk.jwttutorial.user.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * email 로 조회한 UserDto 의 read-through 캐시. refresh 주기가 지난 항목은 기존 값을 바로 반환하고 백그라운드에서 다시 조회하며
+ * (stale-while-revalidate), 재조회가 실패하면 만료 시각까지 기존 값을 유지한다.
+ */
+@Component
+public class UserDtoCache implements MeterBinder {
+
+	private static final String CACHE_NAME = "user";
+
+	private final UserRepository userRepository;
+	private final LoadingCache<String, Optional<UserDto>> cache;
+
+	@Autowired
+	public UserDtoCache(UserRepository userRepository,
+		@Value("${user.cache.max-size}") long maximumSize,
+		@Value("${user.cache.expire-seconds}") long expireSeconds,
+		@Value("${user.cache.refresh-seconds}") long refreshSeconds) {
+		this(userRepository, maximumSize, expireSeconds, refreshSeconds, Ticker.systemTicker(),
+			ForkJoinPool.commonPool());
+	}
+
+	UserDtoCache(UserRepository userRepository, long maximumSize, long expireSeconds,
+		long refreshSeconds, Ticker ticker, Executor executor) {
+		this.userRepository = userRepository;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(Duration.ofSeconds(expireSeconds))
+			.refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+			.ticker(ticker)
+			.executor(executor)
+			.recordStats()
+			.build(this::load);
+	}
+
+	public Optional<UserDto> get(String email) {
+		return cache.get(email);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		evict(event.getEmail());
+	}
+
+	public void evict(String email) {
+		cache.invalidate(email);
+	}
+
+	public void evictAll() {
+		cache.invalidateAll();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+	}
+
+	private Optional<UserDto> load(String email) {
+		return userRepository.findOneWithAuthoritiesByEmail(email).map(UserDto::from);
+	}
+}
@@ -1,8 +1,16 @@
 package kdk.jwttutorial.user;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import kdk.jwttutorial.user.directory.UserDirectoryRow;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -11,4 +19,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findOneWithAuthoritiesByEmail(String email);
 
 	boolean existsByEmail(String email);
+
+	@Query("select u.authorityVersion from User u where u.email = :email")
+	Optional<Long> findAuthorityVersionByEmail(@Param("email") String email);
+
+	// 엔티티를 만들지 않고 사용자-권한 행을 userId 순으로 흘려보낸다, 트랜잭션 안에서 사용 후 닫아야 함
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+	@Query("select u.userId as userId, u.email as email, u.password as password,"
+		+ " u.nickname as nickname, u.authorityVersion as authorityVersion,"
+		+ " a.authorityName as authorityName"
+		+ " from User u left join u.authorities a order by u.userId")
+	Stream<UserDirectoryRow> streamAllForDirectory();
 }
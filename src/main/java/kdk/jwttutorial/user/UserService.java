@@ -1,12 +1,21 @@
 package kdk.jwttutorial.user;
 
 import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.invalidation.InvalidationBroadcaster;
+import kdk.jwttutorial.invalidation.InvalidationEvent;
 import kdk.jwttutorial.security.SecurityUtil;
 import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.directory.UserDirectory;
+import kdk.jwttutorial.user.directory.UserRecord;
 import kdk.jwttutorial.user.dto.UserDto;
+import kdk.jwttutorial.user.event.UserChangedEvent;
 import kdk.jwttutorial.user.exception.EmailAlreadyUseException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -18,14 +27,37 @@ public class UserService {
 
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final ApplicationEventPublisher eventPublisher;
+	private final UserDtoCache userDtoCache;
+	private final InvalidationBroadcaster invalidationBroadcaster;
+	private final UserDirectory userDirectory;
 
 	@Transactional
 	public UserDto signup(UserDto userDto) {
 		validDuplEmail(userDto);
 
 		User user = createUser(userDto);
+		User savedUser = userRepository.save(user);
+		eventPublisher.publishEvent(new UserChangedEvent(savedUser.getEmail()));
+		invalidationBroadcaster.publish(InvalidationEvent.userChanged(savedUser.getEmail()));
 
-		return UserDto.from(userRepository.save(user));
+		return UserDto.from(savedUser);
+	}
+
+	// 권한이 실제로 바뀐 경우에만 권한 버전을 올리고, 캐시된 사용자 정보와 권한 버전을 모든 노드에서 무효화
+	@Transactional
+	public UserDto changeAuthorities(String email, Set<EnumAuthority> authorities) {
+		User user = userRepository.findOneWithAuthoritiesByEmail(email).orElseThrow(
+			() -> new UsernameNotFoundException(ErrorCode.USER_NOT_FOUND.getMessage())
+		);
+		if (user.changeAuthorities(authorities.stream()
+			.map(authority -> Authority.builder().authorityName(authority.name()).build())
+			.collect(Collectors.toSet()))) {
+			eventPublisher.publishEvent(new UserChangedEvent(email));
+			invalidationBroadcaster.publish(InvalidationEvent.userChanged(email));
+		}
+
+		return UserDto.from(user);
 	}
 
 	private User createUser(UserDto userDto) {
@@ -43,19 +75,26 @@ public class UserService {
 		}
 	}
 
-	@Transactional(readOnly = true)
+	// 캐시 hit 시 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회 (authorities 는 EntityGraph 로 함께 조회)
 	public UserDto getUserWithAuthorities(String email) {
-		return UserDto.from(userRepository.findOneWithAuthoritiesByEmail(email).orElseThrow(
-			() -> new UsernameNotFoundException(ErrorCode.USER_NOT_FOUND.getMessage()))
+		return findUser(email).orElseThrow(
+			() -> new UsernameNotFoundException(ErrorCode.USER_NOT_FOUND.getMessage())
 		);
 	}
 
-	@Transactional(readOnly = true)
 	public UserDto getMyUserWithAuthorities() {
-		return UserDto.from(SecurityUtil.getCurrentUsername()
-			.flatMap(userRepository::findOneWithAuthoritiesByEmail).orElseThrow(
-				() -> new UsernameNotFoundException(ErrorCode.USER_NOT_FOUND.getMessage()))
-		);
+		return SecurityUtil.getCurrentUsername()
+			.flatMap(this::findUser).orElseThrow(
+				() -> new UsernameNotFoundException(ErrorCode.USER_NOT_FOUND.getMessage())
+			);
+	}
+
+	// 사용자 디렉터리를 적재한 뒤에는 캐시 대신 디렉터리에서 조회
+	private Optional<UserDto> findUser(String email) {
+		if (userDirectory.isReady()) {
+			return userDirectory.find(email).map(UserRecord::toUserDto);
+		}
+		return userDtoCache.get(email);
 	}
 
 }
\ No newline at end of file
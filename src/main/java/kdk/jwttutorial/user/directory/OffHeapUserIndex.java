@@ -0,0 +1,369 @@
+package kdk.jwttutorial.user.directory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * email 을 key 로 UserRecord 를 heap 밖에 보관하는 open addressing(linear probing) hash index. slot 표와
+ * record 를 모두 direct buffer 에 두므로 사용자 수가 늘어도 GC 가 확인할 객체가 늘지 않는다. directory 를 지정하면
+ * record 는 memory-mapped 파일에 보관한다.
+ * <p>
+ * slot 은 (record 주소 + 1, email hash) 16 byte 이고, record 는 segment 끝에 이어 쓴다. 같은 email 을 다시 넣으면 새
+ * record 를 쓰고 slot 만 바꾸며, 버려진 record 가 살아 있는 record 보다 많아지면 살아 있는 record 만 새 segment 로
+ * 옮긴다. 조회는 read lock, 변경은 write lock 안에서 수행한다.
+ */
+public class OffHeapUserIndex {
+
+	// record 주소 + 1 (long), email hash (int), 빈 4 byte
+	private static final int SLOT_BYTES = 16;
+	private static final long EMPTY = 0;
+	private static final long REMOVED = -1;
+	// userId (long), authorityVersion (long), authorityMask (int)
+	private static final int HEADER_BYTES = 8 + 8 + 4;
+	// email, password, nickname 의 길이 (short)
+	private static final int LENGTH_BYTES = 2;
+
+	private final int segmentSize;
+	private final Path directory;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// 아래 필드는 lock 안에서 읽고 씀
+	private List<ByteBuffer> segments = new ArrayList<>();
+	private int position;
+	private ByteBuffer table;
+	private int slotMask;
+	private int size;
+	private int removed;
+	private long liveBytes;
+	private long garbageBytes;
+
+	/**
+	 * @param directory null 이면 direct buffer, 아니면 이 디렉터리의 memory-mapped 파일에 record 를 보관
+	 */
+	public OffHeapUserIndex(int initialCapacity, int segmentSize, Path directory) {
+		if (initialCapacity < 1 || segmentSize < HEADER_BYTES + LENGTH_BYTES * 3) {
+			throw new IllegalArgumentException("initialCapacity: " + initialCapacity
+				+ ", segmentSize: " + segmentSize);
+		}
+		this.segmentSize = segmentSize;
+		this.directory = directory;
+		// load factor 0.5
+		allocateTable(tableSizeFor(initialCapacity * 2L));
+	}
+
+	public UserRecord get(String email) {
+		byte[] key = email.getBytes(StandardCharsets.UTF_8);
+		int hash = spread(email.hashCode());
+		lock.readLock().lock();
+		try {
+			int slot = indexOf(hash, key);
+			return slot < 0 ? null : read(addressAt(slot));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void put(UserRecord user) {
+		byte[] email = user.getEmail().getBytes(StandardCharsets.UTF_8);
+		byte[] password = user.getPassword().getBytes(StandardCharsets.UTF_8);
+		byte[] nickname = user.getNickname().getBytes(StandardCharsets.UTF_8);
+		int length = HEADER_BYTES + LENGTH_BYTES * 3 + email.length + password.length
+			+ nickname.length;
+		if (email.length > Short.MAX_VALUE || password.length > Short.MAX_VALUE
+			|| nickname.length > Short.MAX_VALUE || length > segmentSize) {
+			throw new IllegalArgumentException("record 가 너무 큽니다, email: " + user.getEmail());
+		}
+		int hash = spread(user.getEmail().hashCode());
+		lock.writeLock().lock();
+		try {
+			long address = append(user, email, password, nickname, length);
+			int slot = indexOf(hash, email);
+			if (slot >= 0) {
+				int oldLength = recordLength(addressAt(slot));
+				liveBytes -= oldLength;
+				garbageBytes += oldLength;
+			} else {
+				ensureCapacity();
+				slot = insertionSlot(hash);
+				if (table.getLong(slot * SLOT_BYTES) == REMOVED) {
+					removed--;
+				}
+				size++;
+			}
+			setSlot(slot, address, hash);
+			liveBytes += length;
+			compactIfNeeded();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return 보관하던 email 이면 true
+	 */
+	public boolean remove(String email) {
+		byte[] key = email.getBytes(StandardCharsets.UTF_8);
+		int hash = spread(email.hashCode());
+		lock.writeLock().lock();
+		try {
+			int slot = indexOf(hash, key);
+			if (slot < 0) {
+				return false;
+			}
+			int length = recordLength(addressAt(slot));
+			liveBytes -= length;
+			garbageBytes += length;
+			table.putLong(slot * SLOT_BYTES, REMOVED);
+			size--;
+			removed++;
+			compactIfNeeded();
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// slot 표와 segment 가 차지하는 heap 밖 메모리
+	public long capacityBytes() {
+		lock.readLock().lock();
+		try {
+			return (long) table.capacity() + (long) segments.size() * segmentSize;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// 교체되거나 지워져 compaction 전까지 자리만 차지하는 record
+	public long garbageBytes() {
+		lock.readLock().lock();
+		try {
+			return garbageBytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int indexOf(int hash, byte[] email) {
+		for (int slot = hash & slotMask; ; slot = (slot + 1) & slotMask) {
+			long value = table.getLong(slot * SLOT_BYTES);
+			if (value == EMPTY) {
+				return -1;
+			}
+			if (value != REMOVED && table.getInt(slot * SLOT_BYTES + 8) == hash
+				&& emailEquals(value - 1, email)) {
+				return slot;
+			}
+		}
+	}
+
+	// 지워진 slot 을 먼저 재사용
+	private int insertionSlot(int hash) {
+		for (int slot = hash & slotMask; ; slot = (slot + 1) & slotMask) {
+			long value = table.getLong(slot * SLOT_BYTES);
+			if (value == EMPTY || value == REMOVED) {
+				return slot;
+			}
+		}
+	}
+
+	private long addressAt(int slot) {
+		return table.getLong(slot * SLOT_BYTES) - 1;
+	}
+
+	private void setSlot(int slot, long address, int hash) {
+		table.putLong(slot * SLOT_BYTES, address + 1);
+		table.putInt(slot * SLOT_BYTES + 8, hash);
+	}
+
+	// 사용 중인 slot 과 지워진 slot 이 절반을 넘으면 살아 있는 slot 만 옮겨 담는다
+	private void ensureCapacity() {
+		int slots = slotMask + 1;
+		if ((size + removed + 1) * 2L <= slots) {
+			return;
+		}
+		ByteBuffer oldTable = table;
+		int oldSlots = slots;
+		allocateTable((size + 1) * 4L > slots ? slots * 2L : slots);
+		removed = 0;
+		for (int slot = 0; slot < oldSlots; slot++) {
+			long value = oldTable.getLong(slot * SLOT_BYTES);
+			if (value != EMPTY && value != REMOVED) {
+				int hash = oldTable.getInt(slot * SLOT_BYTES + 8);
+				int newSlot = insertionSlot(hash);
+				table.putLong(newSlot * SLOT_BYTES, value);
+				table.putInt(newSlot * SLOT_BYTES + 8, hash);
+			}
+		}
+	}
+
+	private void allocateTable(long slots) {
+		if (slots * SLOT_BYTES > Integer.MAX_VALUE) {
+			throw new IllegalStateException("slot 표가 너무 큽니다, slot: " + slots);
+		}
+		this.table = ByteBuffer.allocateDirect((int) slots * SLOT_BYTES);
+		this.slotMask = (int) slots - 1;
+	}
+
+	// 버려진 record 가 segment 하나 이상이고 살아 있는 record 보다 많으면 살아 있는 record 만 새 segment 로 옮긴다
+	private void compactIfNeeded() {
+		if (garbageBytes < segmentSize || garbageBytes <= liveBytes) {
+			return;
+		}
+		List<ByteBuffer> oldSegments = segments;
+		segments = new ArrayList<>();
+		position = 0;
+		for (int slot = 0; slot <= slotMask; slot++) {
+			long value = table.getLong(slot * SLOT_BYTES);
+			if (value == EMPTY || value == REMOVED) {
+				continue;
+			}
+			long oldAddress = value - 1;
+			ByteBuffer oldSegment = oldSegments.get((int) (oldAddress / segmentSize));
+			int oldOffset = (int) (oldAddress % segmentSize);
+			int length = recordLength(oldSegment, oldOffset);
+			long address = reserve(length);
+			ByteBuffer segment = segments.get(segments.size() - 1);
+			int offset = (int) (address % segmentSize);
+			for (int i = 0; i < length; i++) {
+				segment.put(offset + i, oldSegment.get(oldOffset + i));
+			}
+			table.putLong(slot * SLOT_BYTES, address + 1);
+		}
+		garbageBytes = 0;
+	}
+
+	private long append(UserRecord user, byte[] email, byte[] password, byte[] nickname,
+		int length) {
+		long address = reserve(length);
+		ByteBuffer segment = segments.get(segments.size() - 1);
+		int offset = (int) (address % segmentSize);
+		segment.putLong(offset, user.getUserId());
+		segment.putLong(offset + 8, user.getAuthorityVersion());
+		segment.putInt(offset + 16, user.getAuthorityMask());
+		offset = writeBytes(segment, offset + HEADER_BYTES, email);
+		offset = writeBytes(segment, offset, password);
+		writeBytes(segment, offset, nickname);
+		return address;
+	}
+
+	// 마지막 segment 에 자리가 없으면 새 segment 를 만든다
+	private long reserve(int length) {
+		if (segments.isEmpty() || position + length > segmentSize) {
+			segments.add(allocateSegment());
+			position = 0;
+		}
+		long address = (long) (segments.size() - 1) * segmentSize + position;
+		position += length;
+		return address;
+	}
+
+	private ByteBuffer allocateSegment() {
+		if (directory == null) {
+			return ByteBuffer.allocateDirect(segmentSize);
+		}
+		try {
+			// mapping 은 channel 을 닫아도 유지되고, 파일은 channel 을 닫을 때 지워진다
+			Path file = Files.createTempFile(directory, "users-", ".segment");
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+				return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private UserRecord read(long address) {
+		ByteBuffer segment = segments.get((int) (address / segmentSize));
+		int offset = (int) (address % segmentSize);
+		int emailOffset = offset + HEADER_BYTES;
+		int passwordOffset = emailOffset + LENGTH_BYTES + segment.getShort(emailOffset);
+		int nicknameOffset = passwordOffset + LENGTH_BYTES + segment.getShort(passwordOffset);
+		return UserRecord.builder()
+			.userId(segment.getLong(offset))
+			.authorityVersion(segment.getLong(offset + 8))
+			.authorityMask(segment.getInt(offset + 16))
+			.email(readString(segment, emailOffset))
+			.password(readString(segment, passwordOffset))
+			.nickname(readString(segment, nicknameOffset))
+			.build();
+	}
+
+	private boolean emailEquals(long address, byte[] email) {
+		ByteBuffer segment = segments.get((int) (address / segmentSize));
+		int offset = (int) (address % segmentSize) + HEADER_BYTES;
+		if (segment.getShort(offset) != email.length) {
+			return false;
+		}
+		offset += LENGTH_BYTES;
+		for (int i = 0; i < email.length; i++) {
+			if (segment.get(offset + i) != email[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int recordLength(long address) {
+		return recordLength(segments.get((int) (address / segmentSize)),
+			(int) (address % segmentSize));
+	}
+
+	private static int recordLength(ByteBuffer segment, int offset) {
+		int end = offset + HEADER_BYTES;
+		for (int i = 0; i < 3; i++) {
+			end += LENGTH_BYTES + segment.getShort(end);
+		}
+		return end - offset;
+	}
+
+	private static int writeBytes(ByteBuffer segment, int offset, byte[] bytes) {
+		segment.putShort(offset, (short) bytes.length);
+		offset += LENGTH_BYTES;
+		for (int i = 0; i < bytes.length; i++) {
+			segment.put(offset + i, bytes[i]);
+		}
+		return offset + bytes.length;
+	}
+
+	private static String readString(ByteBuffer segment, int offset) {
+		byte[] bytes = new byte[segment.getShort(offset)];
+		offset += LENGTH_BYTES;
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = segment.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static long tableSizeFor(long slots) {
+		long size = 16;
+		while (size < slots) {
+			size <<= 1;
+		}
+		return size;
+	}
+
+	// 문자열 hashCode 의 상위 bit 를 하위 bit 에 섞어 slot 에 고르게 나눈다
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,174 @@
+package kdk.jwttutorial.user.directory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import kdk.jwttutorial.user.UserRepository;
+import kdk.jwttutorial.user.event.UserChangedEvent;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * 모든 사용자의 email, 비밀번호 hash, 권한, nickname 을 heap 밖(OffHeapUserIndex)에 보관한다. 계정이 많아도 heap 캐시처럼 GC
+ * 부담이 늘지 않으며, 적재한 뒤에는 CustomUserDetailsService 와 UserService 가 DB 대신 여기서 조회한다. 모든 사용자를
+ * 보관하므로 여기 없는 email 은 존재하지 않는 사용자다.
+ * <p>
+ * 애플리케이션이 시작되면 users 테이블을 엔티티 없이 흘려 읽어 적재하고, 그 뒤로는 사용자 정보가 바뀌었다는 이벤트(다른 노드에서
+ * 바뀐 경우 포함)마다 해당 사용자만 다시 조회하여 반영한다. 적재 중에 바뀐 사용자는 적재가 끝난 뒤 다시 반영한다.
+ */
+@Component
+@Log4j2
+public class UserDirectory implements MeterBinder {
+
+	private final UserRepository userRepository;
+	private final boolean enabled;
+	private final int initialCapacity;
+	private final int segmentSize;
+	private final Path path;
+	private final Set<String> changedWhileLoading = ConcurrentHashMap.newKeySet();
+
+	// 적재가 끝나기 전에는 null
+	private volatile OffHeapUserIndex index;
+	private volatile boolean loading;
+
+	public UserDirectory(UserRepository userRepository,
+		@Value("${user.directory.enabled:false}") boolean enabled,
+		@Value("${user.directory.initial-capacity:1048576}") int initialCapacity,
+		@Value("${user.directory.segment-size-mb:64}") int segmentSizeMb,
+		@Value("${user.directory.path:}") String path) {
+		if (segmentSizeMb < 1 || segmentSizeMb > 1024) {
+			throw new IllegalArgumentException("segmentSizeMb: " + segmentSizeMb);
+		}
+		this.userRepository = userRepository;
+		this.enabled = enabled;
+		this.initialCapacity = initialCapacity;
+		this.segmentSize = segmentSizeMb << 20;
+		this.path = StringUtils.hasText(path) ? Paths.get(path) : null;
+	}
+
+	public boolean isReady() {
+		return index != null;
+	}
+
+	/**
+	 * isReady() 가 true 일 때만 사용한다.
+	 */
+	public Optional<UserRecord> find(String email) {
+		OffHeapUserIndex current = index;
+		if (current == null) {
+			throw new IllegalStateException("사용자 디렉터리를 아직 적재하지 않았습니다");
+		}
+		return Optional.ofNullable(current.get(email));
+	}
+
+	// 모든 사용자를 새 index 에 적재한 뒤 교체, 적재 중에는 기존 index(처음에는 DB)로 조회
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void load() {
+		if (!enabled) {
+			return;
+		}
+		long startedAt = System.nanoTime();
+		loading = true;
+		OffHeapUserIndex loaded = new OffHeapUserIndex(initialCapacity, segmentSize, path);
+		try (Stream<UserDirectoryRow> rows = userRepository.streamAllForDirectory()) {
+			load(loaded, rows.iterator());
+			index = loaded;
+		} finally {
+			loading = false;
+		}
+		Iterator<String> changed = changedWhileLoading.iterator();
+		while (changed.hasNext()) {
+			refresh(loaded, changed.next());
+			changed.remove();
+		}
+		log.info("사용자 디렉터리를 적재했습니다, 사용자: {}, 메모리: {} bytes, 소요: {} ms", loaded.size(),
+			loaded.capacityBytes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		OffHeapUserIndex current = index;
+		if (loading || current == null) {
+			changedWhileLoading.add(event.getEmail());
+			// 그 사이 적재가 끝나 목록을 이미 비웠으면 직접 반영
+			current = index;
+			if (loading || current == null || !changedWhileLoading.remove(event.getEmail())) {
+				return;
+			}
+		}
+		refresh(current, event.getEmail());
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		gauge(registry, "user.directory.users", OffHeapUserIndex::size);
+		gauge(registry, "user.directory.bytes", OffHeapUserIndex::capacityBytes);
+		gauge(registry, "user.directory.garbage.bytes", OffHeapUserIndex::garbageBytes);
+	}
+
+	private void gauge(MeterRegistry registry, String name,
+		ToDoubleFunction<OffHeapUserIndex> function) {
+		Gauge.builder(name, this, directory -> {
+			OffHeapUserIndex current = directory.index;
+			return current == null ? 0 : function.applyAsDouble(current);
+		}).register(registry);
+	}
+
+	// 행은 userId 순이므로 같은 사용자의 권한 행은 연속해서 온다
+	private static void load(OffHeapUserIndex index, Iterator<UserDirectoryRow> rows) {
+		UserDirectoryRow current = null;
+		int authorityMask = 0;
+		while (rows.hasNext()) {
+			UserDirectoryRow row = rows.next();
+			if (current != null && !current.getUserId().equals(row.getUserId())) {
+				index.put(toRecord(current, authorityMask));
+				authorityMask = 0;
+			}
+			current = row;
+			authorityMask |= UserRecord.maskOf(row.getAuthorityName());
+		}
+		if (current != null) {
+			index.put(toRecord(current, authorityMask));
+		}
+	}
+
+	private void refresh(OffHeapUserIndex index, String email) {
+		Optional<UserRecord> user = userRepository.findOneWithAuthoritiesByEmail(email)
+			.map(UserRecord::from);
+		if (user.isPresent()) {
+			index.put(user.get());
+		} else {
+			index.remove(email);
+		}
+	}
+
+	private static UserRecord toRecord(UserDirectoryRow row, int authorityMask) {
+		return UserRecord.builder()
+			.userId(row.getUserId())
+			.email(row.getEmail())
+			.password(row.getPassword())
+			.nickname(row.getNickname())
+			.authorityMask(authorityMask)
+			.authorityVersion(row.getAuthorityVersion())
+			.build();
+	}
+}
@@ -0,0 +1,20 @@
+package kdk.jwttutorial.user.directory;
+
+/**
+ * UserDirectory 를 적재할 때 조회하는 사용자-권한 한 행. 권한이 여러 개인 사용자는 권한 수만큼 행이 있고, 권한이 없으면
+ * authorityName 이 null 이다.
+ */
+public interface UserDirectoryRow {
+
+	Long getUserId();
+
+	String getEmail();
+
+	String getPassword();
+
+	String getNickname();
+
+	long getAuthorityVersion();
+
+	String getAuthorityName();
+}
@@ -0,0 +1,88 @@
+package kdk.jwttutorial.user.directory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import kdk.jwttutorial.user.EnumAuthority;
+import kdk.jwttutorial.user.User;
+import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.auth.dto.AuthorityDto;
+import kdk.jwttutorial.user.dto.UserDto;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * UserDirectory 에 보관하는 사용자 정보. 권한은 EnumAuthority bitmask 로 보관한다.
+ */
+@Getter
+public class UserRecord {
+
+	private final long userId;
+	private final String email;
+	private final String password;
+	private final String nickname;
+	private final int authorityMask;
+	private final long authorityVersion;
+
+	@Builder
+	public UserRecord(long userId, String email, String password, String nickname,
+		int authorityMask, long authorityVersion) {
+		this.userId = userId;
+		this.email = email;
+		this.password = password;
+		this.nickname = nickname;
+		this.authorityMask = authorityMask;
+		this.authorityVersion = authorityVersion;
+	}
+
+	public static UserRecord from(User user) {
+		int authorityMask = 0;
+		for (Authority authority : user.getAuthorities()) {
+			authorityMask |= maskOf(authority.getAuthorityName());
+		}
+		return UserRecord.builder()
+			.userId(user.getUserId())
+			.email(user.getEmail())
+			.password(user.getPassword())
+			.nickname(user.getNickname())
+			.authorityMask(authorityMask)
+			.authorityVersion(user.getAuthorityVersion())
+			.build();
+	}
+
+	/**
+	 * @return EnumAuthority 가 아닌 권한이면 0
+	 */
+	static int maskOf(String authorityName) {
+		for (EnumAuthority authority : EnumAuthority.values()) {
+			if (authority.name().equals(authorityName)) {
+				return authority.getMask();
+			}
+		}
+		return 0;
+	}
+
+	public List<String> getAuthorityNames() {
+		List<String> authorityNames = new ArrayList<>(2);
+		for (EnumAuthority authority : EnumAuthority.values()) {
+			if ((authorityMask & authority.getMask()) != 0) {
+				authorityNames.add(authority.name());
+			}
+		}
+		return authorityNames;
+	}
+
+	// UserDto.from(User) 와 같은 항목을 채운다
+	public UserDto toUserDto() {
+		Set<AuthorityDto> authorityDtoSet = getAuthorityNames().stream()
+			.map(authorityName -> AuthorityDto.builder().authorityName(authorityName).build())
+			.collect(Collectors.toSet());
+		return UserDto.builder()
+			.email(email)
+			.nickname(nickname)
+			.authorityDtoSet(authorityDtoSet)
+			.authorityVersion(authorityVersion)
+			.build();
+	}
+}
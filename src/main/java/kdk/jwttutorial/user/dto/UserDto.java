@@ -1,5 +1,6 @@
 package kdk.jwttutorial.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonProperty.Access;
 import java.util.Set;
@@ -35,16 +36,22 @@ public class UserDto {
 	@JsonProperty(access = Access.READ_ONLY)
 	private Set<AuthorityDto> authorityDtoSet;
 
+	// 리프레시 토큰에 기록하는 권한 버전, DB 에서 조회하지 않은 경우 null
+	@JsonIgnore
+	private Long authorityVersion;
+
 	@Builder
 	public UserDto(
 		@NotNull @Size(min = 3, max = 100) @Email String email,
 		@NotNull @Size(min = 3, max = 100) String password,
 		@NotNull @Size(min = 3, max = 50) String nickname,
-		Set<AuthorityDto> authorityDtoSet) {
+		Set<AuthorityDto> authorityDtoSet,
+		Long authorityVersion) {
 		this.email = email;
 		this.password = password;
 		this.nickname = nickname;
 		this.authorityDtoSet = authorityDtoSet;
+		this.authorityVersion = authorityVersion;
 	}
 
 	public static UserDto from(User user) {
@@ -58,6 +65,8 @@ public class UserDto {
 						.build()
 				)
 					.collect(Collectors.toSet())
-			).build();
+			)
+			.authorityVersion(user.getAuthorityVersion())
+			.build();
 	}
 }
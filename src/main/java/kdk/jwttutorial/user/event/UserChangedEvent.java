@@ -0,0 +1,16 @@
+package kdk.jwttutorial.user.event;
+
+import lombok.Getter;
+
+/**
+ * 사용자 생성, 권한 변경 등 사용자 정보가 바뀌었을 때 발행한다. 사용자 정보를 캐시하는 쪽에서 해당 email 의 캐시를 무효화한다.
+ */
+@Getter
+public class UserChangedEvent {
+
+	private final String email;
+
+	public UserChangedEvent(String email) {
+		this.email = email;
+	}
+}
@@ -0,0 +1,28 @@
+package kdk.jwttutorial.user.event;
+
+import kdk.jwttutorial.invalidation.InvalidationBroadcaster;
+import kdk.jwttutorial.invalidation.InvalidationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다른 노드에서 사용자 정보가 바뀌었다는 이벤트를 받으면 이 노드에 {@link UserChangedEvent} 를 발행하여, 사용자 정보를
+ * 캐시하는 쪽이 같은 방법으로 캐시를 무효화하게 한다.
+ */
+@Component
+public class UserChangedEventRelay {
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	public UserChangedEventRelay(InvalidationBroadcaster invalidationBroadcaster,
+		ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+		invalidationBroadcaster.subscribe(this::onInvalidation);
+	}
+
+	private void onInvalidation(InvalidationEvent event) {
+		if (event.getType() == InvalidationEvent.Type.USER_CHANGED) {
+			eventPublisher.publishEvent(new UserChangedEvent(event.getKey()));
+		}
+	}
+}
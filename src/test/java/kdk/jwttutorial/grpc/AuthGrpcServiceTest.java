@@ -0,0 +1,262 @@
+package kdk.jwttutorial.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.grpc.proto.AuthServiceGrpc;
+import kdk.jwttutorial.grpc.proto.AuthServiceGrpc.AuthServiceBlockingStub;
+import kdk.jwttutorial.grpc.proto.LoginRequest;
+import kdk.jwttutorial.grpc.proto.RefreshRequest;
+import kdk.jwttutorial.grpc.proto.TokenReply;
+import kdk.jwttutorial.grpc.proto.UserRequest;
+import kdk.jwttutorial.grpc.proto.VerifyReply;
+import kdk.jwttutorial.grpc.proto.VerifyRequest;
+import kdk.jwttutorial.security.CustomUserDetailsService;
+import kdk.jwttutorial.user.User;
+import kdk.jwttutorial.user.UserRepository;
+import kdk.jwttutorial.user.auth.Authority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * in-process 서버로 실제 context 의 gRPC 서비스를 호출한다. 서버 스레드에서 조회하므로 테스트 데이터는 commit 하고 직접 정리한다.
+ */
+@SpringBootTest(properties = "grpc.server.in-process-name=" + AuthGrpcServiceTest.SERVER_NAME)
+class AuthGrpcServiceTest {
+
+	static final String SERVER_NAME = "auth-grpc-service-test";
+
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	@Autowired
+	private CustomUserDetailsService customUserDetailsService;
+	private ManagedChannel channel;
+	private AuthServiceBlockingStub stub;
+
+	@BeforeEach
+	void setUp() {
+		channel = InProcessChannelBuilder.forName(SERVER_NAME).directExecutor().build();
+		stub = AuthServiceGrpc.newBlockingStub(channel);
+		userRepository.save(createUser("test1@test.com", Authority.createUserRole()));
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+		userRepository.deleteAll();
+		customUserDetailsService.evictAll();
+	}
+
+	@Test
+	void 로그인_성공() {
+		// when
+		TokenReply result = login("test1@test.com", "password");
+
+		// then
+		assertThat(result.getAccessToken()).isNotEmpty();
+		assertThat(result.getRefreshToken()).isNotEmpty();
+	}
+
+	@Test
+	void 로그인_예외_비밀번호_불일치() {
+		// when
+		StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+			() -> login("test1@test.com", "wrong-password"));
+
+		// then
+		assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED);
+		assertThat(e.getTrailers().get(GrpcExceptionTranslator.ERROR_CODE_KEY))
+			.isEqualTo(ErrorCode.INVALID_ACCOUNT.getCode());
+	}
+
+	@Test
+	void 토큰_확인_성공() {
+		// given
+		String accessToken = login("test1@test.com", "password").getAccessToken();
+
+		// when
+		VerifyReply result = withToken(accessToken)
+			.verify(VerifyRequest.newBuilder().setToken(accessToken).build());
+
+		// then
+		assertThat(result.getActive()).isTrue();
+		assertThat(result.getSub()).isEqualTo("test1@test.com");
+		assertThat(result.getAuthoritiesList()).containsExactly("ROLE_USER");
+	}
+
+	@Test
+	void 토큰_확인_예외_인증_정보_없음() {
+		// when
+		StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+			() -> stub.verify(VerifyRequest.newBuilder().setToken("token").build()));
+
+		// then
+		assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED);
+	}
+
+	@Test
+	void 토큰_확인_stream_요청_순서대로_응답() throws Exception {
+		// given
+		String accessToken = login("test1@test.com", "password").getAccessToken();
+		CompletableFuture<List<VerifyReply>> replies = new CompletableFuture<>();
+		List<VerifyReply> received = Collections.synchronizedList(new ArrayList<>());
+
+		// when
+		StreamObserver<VerifyRequest> requests = AuthServiceGrpc.newStub(channel)
+			.withInterceptors(authorization(accessToken))
+			.verifyStream(new StreamObserver<>() {
+				@Override
+				public void onNext(VerifyReply reply) {
+					received.add(reply);
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					replies.completeExceptionally(t);
+				}
+
+				@Override
+				public void onCompleted() {
+					replies.complete(received);
+				}
+			});
+		requests.onNext(VerifyRequest.newBuilder().setToken(accessToken).build());
+		requests.onNext(VerifyRequest.newBuilder().setToken("invalid").build());
+		requests.onNext(VerifyRequest.newBuilder().setToken(accessToken).build());
+		requests.onCompleted();
+
+		// then
+		assertThat(replies.get(5, TimeUnit.SECONDS))
+			.extracting(VerifyReply::getActive)
+			.containsExactly(true, false, true);
+	}
+
+	@Test
+	void 토큰_확인_stream_응답을_읽지_않으면_요청을_받지_않음() throws Exception {
+		// given
+		String accessToken = login("test1@test.com", "password").getAccessToken();
+		AtomicReference<ClientCallStreamObserver<VerifyRequest>> requestStream =
+			new AtomicReference<>();
+		CompletableFuture<List<VerifyReply>> replies = new CompletableFuture<>();
+		List<VerifyReply> received = Collections.synchronizedList(new ArrayList<>());
+		StreamObserver<VerifyRequest> requests = AuthServiceGrpc.newStub(channel)
+			.withInterceptors(authorization(accessToken))
+			.verifyStream(new ClientResponseObserver<VerifyRequest, VerifyReply>() {
+				@Override
+				public void beforeStart(ClientCallStreamObserver<VerifyRequest> stream) {
+					// 응답을 읽지 않는 클라이언트
+					stream.disableAutoRequestWithInitial(0);
+					requestStream.set(stream);
+				}
+
+				@Override
+				public void onNext(VerifyReply reply) {
+					received.add(reply);
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					replies.completeExceptionally(t);
+				}
+
+				@Override
+				public void onCompleted() {
+					replies.complete(received);
+				}
+			});
+
+		// when
+		for (int i = 0; i < 100; i++) {
+			requests.onNext(VerifyRequest.newBuilder().setToken(accessToken).build());
+		}
+		Thread.sleep(200);
+
+		// then, 서버는 응답을 보낼 수 없으므로 요청을 받지 않고 응답도 쌓지 않음
+		assertThat(received).isEmpty();
+		assertThat(requestStream.get().isReady()).isFalse();
+		requests.onCompleted();
+		requestStream.get().request(Integer.MAX_VALUE);
+		assertThat(replies.get(5, TimeUnit.SECONDS))
+			.hasSize(100)
+			.allMatch(VerifyReply::getActive);
+	}
+
+	@Test
+	void 재발급_성공_이전_리프레시_토큰_재사용_불가() {
+		// given
+		String refreshToken = login("test1@test.com", "password").getRefreshToken();
+		RefreshRequest request = RefreshRequest.newBuilder().setRefreshToken(refreshToken).build();
+
+		// when
+		TokenReply result = stub.refresh(request);
+
+		// then
+		assertThat(result.getRefreshToken()).isNotEqualTo(refreshToken);
+		StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+			() -> stub.refresh(request));
+		assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED);
+	}
+
+	@Test
+	void 사용자_조회_예외_관리자가_아님() {
+		// given
+		String accessToken = login("test1@test.com", "password").getAccessToken();
+
+		// when
+		StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+			() -> withToken(accessToken)
+				.getUser(UserRequest.newBuilder().setEmail("test1@test.com").build()));
+
+		// then
+		assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.PERMISSION_DENIED);
+	}
+
+	private TokenReply login(String email, String password) {
+		return stub.login(LoginRequest.newBuilder()
+			.setEmail(email)
+			.setPassword(password)
+			.build());
+	}
+
+	private AuthServiceBlockingStub withToken(String accessToken) {
+		return stub.withInterceptors(authorization(accessToken));
+	}
+
+	private static ClientInterceptor authorization(String accessToken) {
+		Metadata headers = new Metadata();
+		headers.put(GrpcAuthenticationInterceptor.AUTHORIZATION_KEY, "Bearer " + accessToken);
+		return MetadataUtils.newAttachHeadersInterceptor(headers);
+	}
+
+	private User createUser(String email, Authority authority) {
+		return User.builder()
+			.email(email)
+			.password(passwordEncoder.encode("password"))
+			.nickname("test1")
+			.authorities(Collections.singleton(authority))
+			.build();
+	}
+}
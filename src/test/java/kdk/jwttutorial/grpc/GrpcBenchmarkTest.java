@@ -0,0 +1,276 @@
+package kdk.jwttutorial.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import kdk.jwttutorial.grpc.proto.AuthServiceGrpc;
+import kdk.jwttutorial.grpc.proto.AuthServiceGrpc.AuthServiceBlockingStub;
+import kdk.jwttutorial.grpc.proto.LoginRequest;
+import kdk.jwttutorial.grpc.proto.RefreshRequest;
+import kdk.jwttutorial.grpc.proto.VerifyReply;
+import kdk.jwttutorial.grpc.proto.VerifyRequest;
+import kdk.jwttutorial.security.CustomUserDetailsService;
+import kdk.jwttutorial.security.jwt.JwtFilter;
+import kdk.jwttutorial.security.jwt.dto.IntrospectionDto;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.user.User;
+import kdk.jwttutorial.user.UserRepository;
+import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.dto.LoginDto;
+import net.devh.boot.grpc.server.event.GrpcServerStartedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * 같은 서버에 떠 있는 REST(Tomcat, JSON)와 gRPC(Netty, protobuf)로 토큰 확인과 재발급 1회당 지연 시간과
+ * 여러 스레드에서의 처리량을 측정해 출력한다. 실행 환경에 따라 값이 달라지므로 결과를 검증하지는 않는다.
+ * ./gradlew benchmark 로 실행
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "grpc.server.port=0")
+@Tag("benchmark")
+class GrpcBenchmarkTest {
+
+	private static final int WARMUP_ITERATIONS = 500;
+	private static final int ITERATIONS = 2000;
+	private static final int THREADS = 8;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	@Autowired
+	private CustomUserDetailsService customUserDetailsService;
+	@Autowired
+	private GrpcServerPort grpcServerPort;
+	private ManagedChannel channel;
+	private AuthServiceBlockingStub stub;
+
+	@BeforeEach
+	void setUp() {
+		channel = ManagedChannelBuilder.forAddress("localhost", grpcServerPort.port)
+			.usePlaintext()
+			.build();
+		stub = AuthServiceGrpc.newBlockingStub(channel);
+		userRepository.save(User.builder()
+			.email("test1@test.com")
+			.password(passwordEncoder.encode("password"))
+			.nickname("test1")
+			.authorities(Collections.singleton(Authority.createUserRole()))
+			.build());
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+		userRepository.deleteAll();
+		customUserDetailsService.evictAll();
+	}
+
+	@Test
+	void 토큰_확인_REST_gRPC_비교() throws Exception {
+		// given
+		String accessToken = restLogin().getAccessToken();
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+		headers.set(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken);
+		MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+		form.add("token", accessToken);
+		HttpEntity<MultiValueMap<String, String>> restRequest = new HttpEntity<>(form, headers);
+		AuthServiceBlockingStub authorizedStub = stub.withInterceptors(authorization(accessToken));
+		VerifyRequest grpcRequest = VerifyRequest.newBuilder().setToken(accessToken).build();
+
+		// when
+		long rest = measure(() -> restTemplate.exchange("/token/introspect", HttpMethod.POST,
+			restRequest, IntrospectionDto.class).getBody());
+		long grpc = measure(() -> authorizedStub.verify(grpcRequest));
+		long grpcStream = measureStream(accessToken, grpcRequest);
+
+		// then
+		System.out.printf("verify REST        : %.1f us/call%n", rest / 1e3);
+		System.out.printf("verify gRPC unary  : %.1f us/call%n", grpc / 1e3);
+		System.out.printf("verify gRPC stream : %.1f us/token%n", grpcStream / 1e3);
+	}
+
+	@Test
+	void 토큰_확인_REST_gRPC_처리량_비교() throws Exception {
+		// given
+		String accessToken = restLogin().getAccessToken();
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+		headers.set(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken);
+		MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+		form.add("token", accessToken);
+		HttpEntity<MultiValueMap<String, String>> restRequest = new HttpEntity<>(form, headers);
+		AuthServiceBlockingStub authorizedStub = stub.withInterceptors(authorization(accessToken));
+		VerifyRequest grpcRequest = VerifyRequest.newBuilder().setToken(accessToken).build();
+
+		// when
+		double rest = measureThroughput(() -> restTemplate.exchange("/token/introspect",
+			HttpMethod.POST, restRequest, IntrospectionDto.class).getBody());
+		double grpc = measureThroughput(() -> authorizedStub.verify(grpcRequest));
+
+		// then
+		System.out.printf("verify REST       (%d threads): %.0f calls/s%n", THREADS, rest);
+		System.out.printf("verify gRPC unary (%d threads): %.0f calls/s%n", THREADS, grpc);
+	}
+
+	@Test
+	void 재발급_REST_gRPC_비교() {
+		// given
+		String[] restToken = {restLogin().getRefreshToken()};
+		String[] grpcToken = {stub.login(LoginRequest.newBuilder()
+			.setEmail("test1@test.com")
+			.setPassword("password")
+			.build()).getRefreshToken()};
+
+		// when, 리프레시 토큰은 교체되므로 매번 새로 받은 토큰으로 재발급
+		long rest = measure(() -> {
+			HttpHeaders headers = new HttpHeaders();
+			headers.set(JwtFilter.REFRESH_HEADER, "Bearer " + restToken[0]);
+			restToken[0] = restTemplate.exchange("/token/refresh", HttpMethod.GET,
+				new HttpEntity<>(headers), TokenDto.class).getBody().getRefreshToken();
+		});
+		long grpc = measure(() -> grpcToken[0] = stub.refresh(RefreshRequest.newBuilder()
+			.setRefreshToken(grpcToken[0])
+			.build()).getRefreshToken());
+
+		// then
+		System.out.printf("refresh REST       : %.1f us/call%n", rest / 1e3);
+		System.out.printf("refresh gRPC unary : %.1f us/call%n", grpc / 1e3);
+	}
+
+	private TokenDto restLogin() {
+		return restTemplate.postForObject("/user/login", LoginDto.builder()
+			.email("test1@test.com")
+			.password("password")
+			.build(), TokenDto.class);
+	}
+
+	// 호출 1회당 평균 지연 시간(ns)
+	private long measure(Runnable call) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			call.run();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			call.run();
+		}
+		return (System.nanoTime() - start) / ITERATIONS;
+	}
+
+	// THREADS 개 스레드가 각각 ITERATIONS 번 호출할 때의 초당 호출 수
+	private double measureThroughput(Runnable call) throws Exception {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			call.run();
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < ITERATIONS; i++) {
+						call.run();
+					}
+					return null;
+				}));
+			}
+			long startedAt = System.nanoTime();
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+			return (double) THREADS * ITERATIONS / ((System.nanoTime() - startedAt) / 1e9);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// 하나의 stream 으로 ITERATIONS 개를 보내고 모든 응답을 받을 때까지의 토큰 1개당 시간(ns)
+	private long measureStream(String accessToken, VerifyRequest request)
+		throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		StreamObserver<VerifyRequest> requests = AuthServiceGrpc.newStub(channel)
+			.withInterceptors(authorization(accessToken))
+			.verifyStream(new StreamObserver<>() {
+				@Override
+				public void onNext(VerifyReply reply) {
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					done.countDown();
+				}
+
+				@Override
+				public void onCompleted() {
+					done.countDown();
+				}
+			});
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			requests.onNext(request);
+		}
+		requests.onCompleted();
+		assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+		return (System.nanoTime() - start) / ITERATIONS;
+	}
+
+	private static ClientInterceptor authorization(String accessToken) {
+		Metadata headers = new Metadata();
+		headers.put(GrpcAuthenticationInterceptor.AUTHORIZATION_KEY, "Bearer " + accessToken);
+		return MetadataUtils.newAttachHeadersInterceptor(headers);
+	}
+
+	@TestConfiguration
+	static class GrpcServerPortConfig {
+
+		@Bean
+		GrpcServerPort grpcServerPort() {
+			return new GrpcServerPort();
+		}
+	}
+
+	// grpc.server.port=0 으로 실제 bind 된 port 를 서버 시작 이벤트에서 받는다
+	static class GrpcServerPort {
+
+		private volatile int port;
+
+		@EventListener
+		public void onStarted(GrpcServerStartedEvent event) {
+			port = event.getPort();
+		}
+	}
+}
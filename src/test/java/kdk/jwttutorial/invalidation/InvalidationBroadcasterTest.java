@@ -0,0 +1,111 @@
+package kdk.jwttutorial.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class InvalidationBroadcasterTest {
+
+	@Test
+	void 같은_대상의_이벤트는_하나로_합쳐서_전송() {
+		// given
+		RecordingInvalidationBus bus = new RecordingInvalidationBus();
+		InvalidationBroadcaster broadcaster = new InvalidationBroadcaster(bus, 256);
+		broadcaster.publish(InvalidationEvent.tokensInvalidated("test1@test.com", 1_000L));
+		broadcaster.publish(InvalidationEvent.userChanged("test1@test.com"));
+		broadcaster.publish(InvalidationEvent.tokensInvalidated("test1@test.com", 2_000L));
+
+		// when
+		broadcaster.flush();
+
+		// then
+		assertThat(bus.batches).containsExactly(List.of(
+			InvalidationEvent.tokensInvalidated("test1@test.com", 2_000L),
+			InvalidationEvent.userChanged("test1@test.com")));
+	}
+
+	@Test
+	void 최대_크기가_되면_바로_전송() {
+		// given
+		RecordingInvalidationBus bus = new RecordingInvalidationBus();
+		InvalidationBroadcaster broadcaster = new InvalidationBroadcaster(bus, 2);
+
+		// when
+		broadcaster.publish(InvalidationEvent.tokenRevoked("jti-1", 1_000L));
+		broadcaster.publish(InvalidationEvent.tokenRevoked("jti-2", 1_000L));
+		broadcaster.publish(InvalidationEvent.tokenRevoked("jti-3", 1_000L));
+
+		// then
+		assertThat(bus.batches).hasSize(1);
+		assertThat(bus.batches.get(0)).hasSize(2);
+	}
+
+	@Test
+	void 전송에_실패한_이벤트는_다음_주기에_다시_전송() {
+		// given
+		RecordingInvalidationBus bus = new RecordingInvalidationBus();
+		InvalidationBroadcaster broadcaster = new InvalidationBroadcaster(bus, 256);
+		broadcaster.publish(InvalidationEvent.tokenRevoked("jti-1", 1_000L));
+		bus.failNext = true;
+		broadcaster.flush();
+
+		// when
+		broadcaster.flush();
+
+		// then
+		assertThat(bus.batches).containsExactly(
+			List.of(InvalidationEvent.tokenRevoked("jti-1", 1_000L)));
+	}
+
+	@Test
+	void 다른_노드에서_보낸_이벤트_수신() throws InterruptedException {
+		// given
+		String channel = UUID.randomUUID().toString();
+		LoopbackInvalidationBus senderBus = new LoopbackInvalidationBus(channel);
+		LoopbackInvalidationBus receiverBus = new LoopbackInvalidationBus(channel);
+		InvalidationBroadcaster sender = new InvalidationBroadcaster(senderBus, 256);
+		InvalidationBroadcaster receiver = new InvalidationBroadcaster(receiverBus, 256);
+		BlockingQueue<InvalidationEvent> senderEvents = new LinkedBlockingQueue<>();
+		BlockingQueue<InvalidationEvent> receiverEvents = new LinkedBlockingQueue<>();
+		sender.subscribe(senderEvents::add);
+		receiver.subscribe(receiverEvents::add);
+
+		// when
+		sender.publish(InvalidationEvent.userChanged("test1@test.com"));
+		sender.flush();
+
+		// then
+		assertThat(receiverEvents.poll(5, TimeUnit.SECONDS))
+			.isEqualTo(InvalidationEvent.userChanged("test1@test.com"));
+		assertTrue(senderEvents.isEmpty());
+		senderBus.destroy();
+		receiverBus.destroy();
+	}
+
+	private static class RecordingInvalidationBus implements InvalidationBus {
+
+		private final List<List<InvalidationEvent>> batches = new ArrayList<>();
+		private boolean failNext;
+
+		@Override
+		public void send(List<InvalidationEvent> events) {
+			if (failNext) {
+				failNext = false;
+				throw new IllegalStateException("broker unavailable");
+			}
+			batches.add(List.copyOf(events));
+		}
+
+		@Override
+		public void subscribe(Consumer<List<InvalidationEvent>> subscriber) {
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package kdk.jwttutorial.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 한 노드에서 토큰을 폐기한 뒤 나머지 모든 노드에 반영될 때까지의 시간을 측정한다. ./gradlew benchmark 로 실행
+ */
+@Tag("benchmark")
+class InvalidationLatencyBenchmarkTest {
+
+	private static final int NODES = 3;
+	private static final int WARMUP_ITERATIONS = 50;
+	private static final int ITERATIONS = 500;
+
+	@Test
+	void 노드_사이_폐기_전파_지연_측정() {
+		try (LocalCluster cluster = LocalCluster.start(NODES)) {
+			// given
+			for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+				propagate(cluster, i);
+			}
+
+			// when
+			long[] latencies = new long[ITERATIONS];
+			for (int i = 0; i < ITERATIONS; i++) {
+				latencies[i] = propagate(cluster, i);
+			}
+
+			// then
+			Arrays.sort(latencies);
+			System.out.printf("revocation propagation (%d nodes): p50 %.2f ms, p99 %.2f ms, "
+					+ "max %.2f ms%n", NODES, toMillis(latencies[ITERATIONS / 2]),
+				toMillis(latencies[ITERATIONS * 99 / 100]), toMillis(latencies[ITERATIONS - 1]));
+			assertThat(latencies[ITERATIONS - 1]).isLessThan(TimeUnit.SECONDS.toNanos(5));
+		}
+	}
+
+	// 폐기한 노드를 바꿔 가며, 나머지 노드 모두에 반영될 때까지 걸린 시간(ns)
+	private long propagate(LocalCluster cluster, int iteration) {
+		String tokenId = UUID.randomUUID().toString();
+		long start = System.nanoTime();
+		cluster.bean(iteration % NODES, TokenRevocationStore.class)
+			.revoke(tokenId, System.currentTimeMillis() + 600_000);
+		for (int node = 0; node < NODES; node++) {
+			TokenRevocationStore store = cluster.bean(node, TokenRevocationStore.class);
+			LocalCluster.await(() -> store.isRevoked(tokenId), Duration.ofSeconds(5));
+		}
+		return System.nanoTime() - start;
+	}
+
+	private double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
@@ -0,0 +1,74 @@
+package kdk.jwttutorial.invalidation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import kdk.jwttutorial.JwtTutorialApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 한 JVM 에 application context 를 여러 개 띄워 노드처럼 사용한다. 노드끼리는 같은 channel 의
+ * {@link LoopbackInvalidationBus} 로 무효화 이벤트를 주고받는다. DB 는 노드마다 따로 두므로, 다른 노드의 DB 에 반영된 것처럼
+ * 만들려면 테스트에서 해당 노드의 repository 에 직접 저장한다.
+ */
+final class LocalCluster implements AutoCloseable {
+
+	private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+	private LocalCluster() {
+	}
+
+	static LocalCluster start(int nodeCount) {
+		String channel = UUID.randomUUID().toString();
+		LocalCluster cluster = new LocalCluster();
+		try {
+			for (int i = 0; i < nodeCount; i++) {
+				cluster.nodes.add(new SpringApplicationBuilder(JwtTutorialApplication.class)
+					.properties(
+						"server.port=0",
+						"spring.datasource.url=jdbc:h2:mem:" + channel + "-" + i,
+						"spring.main.banner-mode=off",
+						"invalidation.loopback.channel=" + channel)
+					.run());
+			}
+		} catch (RuntimeException e) {
+			cluster.close();
+			throw e;
+		}
+		return cluster;
+	}
+
+	/**
+	 * condition 이 참이 될 때까지 기다린다.
+	 *
+	 * @return 기다린 시간(ns)
+	 */
+	static long await(BooleanSupplier condition, Duration timeout) {
+		long start = System.nanoTime();
+		long deadline = start + timeout.toNanos();
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError(timeout + " 안에 반영되지 않았습니다");
+			}
+			Thread.onSpinWait();
+		}
+		return System.nanoTime() - start;
+	}
+
+	int size() {
+		return nodes.size();
+	}
+
+	<T> T bean(int node, Class<T> type) {
+		return nodes.get(node).getBean(type);
+	}
+
+	@Override
+	public void close() {
+		nodes.forEach(ConfigurableApplicationContext::close);
+		nodes.clear();
+	}
+}
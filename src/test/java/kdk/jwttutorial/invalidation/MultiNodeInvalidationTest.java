@@ -0,0 +1,97 @@
+package kdk.jwttutorial.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
+import kdk.jwttutorial.security.jwt.revocation.TokenWatermarkService;
+import kdk.jwttutorial.user.User;
+import kdk.jwttutorial.user.UserDtoCache;
+import kdk.jwttutorial.user.UserRepository;
+import kdk.jwttutorial.user.UserService;
+import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.dto.UserDto;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class MultiNodeInvalidationTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private static LocalCluster cluster;
+
+	@BeforeAll
+	static void startCluster() {
+		cluster = LocalCluster.start(3);
+	}
+
+	@AfterAll
+	static void stopCluster() {
+		cluster.close();
+	}
+
+	@Test
+	void 토큰_폐기_전파_성공() {
+		// given
+		String tokenId = UUID.randomUUID().toString();
+
+		// when
+		cluster.bean(0, TokenRevocationStore.class)
+			.revoke(tokenId, System.currentTimeMillis() + 600_000);
+
+		// then
+		for (int node = 1; node < cluster.size(); node++) {
+			TokenRevocationStore store = cluster.bean(node, TokenRevocationStore.class);
+			LocalCluster.await(() -> store.isRevoked(tokenId), TIMEOUT);
+		}
+	}
+
+	@Test
+	void 사용자_토큰_일괄_폐기_전파_성공() {
+		// given
+		String email = UUID.randomUUID() + "@test.com";
+		VerifiedToken token = VerifiedToken.builder()
+			.subject(email)
+			.issuedAt(System.currentTimeMillis() - 10_000)
+			.expiration(System.currentTimeMillis() + 600_000)
+			.build();
+
+		// when
+		cluster.bean(1, TokenWatermarkService.class).invalidateAll(email);
+
+		// then
+		for (int node = 0; node < cluster.size(); node++) {
+			TokenRevocationStore store = cluster.bean(node, TokenRevocationStore.class);
+			LocalCluster.await(() -> store.isRevoked(token), TIMEOUT);
+		}
+	}
+
+	@Test
+	void 사용자_정보_변경_전파_성공() {
+		// given
+		String email = UUID.randomUUID() + "@test.com";
+		UserDtoCache otherNodeCache = cluster.bean(1, UserDtoCache.class);
+		assertThat(otherNodeCache.get(email)).isEmpty();
+		// 공유 DB 에 저장된 것처럼 다른 노드의 DB 에도 저장
+		cluster.bean(1, UserRepository.class).save(User.builder()
+			.email(email)
+			.password("password")
+			.nickname("test1")
+			.authorities(Collections.singleton(Authority.createUserRole()))
+			.build());
+
+		// when
+		cluster.bean(0, UserService.class).signup(UserDto.builder()
+			.email(email)
+			.password("password")
+			.nickname("test1")
+			.build());
+
+		// then
+		LocalCluster.await(() -> otherNodeCache.get(email).isPresent(), TIMEOUT);
+	}
+}
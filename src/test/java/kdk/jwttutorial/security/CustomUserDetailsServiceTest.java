@@ -2,20 +2,32 @@ package kdk.jwttutorial.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.util.Collections;
+import java.util.Optional;
 import kdk.jwttutorial.error.ErrorCode;
 import kdk.jwttutorial.user.User;
 import kdk.jwttutorial.user.UserRepository;
 import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.directory.UserDirectory;
 import kdk.jwttutorial.user.dto.UserDto;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 @SpringBootTest
@@ -26,6 +38,8 @@ class CustomUserDetailsServiceTest {
 	private CustomUserDetailsService customUserDetailsService;
 	@Autowired
 	private UserRepository userRepository;
+	@SpyBean
+	private PlatformTransactionManager transactionManager;
 	private BCryptPasswordEncoder passwordEncoder;
 
 	@BeforeEach
@@ -33,6 +47,11 @@ class CustomUserDetailsServiceTest {
 		passwordEncoder = new BCryptPasswordEncoder();
 	}
 
+	@AfterEach
+	void tearDown() {
+		customUserDetailsService.evictAll();
+	}
+
 	@Test
 	void 이메일로_사용자_조회_성공() {
 		// given
@@ -61,6 +80,74 @@ class CustomUserDetailsServiceTest {
 		assertThat(e.getMessage()).isEqualTo(ErrorCode.USER_NOT_FOUND.getMessage());
 	}
 
+	@Test
+	void 이메일로_사용자_조회_캐시_사용() {
+		// given
+		String email = "test1@test.com";
+		User user = userRepository.save(createUser(email, "password", "test1"));
+		UserDetails cached = customUserDetailsService.loadUserByUsername(email);
+		userRepository.delete(user);
+		userRepository.flush();
+
+		// when
+		UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+
+		// then
+		assertThat(userDetails.getUsername()).isEqualTo(email);
+		assertThat(userDetails).isNotSameAs(cached);
+	}
+
+	@Test
+	void 이메일로_사용자_조회_캐시_사용시_트랜잭션_시작하지_않음() {
+		// given
+		String email = "test1@test.com";
+		userRepository.save(createUser(email, "password", "test1"));
+		customUserDetailsService.loadUserByUsername(email);
+		clearInvocations(transactionManager);
+
+		// when
+		customUserDetailsService.loadUserByUsername(email);
+
+		// then
+		then(transactionManager).should(never()).getTransaction(any());
+	}
+
+	@Test
+	void 이메일로_사용자_조회_캐시_사용시_repository_조회하지_않음() {
+		// given
+		String email = "test1@test.com";
+		UserRepository repository = mock(UserRepository.class);
+		given(repository.findOneWithAuthoritiesByEmail(email))
+			.willReturn(Optional.of(createUser(email, "password", "test1")));
+		CustomUserDetailsService service = new CustomUserDetailsService(repository,
+			mock(UserDirectory.class), 100, 60);
+		service.loadUserByUsername(email);
+
+		// when
+		service.loadUserByUsername(email);
+
+		// then
+		then(repository).should().findOneWithAuthoritiesByEmail(email);
+		verifyNoMoreInteractions(repository);
+	}
+
+	@Test
+	void 이메일로_사용자_조회_캐시_무효화() {
+		// given
+		String email = "test1@test.com";
+		User user = userRepository.save(createUser(email, "password", "test1"));
+		customUserDetailsService.loadUserByUsername(email);
+		userRepository.delete(user);
+		userRepository.flush();
+
+		// when
+		customUserDetailsService.evict(email);
+
+		// then
+		assertThrows(UsernameNotFoundException.class,
+			() -> customUserDetailsService.loadUserByUsername(email));
+	}
+
 	private User createUser(String email, String password, String nickname) {
 		UserDto userDto = UserDto.builder()
 			.email(email)
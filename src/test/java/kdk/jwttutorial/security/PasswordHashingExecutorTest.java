@@ -0,0 +1,72 @@
+package kdk.jwttutorial.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import kdk.jwttutorial.security.exception.PasswordHashingRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class PasswordHashingExecutorTest {
+
+	private PasswordHashingExecutor passwordHashingExecutor;
+
+	@BeforeEach
+	void setUp() {
+		passwordHashingExecutor = new PasswordHashingExecutor(1, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		passwordHashingExecutor.destroy();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void 작업_실행_SecurityContext_전파() {
+		// given
+		Authentication authentication =
+			new UsernamePasswordAuthenticationToken("test1@test.com", "password");
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+
+		// when
+		Authentication result = passwordHashingExecutor.submit(
+			() -> SecurityContextHolder.getContext().getAuthentication()).join();
+
+		// then
+		assertThat(result).isSameAs(authentication);
+	}
+
+	@Test
+	void 작업_실행_예외_대기열_초과() {
+		// given
+		CountDownLatch latch = new CountDownLatch(1);
+		CompletableFuture<Boolean> running = passwordHashingExecutor.submit(() -> await(latch));
+		CompletableFuture<Boolean> queued = passwordHashingExecutor.submit(() -> await(latch));
+
+		// when
+		assertThrows(PasswordHashingRejectedException.class,
+			() -> passwordHashingExecutor.submit(() -> await(latch)));
+		latch.countDown();
+
+		// then
+		assertThat(running.join()).isTrue();
+		assertThat(queued.join()).isTrue();
+	}
+
+	private boolean await(CountDownLatch latch) {
+		try {
+			latch.await();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
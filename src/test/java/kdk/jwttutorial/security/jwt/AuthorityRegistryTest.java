@@ -0,0 +1,60 @@
+package kdk.jwttutorial.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import kdk.jwttutorial.user.EnumAuthority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+class AuthorityRegistryTest {
+
+	private AuthorityRegistry authorityRegistry;
+
+	@BeforeEach
+	void setUp() {
+		authorityRegistry = new AuthorityRegistry();
+	}
+
+	@Test
+	void 권한_목록_변환_성공() {
+		// when
+		List<GrantedAuthority> authorities = authorityRegistry.getAuthorities("ROLE_USER,ROLE_ADMIN");
+
+		// then
+		assertThat(authorities).extracting(GrantedAuthority::getAuthority)
+			.containsExactly(EnumAuthority.ROLE_USER.name(), EnumAuthority.ROLE_ADMIN.name());
+	}
+
+	@Test
+	void 같은_claim_값은_같은_목록_반환() {
+		// when
+		List<GrantedAuthority> first = authorityRegistry.getAuthorities("ROLE_USER,ROLE_ADMIN");
+		List<GrantedAuthority> second = authorityRegistry.getAuthorities("ROLE_USER,ROLE_ADMIN");
+		List<GrantedAuthority> user = authorityRegistry.getAuthorities("ROLE_USER");
+
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(user.get(0)).isSameAs(first.get(0));
+	}
+
+	@Test
+	void 권한_목록_변경_불가() {
+		// given
+		List<GrantedAuthority> authorities = authorityRegistry.getAuthorities("ROLE_USER");
+
+		// when, then
+		assertThrows(UnsupportedOperationException.class, () -> authorities.clear());
+	}
+
+	@Test
+	void 권한_claim_이_없으면_빈_목록_반환() {
+		// when
+		List<GrantedAuthority> authorities = authorityRegistry.getAuthorities(null);
+
+		// then
+		assertThat(authorities).isEmpty();
+	}
+}
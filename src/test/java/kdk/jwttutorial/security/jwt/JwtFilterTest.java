@@ -0,0 +1,57 @@
+package kdk.jwttutorial.security.jwt;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.user.EnumAuthority;
+import kdk.jwttutorial.user.auth.dto.AuthorityDto;
+import kdk.jwttutorial.user.dto.UserDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtFilterTest {
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private TokenProvider tokenProvider;
+
+	@Test
+	void 인증_예외_리프레시토큰을_Bearer_토큰으로_사용() throws Exception {
+		// given
+		String refreshToken = tokenProvider.createToken(createUserDto("test1@test.com"),
+			EnumToken.REFRESH);
+
+		// when
+		ResultActions actions = mvc.perform(
+			get("/user/myInfo")
+				.accept(MediaType.APPLICATION_JSON)
+				.header(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + refreshToken)
+		);
+
+		// then
+		actions
+			.andExpect(status().isUnauthorized())
+			.andExpect(jsonPath("code").value(ErrorCode.INVALID_TOKEN_TYPE.getCode()));
+	}
+
+	private UserDto createUserDto(String email) {
+		return UserDto.builder()
+			.email(email)
+			.password("password")
+			.nickname("test1")
+			.authorityDtoSet(Collections.singleton(
+				AuthorityDto.builder().authorityName(EnumAuthority.ROLE_USER.name()).build()))
+			.build();
+	}
+}
@@ -4,11 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collections;
+import kdk.jwttutorial.security.CustomUserDetailsService;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
 import kdk.jwttutorial.user.User;
 import kdk.jwttutorial.user.UserRepository;
 import kdk.jwttutorial.user.auth.Authority;
 import kdk.jwttutorial.user.dto.LoginDto;
 import kdk.jwttutorial.user.dto.UserDto;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +33,13 @@ class JwtServiceTest {
 	private PasswordEncoder passwordEncoder;
 	@Autowired
 	private TokenProvider tokenProvider;
+	@Autowired
+	private CustomUserDetailsService customUserDetailsService;
+
+	@AfterEach
+	void tearDown() {
+		customUserDetailsService.evictAll();
+	}
 
 	@Test
 	void 액세스토큰_생성_성공() {
@@ -91,6 +101,37 @@ class JwtServiceTest {
 		assertThat(e.getMessage()).isEqualTo("자격 증명에 실패하였습니다.");
 	}
 
+	@Test
+	void 토큰쌍_생성_성공() {
+		// given
+		String email = "test1@test.com";
+		userRepository.save(createUser(email, "password", "test1"));
+
+		// when
+		TokenDto tokenDto = jwtService.getJwtPair(createLoginDto(email, "password"));
+
+		// then
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		assertTrue(tokenProvider.validateToken(request, tokenDto.getAccessToken()));
+		assertTrue(tokenProvider.validateToken(request, tokenDto.getRefreshToken()));
+		assertThat(tokenProvider.getSubject(tokenDto.getAccessToken())).isEqualTo(email);
+		assertThat(tokenProvider.getSubject(tokenDto.getRefreshToken())).isEqualTo(email);
+	}
+
+	@Test
+	void 토큰쌍_생성_예외_계정정보_불일치() {
+		// given
+		String email = "test1@test.com";
+
+		// when
+		BadCredentialsException e = Assertions.assertThrows(BadCredentialsException.class,
+			() -> jwtService.getJwtPair(createLoginDto(email, "password"))
+		);
+
+		// then
+		assertThat(e.getMessage()).isEqualTo("자격 증명에 실패하였습니다.");
+	}
+
 	private LoginDto createLoginDto(String email, String password) {
 		return LoginDto.builder()
 			.email(email)
@@ -0,0 +1,103 @@
+package kdk.jwttutorial.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import kdk.jwttutorial.security.CustomUserDetailsService;
+import kdk.jwttutorial.user.User;
+import kdk.jwttutorial.user.UserRepository;
+import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.dto.LoginDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 로그인 1회당 지연 시간과 CPU 시간을 비교한다. ./gradlew benchmark 로 실행
+ */
+@SpringBootTest
+@Transactional
+@Tag("benchmark")
+class LoginBenchmarkTest {
+
+	private static final int WARMUP_ITERATIONS = 20;
+	private static final int ITERATIONS = 100;
+
+	@Autowired
+	private JwtService jwtService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	@Autowired
+	private CustomUserDetailsService customUserDetailsService;
+
+	@AfterEach
+	void tearDown() {
+		customUserDetailsService.evictAll();
+	}
+
+	@Test
+	void 로그인_토큰_발급_비용_비교() {
+		// given
+		userRepository.save(User.builder()
+			.email("test1@test.com")
+			.password(passwordEncoder.encode("password"))
+			.nickname("test1")
+			.authorities(Collections.singleton(Authority.createUserRole()))
+			.build());
+		LoginDto loginDto = LoginDto.builder()
+			.email("test1@test.com")
+			.password("password")
+			.build();
+
+		// when
+		Measurement before = measure(() -> {
+			jwtService.getJwt(loginDto, EnumToken.ACCESS);
+			jwtService.getJwt(loginDto, EnumToken.REFRESH);
+		});
+		Measurement after = measure(() -> jwtService.getJwtPair(loginDto));
+
+		// then
+		System.out.printf("login (getJwt x2) : %s%n", before);
+		System.out.printf("login (getJwtPair): %s%n", after);
+		assertThat(after.cpuNanos).isLessThan(before.cpuNanos);
+	}
+
+	private Measurement measure(Runnable login) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			login.run();
+		}
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		long cpuStart = threadMXBean.getCurrentThreadCpuTime();
+		long wallStart = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			login.run();
+		}
+		return new Measurement((System.nanoTime() - wallStart) / ITERATIONS,
+			(threadMXBean.getCurrentThreadCpuTime() - cpuStart) / ITERATIONS);
+	}
+
+	private static class Measurement {
+
+		private final long wallNanos;
+		private final long cpuNanos;
+
+		private Measurement(long wallNanos, long cpuNanos) {
+			this.wallNanos = wallNanos;
+			this.cpuNanos = cpuNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("latency %.2f ms/login, cpu %.2f ms/login", wallNanos / 1e6,
+				cpuNanos / 1e6);
+		}
+	}
+}
@@ -1,21 +1,36 @@
 package kdk.jwttutorial.security.jwt;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Collections;
-import kdk.jwttutorial.security.jwt.exception.InvalidTokenException;
+import java.util.Optional;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.error.GlobalExceptionHandler;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.invalidation.InvalidationBroadcaster;
+import kdk.jwttutorial.security.jwt.refresh.RefreshCoalescer;
+import kdk.jwttutorial.security.jwt.refresh.RefreshTokenRepository;
+import kdk.jwttutorial.security.jwt.refresh.RefreshTokenService;
+import kdk.jwttutorial.security.jwt.refresh.RefreshTokenStatus;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
+import kdk.jwttutorial.security.jwt.revocation.TokenWatermarkRepository;
+import kdk.jwttutorial.security.jwt.revocation.TokenWatermarkService;
+import kdk.jwttutorial.user.AuthorityVersionCache;
 import kdk.jwttutorial.user.EnumAuthority;
 import kdk.jwttutorial.user.UserService;
 import kdk.jwttutorial.user.auth.dto.AuthorityDto;
 import kdk.jwttutorial.user.dto.UserDto;
-import org.assertj.core.api.AbstractThrowableAssert;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +40,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -44,27 +61,57 @@ class TokenControllerTest {
 	private TokenProvider tokenProvider;
 	@MockBean
 	private UserService userService;
+	@MockBean
+	private InvalidationBroadcaster invalidationBroadcaster;
+	@MockBean
+	private AuthorityVersionCache authorityVersionCache;
+	@Autowired
+	private TokenWatermarkRepository tokenWatermarkRepository;
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+	private TokenRevocationStore tokenRevocationStore;
+	private RefreshTokenService refreshTokenService;
 
 	@BeforeEach
 	void setUp() {
-		mvc = MockMvcBuilders.standaloneSetup(new TokenController(tokenProvider, userService))
+		tokenRevocationStore = new TokenRevocationStore(1000, 0.01);
+		TokenWatermarkService tokenWatermarkService = new TokenWatermarkService(
+			tokenWatermarkRepository, tokenRevocationStore, 604800);
+		refreshTokenService = new RefreshTokenService(refreshTokenRepository, 604800, 1000, 0);
+		mvc = MockMvcBuilders.standaloneSetup(
+				new TokenController(tokenProvider, userService, tokenRevocationStore,
+					tokenWatermarkService, refreshTokenService,
+					new TokenRefreshService(tokenProvider, userService, tokenRevocationStore,
+						refreshTokenService, authorityVersionCache,
+						new RefreshCoalescer(0, 100, 1))))
+			.setControllerAdvice(new GlobalExceptionHandler())
 			.addFilters(new CharacterEncodingFilter("UTF-8", true))
 			.build();
 	}
 
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
 	@Test
 	void 토큰_재발급_성공() throws Exception {
 		// given
 		String email = "test1@test.com";
 		String accessToken = "accessToken";
 		String refreshToken = "refreshToken";
-		given(tokenProvider.validateToken(any(), any())).willReturn(true);
-		given(tokenProvider.getSubject(any())).willReturn(email);
+		String rotatedRefreshToken = "rotatedRefreshToken";
+		given(tokenProvider.verify(any(), eq(EnumToken.REFRESH))).willReturn(
+			TokenVerification.success(VerifiedToken.builder().subject(email).build())
+		);
 		given(userService.getUserWithAuthorities(email)).willReturn(
 			createUserDto(email, "password", "test1")
 		);
 		given(tokenProvider.createToken((UserDto) any(), eq(EnumToken.ACCESS)))
 			.willReturn(accessToken);
+		given(tokenProvider.createToken((UserDto) any(), eq(EnumToken.REFRESH)))
+			.willReturn(rotatedRefreshToken);
+		refreshTokenService.register(refreshToken, email);
 
 		// when
 		String requestUrl = "/token/refresh";
@@ -80,32 +127,216 @@ class TokenControllerTest {
 		actions
 			.andExpect(status().isOk())
 			.andExpect(header().string(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + accessToken))
-			.andExpect(header().string(JwtFilter.REFRESH_HEADER, "Bearer " + refreshToken))
+			.andExpect(
+				header().string(JwtFilter.REFRESH_HEADER, "Bearer " + rotatedRefreshToken))
 			.andExpect(jsonPath("accessToken").value(accessToken))
-			.andExpect(jsonPath("refreshToken").value(refreshToken));
+			.andExpect(jsonPath("refreshToken").value(rotatedRefreshToken));
+	}
+
+	@Test
+	void 토큰_재발급_권한_버전이_같으면_사용자_조회_생략() throws Exception {
+		// given
+		String email = "test1@test.com";
+		VerifiedToken verifiedToken = VerifiedToken.builder()
+			.subject(email)
+			.refreshAuthorities(EnumAuthority.ROLE_USER.name())
+			.authorityVersion(3L)
+			.build();
+		given(tokenProvider.verify(any(), eq(EnumToken.REFRESH)))
+			.willReturn(TokenVerification.success(verifiedToken));
+		given(authorityVersionCache.get(email)).willReturn(Optional.of(3L));
+		given(tokenProvider.createTokenPair(verifiedToken)).willReturn(TokenDto.builder()
+			.accessToken("accessToken")
+			.refreshToken("rotatedRefreshToken")
+			.build());
+		refreshTokenService.register("refreshToken", email);
+
+		// when
+		ResultActions actions = mvc.perform(
+			get("/token/refresh").header(JwtFilter.REFRESH_HEADER, "Bearer refreshToken"));
+
+		// then
+		actions
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("refreshToken").value("rotatedRefreshToken"));
+		then(userService).should(never()).getUserWithAuthorities(any());
+	}
+
+	@Test
+	void 토큰_재발급_권한_버전이_다르면_사용자_조회() throws Exception {
+		// given
+		String email = "test1@test.com";
+		given(tokenProvider.verify(any(), eq(EnumToken.REFRESH)))
+			.willReturn(TokenVerification.success(VerifiedToken.builder()
+				.subject(email)
+				.refreshAuthorities(EnumAuthority.ROLE_USER.name())
+				.authorityVersion(3L)
+				.build()));
+		given(authorityVersionCache.get(email)).willReturn(Optional.of(4L));
+		given(userService.getUserWithAuthorities(email)).willReturn(
+			createUserDto(email, "password", "test1")
+		);
+		given(tokenProvider.createToken((UserDto) any(), eq(EnumToken.ACCESS)))
+			.willReturn("accessToken");
+		given(tokenProvider.createToken((UserDto) any(), eq(EnumToken.REFRESH)))
+			.willReturn("rotatedRefreshToken");
+		refreshTokenService.register("refreshToken", email);
+
+		// when
+		ResultActions actions = mvc.perform(
+			get("/token/refresh").header(JwtFilter.REFRESH_HEADER, "Bearer refreshToken"));
+
+		// then
+		actions.andExpect(status().isOk());
+		then(userService).should().getUserWithAuthorities(email);
+		then(tokenProvider).should(never()).createTokenPair(any(VerifiedToken.class));
+	}
+
+	@Test
+	void 토큰_재발급_예외_재사용된_토큰() throws Exception {
+		// given
+		String email = "test1@test.com";
+		given(tokenProvider.verify(any(), eq(EnumToken.REFRESH))).willReturn(
+			TokenVerification.success(VerifiedToken.builder().subject(email).build())
+		);
+		given(userService.getUserWithAuthorities(email)).willReturn(
+			createUserDto(email, "password", "test1")
+		);
+		given(tokenProvider.createToken((UserDto) any(), eq(EnumToken.ACCESS)))
+			.willReturn("accessToken");
+		given(tokenProvider.createToken((UserDto) any(), eq(EnumToken.REFRESH)))
+			.willReturn("rotatedRefreshToken");
+		refreshTokenService.register("refreshToken", email);
+		mvc.perform(get("/token/refresh").header(JwtFilter.REFRESH_HEADER, "Bearer refreshToken"))
+			.andExpect(status().isOk());
+
+		// when
+		ResultActions actions = mvc.perform(
+			get("/token/refresh")
+				.accept(MediaType.APPLICATION_JSON)
+				.header(JwtFilter.REFRESH_HEADER, "Bearer refreshToken")
+		);
+
+		// then
+		actions
+			.andExpect(status().isUnauthorized())
+			.andExpect(jsonPath("code").value(ErrorCode.REUSED_REFRESH_TOKEN.getCode()))
+			.andExpect(jsonPath("message").value(ErrorCode.REUSED_REFRESH_TOKEN.getMessage()));
+		assertThat(refreshTokenRepository.findAll())
+			.hasSize(2)
+			.allMatch(token -> token.getStatus() == RefreshTokenStatus.REVOKED);
 	}
 
 	@Test
 	void 토큰_재발급_예외_유효하지않음() throws Exception {
 		// given
 		String refreshToken = "refreshToken";
-		given(tokenProvider.validateToken(any(), any())).willReturn(false);
+		given(tokenProvider.verify(any(), eq(EnumToken.REFRESH))).willReturn(
+			TokenVerification.failure(ErrorCode.INVALID_TOKEN)
+		);
 
 		// when
 		String requestUrl = "/token/refresh";
-		AbstractThrowableAssert<?, ? extends Throwable> o = assertThatThrownBy(
-			() ->
-				mvc.perform(
-					get(requestUrl)
-						.contentType(MediaType.APPLICATION_JSON)
-						.accept(MediaType.APPLICATION_JSON)
-						.characterEncoding("UTF-8")
-						.header(JwtFilter.REFRESH_HEADER, "Bearer " + refreshToken)
-				)
+		ResultActions actions = mvc.perform(
+			get(requestUrl)
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON)
+				.characterEncoding("UTF-8")
+				.header(JwtFilter.REFRESH_HEADER, "Bearer " + refreshToken)
+		);
+
+		// then
+		actions
+			.andExpect(status().isUnauthorized())
+			.andExpect(jsonPath("code").value(ErrorCode.INVALID_TOKEN.getCode()));
+	}
+
+	@Test
+	void 토큰_재발급_예외_폐기된_토큰() throws Exception {
+		// given
+		long expiration = System.currentTimeMillis() + 600_000;
+		given(tokenProvider.verify(any(), eq(EnumToken.REFRESH))).willReturn(
+			TokenVerification.success(VerifiedToken.builder()
+				.subject("test1@test.com")
+				.expiration(expiration)
+				.id("refresh-jti")
+				.build())
+		);
+		tokenRevocationStore.revoke("refresh-jti", expiration);
+
+		// when
+		ResultActions actions = mvc.perform(
+			get("/token/refresh")
+				.accept(MediaType.APPLICATION_JSON)
+				.header(JwtFilter.REFRESH_HEADER, "Bearer refreshToken")
+		);
+
+		// then
+		actions
+			.andExpect(status().isUnauthorized())
+			.andExpect(jsonPath("code").value(ErrorCode.REVOKED_TOKEN.getCode()));
+	}
+
+	@Test
+	void 토큰_폐기_성공() throws Exception {
+		// given
+		String email = "test1@test.com";
+		long expiration = System.currentTimeMillis() + 600_000;
+		UsernamePasswordAuthenticationToken authentication =
+			new UsernamePasswordAuthenticationToken(email, "accessToken", Collections.emptyList());
+		authentication.setDetails(VerifiedToken.builder()
+			.subject(email)
+			.expiration(expiration)
+			.id("access-jti")
+			.build());
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+		given(tokenProvider.verify("refreshToken", EnumToken.REFRESH)).willReturn(
+			TokenVerification.success(VerifiedToken.builder()
+				.subject(email)
+				.expiration(expiration)
+				.id("refresh-jti")
+				.build())
+		);
+
+		// when
+		ResultActions actions = mvc.perform(
+			post("/token/revoke")
+				.header(JwtFilter.REFRESH_HEADER, "Bearer refreshToken")
 		);
 
 		// then
-		o.getCause().isInstanceOf(InvalidTokenException.class);
+		actions.andExpect(status().isNoContent());
+		assertThat(tokenRevocationStore.isRevoked("access-jti")).isTrue();
+		assertThat(tokenRevocationStore.isRevoked("refresh-jti")).isTrue();
+	}
+
+	@Test
+	void 모든_토큰_폐기_성공() throws Exception {
+		// given
+		String email = "test1@test.com";
+		long now = System.currentTimeMillis();
+		VerifiedToken accessToken = VerifiedToken.builder()
+			.subject(email)
+			.issuedAt(now - 10_000)
+			.expiration(now + 600_000)
+			.build();
+		UsernamePasswordAuthenticationToken authentication =
+			new UsernamePasswordAuthenticationToken(email, "accessToken", Collections.emptyList());
+		authentication.setDetails(accessToken);
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+
+		// when
+		ResultActions actions = mvc.perform(post("/token/revoke-all"));
+
+		// then
+		actions.andExpect(status().isNoContent());
+		assertThat(tokenRevocationStore.isRevoked(accessToken)).isTrue();
+		assertThat(tokenRevocationStore.isRevoked(VerifiedToken.builder()
+			.subject(email)
+			.issuedAt(now + 1_000)
+			.expiration(now + 600_000)
+			.build())).isFalse();
+		assertThat(tokenWatermarkRepository.findById(email)).isPresent();
 	}
 
 	private UserDto createUserDto(String email, String password, String nickname) {
@@ -0,0 +1,168 @@
+package kdk.jwttutorial.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.dto.IntrospectionDto;
+import kdk.jwttutorial.security.jwt.revocation.TokenRevocationStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class TokenIntrospectionServiceTest {
+
+	private TokenProvider tokenProvider;
+	private VerifiedTokenCache verifiedTokenCache;
+	private TokenRevocationStore tokenRevocationStore;
+	private TokenIntrospectionService tokenIntrospectionService;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = mock(TokenProvider.class);
+		verifiedTokenCache = new VerifiedTokenCache(1000);
+		tokenRevocationStore = new TokenRevocationStore(1000, 0.01);
+		tokenIntrospectionService = new TokenIntrospectionService(tokenProvider,
+			verifiedTokenCache, tokenRevocationStore, 2, 4);
+		given(tokenProvider.verify(anyString(), eq(EnumToken.ACCESS)))
+			.willAnswer(invocation -> verification(invocation.getArgument(0)));
+		given(tokenProvider.getAuthentication(anyString(), any(VerifiedToken.class)))
+			.willAnswer(invocation -> createAuthentication(invocation.getArgument(0),
+				invocation.getArgument(1)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		tokenIntrospectionService.destroy();
+	}
+
+	@Test
+	void 토큰_확인_성공() {
+		// when
+		IntrospectionDto result = tokenIntrospectionService.introspect("token-1");
+
+		// then
+		assertThat(result.isActive()).isTrue();
+		assertThat(result.getSub()).isEqualTo("test1@test.com");
+		assertThat(result.getAuthorities()).containsExactly("ROLE_USER");
+		assertThat(result.getJti()).isEqualTo("token-1");
+		assertThat(verifiedTokenCache.get("token-1")).isNotNull();
+	}
+
+	@Test
+	void 캐시된_토큰은_다시_검증하지_않음() {
+		// given
+		VerifiedToken verifiedToken = createVerifiedToken("token-1");
+		verifiedTokenCache.put("token-1", createAuthentication("token-1", verifiedToken),
+			verifiedToken.getExpiration());
+
+		// when
+		IntrospectionDto result = tokenIntrospectionService.introspect("token-1");
+
+		// then
+		assertThat(result.isActive()).isTrue();
+		then(tokenProvider).should(never()).verify(anyString(), eq(EnumToken.ACCESS));
+	}
+
+	@Test
+	void 유효하지_않은_토큰은_비활성() {
+		// given
+		given(tokenProvider.verify("invalid", EnumToken.ACCESS))
+			.willReturn(TokenVerification.failure(ErrorCode.INVALID_TOKEN));
+
+		// when
+		IntrospectionDto result = tokenIntrospectionService.introspect("invalid");
+
+		// then
+		assertThat(result.isActive()).isFalse();
+		assertThat(result.getSub()).isNull();
+	}
+
+	@Test
+	void 폐기된_토큰은_비활성() {
+		// given
+		tokenIntrospectionService.introspect("token-1");
+		tokenRevocationStore.revoke("token-1", System.currentTimeMillis() + 60_000);
+
+		// when
+		IntrospectionDto result = tokenIntrospectionService.introspect("token-1");
+
+		// then
+		assertThat(result.isActive()).isFalse();
+	}
+
+	@Test
+	void 여러_토큰_확인_요청_순서대로_반환() {
+		// given
+		given(tokenProvider.verify("invalid", EnumToken.ACCESS))
+			.willReturn(TokenVerification.failure(ErrorCode.INVALID_TOKEN));
+		tokenIntrospectionService.introspect("token-2");
+
+		// when
+		List<IntrospectionDto> result = tokenIntrospectionService.introspect(
+			Arrays.asList("token-1", "invalid", "token-2", ""));
+
+		// then
+		assertThat(result).extracting(IntrospectionDto::getJti)
+			.containsExactly("token-1", null, "token-2", null);
+		assertThat(result).extracting(IntrospectionDto::isActive)
+			.containsExactly(true, false, true, false);
+	}
+
+	@Test
+	void 많은_토큰은_나누어_검증() {
+		// given
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			tokens.add("token-" + i);
+		}
+
+		// when
+		List<IntrospectionDto> result = tokenIntrospectionService.introspect(tokens);
+
+		// then
+		assertThat(result).hasSize(100);
+		for (int i = 0; i < 100; i++) {
+			assertThat(result.get(i).isActive()).isTrue();
+			assertThat(result.get(i).getJti()).isEqualTo("token-" + i);
+		}
+	}
+
+	private TokenVerification verification(String token) {
+		return TokenVerification.success(createVerifiedToken(token));
+	}
+
+	// 테스트에서는 토큰 문자열을 jti 로 사용
+	private VerifiedToken createVerifiedToken(String token) {
+		long now = System.currentTimeMillis();
+		return VerifiedToken.builder()
+			.subject("test1@test.com")
+			.type(EnumToken.ACCESS)
+			.authorities("ROLE_USER")
+			.issuedAt(now)
+			.expiration(now + 60_000)
+			.id(token)
+			.build();
+	}
+
+	private Authentication createAuthentication(String token, VerifiedToken verifiedToken) {
+		UsernamePasswordAuthenticationToken authentication =
+			new UsernamePasswordAuthenticationToken(verifiedToken.getSubject(), token,
+				Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+		authentication.setDetails(verifiedToken);
+		return authentication;
+	}
+}
@@ -0,0 +1,77 @@
+package kdk.jwttutorial.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Set;
+import kdk.jwttutorial.security.jwt.key.KeysRemovedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class VerifiedTokenCacheTest {
+
+	private VerifiedTokenCache verifiedTokenCache;
+
+	@BeforeEach
+	void setUp() {
+		verifiedTokenCache = new VerifiedTokenCache(100);
+	}
+
+	@Test
+	void 캐시된_토큰_조회_성공() {
+		// given
+		Authentication authentication = createAuthentication("test1@test.com");
+		verifiedTokenCache.put("token", authentication, System.currentTimeMillis() + 60_000);
+
+		// when
+		Authentication result = verifiedTokenCache.get("token");
+
+		// then
+		assertThat(result).isSameAs(authentication);
+		assertThat(verifiedTokenCache.stats().hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void 캐시되지_않은_토큰_조회() {
+		// when
+		Authentication result = verifiedTokenCache.get("token");
+
+		// then
+		assertThat(result).isNull();
+		assertThat(verifiedTokenCache.stats().missCount()).isEqualTo(1);
+	}
+
+	@Test
+	void 키_삭제시_캐시_비움() {
+		// given
+		verifiedTokenCache.put("token", createAuthentication("test1@test.com"),
+			System.currentTimeMillis() + 60_000);
+
+		// when
+		verifiedTokenCache.onKeysRemoved(new KeysRemovedEvent(Set.of("k1")));
+
+		// then
+		assertThat(verifiedTokenCache.get("token")).isNull();
+	}
+
+	@Test
+	void 만료된_토큰은_캐시하지_않음() {
+		// given
+		Authentication authentication = createAuthentication("test1@test.com");
+		verifiedTokenCache.put("token", authentication, System.currentTimeMillis() - 1);
+
+		// when
+		Authentication result = verifiedTokenCache.get("token");
+
+		// then
+		assertThat(result).isNull();
+	}
+
+	private Authentication createAuthentication(String email) {
+		return new UsernamePasswordAuthenticationToken(email, "",
+			Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+	}
+}
@@ -0,0 +1,281 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.EnumToken;
+import kdk.jwttutorial.security.jwt.TokenVerification;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import kdk.jwttutorial.security.jwt.key.KeyRing;
+import kdk.jwttutorial.user.EnumAuthority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class Hs512TokenCodecTest {
+
+	private static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+
+	private static final String ALL_AUTHORITIES =
+		EnumAuthority.ROLE_ADMIN.name() + "," + EnumAuthority.ROLE_USER.name();
+
+	private Hs512TokenCodec hs512TokenCodec;
+	private JjwtTokenCodec jjwtTokenCodec;
+	private Hs512TokenCodec compactHs512TokenCodec;
+	private JjwtTokenCodec compactJjwtTokenCodec;
+
+	@BeforeEach
+	void setUp() {
+		Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		hs512TokenCodec = new Hs512TokenCodec(key);
+		jjwtTokenCodec = new JjwtTokenCodec(key);
+		compactHs512TokenCodec = new Hs512TokenCodec(key, TokenProfile.COMPACT);
+		compactJjwtTokenCodec = new JjwtTokenCodec(key, TokenProfile.COMPACT);
+	}
+
+	@Test
+	void jjwt와_동일한_토큰_생성_성공() {
+		// given
+		TokenClaims claims = createClaims(EnumAuthority.ROLE_USER.name(),
+			System.currentTimeMillis() + 600_000);
+
+		// when
+		String token = hs512TokenCodec.encode(claims);
+
+		// then
+		assertThat(token).isEqualTo(jjwtTokenCodec.encode(claims));
+	}
+
+	@Test
+	void jjwt로_생성한_토큰_검증_성공() {
+		// given
+		TokenClaims claims = createClaims(EnumAuthority.ROLE_USER.name(),
+			System.currentTimeMillis() + 600_000);
+		String token = jjwtTokenCodec.encode(claims);
+
+		// when
+		TokenVerification result = hs512TokenCodec.decode(token);
+
+		// then
+		assertTrue(result.isValid());
+		assertThat(result.getVerifiedToken().getSubject()).isEqualTo(claims.getSubject());
+		assertThat(result.getVerifiedToken().getType()).isEqualTo(EnumToken.ACCESS);
+		assertThat(result.getVerifiedToken().getAuthorities()).isEqualTo(claims.getAuthorities());
+		assertThat(result.getVerifiedToken().getExpiration())
+			.isEqualTo(claims.getExpiration() / 1000 * 1000);
+	}
+
+	@Test
+	void 토큰_검증_예외_유효하지않은_서명() {
+		// given
+		String token = hs512TokenCodec.encode(createClaims(EnumAuthority.ROLE_USER.name(),
+			System.currentTimeMillis() + 600_000));
+		String incorrectToken = token.substring(0, token.length() - 2)
+			+ (token.endsWith("AA") ? "BA" : "AA");
+
+		// when
+		TokenVerification result = hs512TokenCodec.decode(incorrectToken);
+
+		// then
+		assertThat(result.getErrorCode()).isEqualTo(ErrorCode.INCORRECT_SIGNATURE);
+	}
+
+	@Test
+	void 토큰_검증_예외_만료됨() {
+		// given
+		String token = hs512TokenCodec.encode(createClaims(EnumAuthority.ROLE_USER.name(),
+			System.currentTimeMillis() - 600_000));
+
+		// when
+		TokenVerification result = hs512TokenCodec.decode(token);
+
+		// then
+		assertThat(result.getErrorCode()).isEqualTo(ErrorCode.EXPIRED_TOKEN);
+	}
+
+	@Test
+	void compact_토큰_jjwt와_동일하게_생성_성공() {
+		// given
+		TokenClaims claims = createClaims(ALL_AUTHORITIES, System.currentTimeMillis() + 600_000);
+
+		// when
+		String token = compactHs512TokenCodec.encode(claims);
+
+		// then
+		assertThat(token).isEqualTo(compactJjwtTokenCodec.encode(claims));
+		assertThat(token.length()).isLessThan(hs512TokenCodec.encode(claims).length());
+	}
+
+	@Test
+	void compact_토큰_두_형식_모두_검증_성공() {
+		// given
+		TokenClaims claims = createClaims(ALL_AUTHORITIES, System.currentTimeMillis() + 600_000);
+		String token = compactJjwtTokenCodec.encode(claims);
+
+		// when
+		TokenVerification hs512Result = hs512TokenCodec.decode(token);
+		TokenVerification jjwtResult = jjwtTokenCodec.decode(token);
+
+		// then
+		assertThat(hs512Result.getVerifiedToken().getAuthorities()).isEqualTo(ALL_AUTHORITIES);
+		assertThat(jjwtResult.getVerifiedToken().getAuthorities()).isEqualTo(ALL_AUTHORITIES);
+	}
+
+	@Test
+	void compact_설정에서_standard_토큰_검증_성공() {
+		// given
+		TokenClaims claims = createClaims(EnumAuthority.ROLE_USER.name(),
+			System.currentTimeMillis() + 600_000);
+		String token = jjwtTokenCodec.encode(claims);
+
+		// when
+		TokenVerification result = compactHs512TokenCodec.decode(token);
+
+		// then
+		assertTrue(result.isValid());
+		assertThat(result.getVerifiedToken().getAuthorities()).isEqualTo(claims.getAuthorities());
+	}
+
+	@Test
+	void kid_로_이전_키의_토큰_검증_성공() {
+		// given
+		Key oldKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		Key newKey = Keys.hmacShaKeyFor(new byte[64]);
+		AtomicReference<KeyRing> keyRing = new AtomicReference<>(
+			KeyRing.of(Map.of("k1", oldKey), "k1"));
+		Hs512TokenCodec codec = new Hs512TokenCodec(keyRing::get, TokenProfile.STANDARD);
+		TokenClaims claims = createClaims(EnumAuthority.ROLE_USER.name(),
+			System.currentTimeMillis() + 600_000);
+		String oldToken = codec.encode(claims);
+
+		// when
+		keyRing.set(KeyRing.of(Map.of("k1", oldKey, "k2", newKey), "k2"));
+		String newToken = codec.encode(claims);
+
+		// then
+		assertTrue(codec.decode(oldToken).isValid());
+		assertTrue(codec.decode(newToken).isValid());
+		assertThat(newToken).isEqualTo(
+			new JjwtTokenCodec(keyRing::get, TokenProfile.STANDARD).encode(claims));
+		assertTrue(new JjwtTokenCodec(keyRing::get, TokenProfile.STANDARD).decode(oldToken)
+			.isValid());
+	}
+
+	@Test
+	void kid_검증_예외_삭제된_키() {
+		// given
+		Key oldKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		Key newKey = Keys.hmacShaKeyFor(new byte[64]);
+		AtomicReference<KeyRing> keyRing = new AtomicReference<>(
+			KeyRing.of(Map.of("k1", oldKey, "k2", newKey), "k1"));
+		Hs512TokenCodec codec = new Hs512TokenCodec(keyRing::get, TokenProfile.COMPACT);
+		String oldToken = codec.encode(createClaims(EnumAuthority.ROLE_USER.name(),
+			System.currentTimeMillis() + 600_000));
+
+		// when
+		keyRing.set(KeyRing.of(Map.of("k2", newKey), "k2"));
+
+		// then
+		assertThat(codec.decode(oldToken).getErrorCode()).isEqualTo(ErrorCode.INCORRECT_SIGNATURE);
+		assertThat(new JjwtTokenCodec(keyRing::get, TokenProfile.COMPACT).decode(oldToken)
+			.getErrorCode()).isEqualTo(ErrorCode.INCORRECT_SIGNATURE);
+	}
+
+	@Test
+	void jti_포함_토큰_jjwt와_동일하게_생성_성공() {
+		// given
+		TokenClaims claims = TokenClaims.builder()
+			.issuer("kdk")
+			.subject("test1@test.com")
+			.authorities(EnumAuthority.ROLE_USER.name())
+			.issuedAt(System.currentTimeMillis())
+			.expiration(System.currentTimeMillis() + 600_000)
+			.id("x1Rk3f9sQ0a2mVdL7cYbZw")
+			.build();
+
+		// when
+		String token = hs512TokenCodec.encode(claims);
+
+		// then
+		assertThat(token).isEqualTo(jjwtTokenCodec.encode(claims));
+		assertThat(hs512TokenCodec.decode(token).getVerifiedToken().getId())
+			.isEqualTo("x1Rk3f9sQ0a2mVdL7cYbZw");
+		assertThat(jjwtTokenCodec.decode(token).getVerifiedToken().getId())
+			.isEqualTo("x1Rk3f9sQ0a2mVdL7cYbZw");
+	}
+
+	@Test
+	void 권한_버전_포함_리프레시토큰_jjwt와_동일하게_생성_성공() {
+		// given
+		TokenClaims claims = TokenClaims.builder()
+			.issuer("kdk")
+			.subject("test1@test.com")
+			.type(EnumToken.REFRESH)
+			.refreshAuthorities(ALL_AUTHORITIES)
+			.authorityVersion(7L)
+			.issuedAt(System.currentTimeMillis())
+			.expiration(System.currentTimeMillis() + 600_000)
+			.id("x1Rk3f9sQ0a2mVdL7cYbZw")
+			.build();
+
+		// when
+		String token = compactHs512TokenCodec.encode(claims);
+
+		// then
+		assertThat(token).isEqualTo(compactJjwtTokenCodec.encode(claims));
+		VerifiedToken hs512Token = compactHs512TokenCodec.decode(token).getVerifiedToken();
+		VerifiedToken jjwtToken = compactJjwtTokenCodec.decode(token).getVerifiedToken();
+		assertThat(hs512Token.getType()).isEqualTo(EnumToken.REFRESH);
+		assertThat(jjwtToken.getType()).isEqualTo(EnumToken.REFRESH);
+		assertThat(hs512Token.getAuthorities()).isNull();
+		assertThat(hs512Token.getRefreshAuthorities()).isEqualTo(ALL_AUTHORITIES);
+		assertThat(hs512Token.getAuthorityVersion()).isEqualTo(7L);
+		assertThat(jjwtToken.getRefreshAuthorities()).isEqualTo(ALL_AUTHORITIES);
+		assertThat(jjwtToken.getAuthorityVersion()).isEqualTo(7L);
+	}
+
+	@Test
+	void typ_없는_이전_토큰은_권한_claim_으로_용도_판단() {
+		// given
+		long expiration = System.currentTimeMillis() + 600_000;
+		String accessToken = jjwtTokenCodec.encode(TokenClaims.builder()
+			.issuer("kdk")
+			.subject("test1@test.com")
+			.authorities(EnumAuthority.ROLE_USER.name())
+			.issuedAt(System.currentTimeMillis())
+			.expiration(expiration)
+			.build());
+		String refreshToken = jjwtTokenCodec.encode(TokenClaims.builder()
+			.issuer("kdk")
+			.subject("test1@test.com")
+			.issuedAt(System.currentTimeMillis())
+			.expiration(expiration)
+			.build());
+
+		// when
+		VerifiedToken hs512Access = hs512TokenCodec.decode(accessToken).getVerifiedToken();
+		VerifiedToken hs512Refresh = hs512TokenCodec.decode(refreshToken).getVerifiedToken();
+		VerifiedToken jjwtRefresh = jjwtTokenCodec.decode(refreshToken).getVerifiedToken();
+
+		// then
+		assertThat(hs512Access.getType()).isEqualTo(EnumToken.ACCESS);
+		assertThat(hs512Refresh.getType()).isEqualTo(EnumToken.REFRESH);
+		assertThat(jjwtRefresh.getType()).isEqualTo(EnumToken.REFRESH);
+	}
+
+	private TokenClaims createClaims(String authorities, long expiration) {
+		return TokenClaims.builder()
+			.issuer("kdk")
+			.subject("test1@test.com")
+			.type(EnumToken.ACCESS)
+			.authorities(authorities)
+			.issuedAt(System.currentTimeMillis())
+			.expiration(expiration)
+			.build();
+	}
+}
@@ -0,0 +1,121 @@
+package kdk.jwttutorial.security.jwt.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Map;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.TokenVerification;
+import kdk.jwttutorial.security.jwt.key.KeyRing;
+import kdk.jwttutorial.user.EnumAuthority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JjwtTokenCodecTest {
+
+	private KeyPair keyPair;
+	private JjwtTokenCodec es256TokenCodec;
+
+	@BeforeEach
+	void setUp() throws GeneralSecurityException {
+		keyPair = createEcKeyPair();
+		KeyRing keyRing = KeyRing.of(SignatureAlgorithm.ES256, Map.of("k1", keyPair.getPublic()),
+			"k1", keyPair.getPrivate());
+		es256TokenCodec = new JjwtTokenCodec(() -> keyRing, TokenProfile.STANDARD);
+	}
+
+	@Test
+	void ES256_토큰_생성_검증_성공() {
+		// given
+		TokenClaims claims = createClaims(System.currentTimeMillis() + 600_000);
+
+		// when
+		String token = es256TokenCodec.encode(claims);
+		TokenVerification result = es256TokenCodec.decode(token);
+
+		// then
+		assertThat(decodeHeader(token))
+			.isEqualTo("{\"typ\":\"JWT\",\"kid\":\"k1\",\"alg\":\"ES256\"}");
+		assertTrue(result.isValid());
+		assertThat(result.getVerifiedToken().getSubject()).isEqualTo("test1@test.com");
+		assertThat(result.getVerifiedToken().getAuthorities())
+			.isEqualTo(EnumAuthority.ROLE_USER.name());
+	}
+
+	@Test
+	void kid_로_이전_키의_ES256_토큰_검증_성공() throws GeneralSecurityException {
+		// given
+		String token = es256TokenCodec.encode(createClaims(System.currentTimeMillis() + 600_000));
+		KeyPair newKeyPair = createEcKeyPair();
+		KeyRing rotated = KeyRing.of(SignatureAlgorithm.ES256,
+			Map.of("k1", keyPair.getPublic(), "k2", newKeyPair.getPublic()), "k2",
+			newKeyPair.getPrivate());
+		JjwtTokenCodec rotatedTokenCodec =
+			new JjwtTokenCodec(() -> rotated, TokenProfile.STANDARD);
+
+		// when
+		TokenVerification result = rotatedTokenCodec.decode(token);
+
+		// then
+		assertTrue(result.isValid());
+	}
+
+	@Test
+	void ES256_검증_예외_다른_키() throws GeneralSecurityException {
+		// given
+		String token = es256TokenCodec.encode(createClaims(System.currentTimeMillis() + 600_000));
+		KeyPair otherKeyPair = createEcKeyPair();
+		KeyRing otherKeyRing = KeyRing.of(SignatureAlgorithm.ES256,
+			Map.of("k1", otherKeyPair.getPublic()), "k1", otherKeyPair.getPrivate());
+		JjwtTokenCodec other = new JjwtTokenCodec(() -> otherKeyRing, TokenProfile.STANDARD);
+
+		// when
+		TokenVerification result = other.decode(token);
+
+		// then
+		assertThat(result.getErrorCode()).isEqualTo(ErrorCode.INCORRECT_SIGNATURE);
+	}
+
+	@Test
+	void ES256_검증_예외_HS512_토큰() {
+		// given
+		JjwtTokenCodec hs512TokenCodec =
+			new JjwtTokenCodec(Keys.secretKeyFor(SignatureAlgorithm.HS512));
+		String token = hs512TokenCodec.encode(createClaims(System.currentTimeMillis() + 600_000));
+
+		// when
+		TokenVerification result = es256TokenCodec.decode(token);
+
+		// then
+		assertThat(result.getErrorCode()).isEqualTo(ErrorCode.INCORRECT_SIGNATURE);
+	}
+
+	private TokenClaims createClaims(long expiration) {
+		return TokenClaims.builder()
+			.issuer("kdk")
+			.subject("test1@test.com")
+			.authorities(EnumAuthority.ROLE_USER.name())
+			.issuedAt(System.currentTimeMillis())
+			.expiration(expiration)
+			.build();
+	}
+
+	private String decodeHeader(String token) {
+		return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+			StandardCharsets.UTF_8);
+	}
+
+	private KeyPair createEcKeyPair() throws GeneralSecurityException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(new ECGenParameterSpec("secp256r1"));
+		return generator.generateKeyPair();
+	}
+}
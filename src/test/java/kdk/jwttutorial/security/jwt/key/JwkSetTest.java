@@ -0,0 +1,70 @@
+package kdk.jwttutorial.security.jwt.key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class JwkSetTest {
+
+	private static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+
+	@Test
+	void 공개_키_JWK_생성_성공() throws GeneralSecurityException {
+		// given
+		KeyPair keyPair = createEcKeyPair();
+		KeyRing keyRing = KeyRing.of(SignatureAlgorithm.ES256,
+			Map.of("k1", keyPair.getPublic()), "k1", keyPair.getPrivate());
+
+		// when
+		JwkSet jwkSet = JwkSet.of(keyRing);
+
+		// then
+		assertThat(jwkSet.getBody())
+			.startsWith("{\"keys\":[{\"kty\":\"EC\",\"crv\":\"P-256\",\"use\":\"sig\","
+				+ "\"alg\":\"ES256\",\"kid\":\"k1\",\"x\":\"")
+			.matches(".*\"x\":\"[A-Za-z0-9_-]{43}\",\"y\":\"[A-Za-z0-9_-]{43}\"}]}");
+	}
+
+	@Test
+	void HS512_키는_공개하지_않음() {
+		// given
+		Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+		// when
+		JwkSet jwkSet = JwkSet.of(KeyRing.single(key));
+
+		// then
+		assertThat(jwkSet.getBody()).isEqualTo("{\"keys\":[]}");
+	}
+
+	@Test
+	void 키가_바뀌면_ETag_변경() throws GeneralSecurityException {
+		// given
+		KeyPair oldKeyPair = createEcKeyPair();
+		KeyPair newKeyPair = createEcKeyPair();
+		KeyRing before = KeyRing.of(SignatureAlgorithm.ES256,
+			Map.of("k1", oldKeyPair.getPublic()), "k1", oldKeyPair.getPrivate());
+		KeyRing after = KeyRing.of(SignatureAlgorithm.ES256,
+			Map.of("k1", oldKeyPair.getPublic(), "k2", newKeyPair.getPublic()), "k2",
+			newKeyPair.getPrivate());
+
+		// when, then
+		assertThat(JwkSet.of(before).getETag()).isEqualTo(JwkSet.of(before).getETag());
+		assertThat(JwkSet.of(before).getETag()).isNotEqualTo(JwkSet.of(after).getETag());
+	}
+
+	private KeyPair createEcKeyPair() throws GeneralSecurityException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(new ECGenParameterSpec("secp256r1"));
+		return generator.generateKeyPair();
+	}
+}
@@ -0,0 +1,79 @@
+package kdk.jwttutorial.security.jwt.key;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class JwksControllerTest {
+
+	private static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+
+	@TempDir
+	Path tempDir;
+
+	private MockMvc mvc;
+	private String eTag;
+
+	@BeforeEach
+	void setUp() throws IOException, GeneralSecurityException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(new ECGenParameterSpec("secp256r1"));
+		KeyPair keyPair = generator.generateKeyPair();
+		Base64.Encoder encoder = Base64.getEncoder();
+		Path keyFile = Files.write(tempDir.resolve("keys.properties"), ("current=k1\n"
+			+ "private.k1=" + encoder.encodeToString(keyPair.getPrivate().getEncoded()) + "\n"
+			+ "public.k1=" + encoder.encodeToString(keyPair.getPublic().getEncoded()) + "\n")
+			.getBytes(StandardCharsets.UTF_8));
+
+		KeyRingLoader keyRingLoader = new KeyRingLoader(SECRET, keyFile.toString(), "es256");
+		eTag = "\"" + JwkSet.of(keyRingLoader.get()).getETag() + "\"";
+		mvc = MockMvcBuilders.standaloneSetup(new JwksController(keyRingLoader, 300)).build();
+	}
+
+	@Test
+	void JWKS_조회_성공() throws Exception {
+		// when
+		ResultActions actions = mvc.perform(get(JwksController.JWKS_PATH)
+			.accept(MediaType.APPLICATION_JSON));
+
+		// then
+		actions
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, eTag))
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+			.andExpect(content().string(containsString("\"kid\":\"k1\"")));
+	}
+
+	@Test
+	void ETag_가_같으면_304_응답() throws Exception {
+		// when
+		ResultActions actions = mvc.perform(get(JwksController.JWKS_PATH)
+			.accept(MediaType.APPLICATION_JSON)
+			.header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+		// then
+		actions
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+	}
+}
@@ -0,0 +1,198 @@
+package kdk.jwttutorial.security.jwt.key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class KeyRingLoaderTest {
+
+	private static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void 키_파일이_없으면_secret_사용() {
+		// when
+		KeyRing keyRing = new KeyRingLoader(SECRET, "").get();
+
+		// then
+		assertThat(keyRing.getCurrentKid()).isEqualTo(KeyRing.DEFAULT_KID);
+		assertThat(keyRing.getCurrentHeaderKid()).isNull();
+		assertThat(keyRing.getKey(null)).isNotNull();
+	}
+
+	@Test
+	void 키_파일_읽기_성공() throws IOException {
+		// given
+		Path keyFile = writeKeyFile("current=k2\nkey.k1=" + createSecret(1) + "\nkey.k2="
+			+ createSecret(2) + "\n");
+
+		// when
+		KeyRing keyRing = new KeyRingLoader(SECRET, keyFile.toString()).get();
+
+		// then
+		assertThat(keyRing.getKeys()).containsOnlyKeys("k1", "k2");
+		assertThat(keyRing.getCurrentHeaderKid()).isEqualTo("k2");
+		assertThat(keyRing.getKey(null)).isNull();
+	}
+
+	@Test
+	void 키_파일_변경시_다시_읽기() throws IOException {
+		// given
+		Path keyFile = writeKeyFile("current=k1\nkey.k1=" + createSecret(1) + "\n");
+		KeyRingLoader keyRingLoader = new KeyRingLoader(SECRET, keyFile.toString());
+		writeKeyFile("current=k2\nkey.k1=" + createSecret(1) + "\nkey.k2=" + createSecret(2) + "\n");
+		Files.setLastModifiedTime(keyFile,
+			FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+		// when
+		keyRingLoader.reloadIfModified();
+
+		// then
+		assertThat(keyRingLoader.get().getCurrentKid()).isEqualTo("k2");
+		assertThat(keyRingLoader.get().getKeys()).containsOnlyKeys("k1", "k2");
+	}
+
+	@Test
+	void 키_삭제시_KeysRemovedEvent_발행() throws IOException {
+		// given
+		Path keyFile = writeKeyFile("current=k2\nkey.k1=" + createSecret(1) + "\nkey.k2="
+			+ createSecret(2) + "\n");
+		List<Object> events = new ArrayList<>();
+		KeyRingLoader keyRingLoader = new KeyRingLoader(SECRET, keyFile.toString(), "hs512",
+			events::add);
+		writeKeyFile("current=k2\nkey.k2=" + createSecret(2) + "\n");
+		Files.setLastModifiedTime(keyFile,
+			FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+		// when
+		keyRingLoader.reloadIfModified();
+
+		// then
+		assertThat(keyRingLoader.get().getKeys()).containsOnlyKeys("k2");
+		assertThat(events).hasSize(1);
+		assertThat(((KeysRemovedEvent) events.get(0)).getKids()).containsExactly("k1");
+	}
+
+	@Test
+	void 키_추가시_KeysRemovedEvent_발행하지_않음() throws IOException {
+		// given
+		Path keyFile = writeKeyFile("current=k1\nkey.k1=" + createSecret(1) + "\n");
+		List<Object> events = new ArrayList<>();
+		KeyRingLoader keyRingLoader = new KeyRingLoader(SECRET, keyFile.toString(), "hs512",
+			events::add);
+		writeKeyFile("current=k2\nkey.k1=" + createSecret(1) + "\nkey.k2=" + createSecret(2)
+			+ "\n");
+
+		// when
+		keyRingLoader.reload();
+
+		// then
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void 키_파일_읽기_실패시_기존_키_유지() throws IOException {
+		// given
+		Path keyFile = writeKeyFile("current=k1\nkey.k1=" + createSecret(1) + "\n");
+		KeyRingLoader keyRingLoader = new KeyRingLoader(SECRET, keyFile.toString());
+		KeyRing before = keyRingLoader.get();
+		writeKeyFile("current=k3\nkey.k1=" + createSecret(1) + "\n");
+
+		// when
+		boolean reloaded = keyRingLoader.reload();
+
+		// then
+		assertThat(reloaded).isFalse();
+		assertThat(keyRingLoader.get()).isSameAs(before);
+	}
+
+	@Test
+	void 키_파일_읽기_예외_짧은_키() throws IOException {
+		// given
+		String shortSecret = Base64.getEncoder().encodeToString(new byte[32]);
+		Path keyFile = writeKeyFile("current=k1\nkey.k1=" + shortSecret + "\n");
+
+		// when, then
+		assertThrows(IllegalStateException.class,
+			() -> new KeyRingLoader(SECRET, keyFile.toString()));
+	}
+
+	@Test
+	void ES256_키_파일_읽기_성공() throws Exception {
+		// given
+		KeyPair oldKeyPair = createEcKeyPair();
+		KeyPair newKeyPair = createEcKeyPair();
+		Path keyFile = writeKeyFile("current=k2\n"
+			+ "private.k2=" + encode(newKeyPair.getPrivate()) + "\n"
+			+ "public.k2=" + encode(newKeyPair.getPublic()) + "\n"
+			+ "public.k1=" + encode(oldKeyPair.getPublic()) + "\n");
+
+		// when
+		KeyRing keyRing = new KeyRingLoader(SECRET, keyFile.toString(), "es256").get();
+
+		// then
+		assertThat(keyRing.getAlgorithm()).isEqualTo(SignatureAlgorithm.ES256);
+		assertThat(keyRing.getKeys()).containsOnlyKeys("k1", "k2");
+		assertThat(keyRing.getSigningKey()).isEqualTo(newKeyPair.getPrivate());
+		assertThat(keyRing.getCurrentHeaderKid()).isEqualTo("k2");
+	}
+
+	@Test
+	void ES256_키_파일_읽기_예외_개인_키와_공개_키_불일치() throws Exception {
+		// given
+		Path keyFile = writeKeyFile("current=k1\n"
+			+ "private.k1=" + encode(createEcKeyPair().getPrivate()) + "\n"
+			+ "public.k1=" + encode(createEcKeyPair().getPublic()) + "\n");
+
+		// when, then
+		assertThrows(IllegalStateException.class,
+			() -> new KeyRingLoader(SECRET, keyFile.toString(), "es256"));
+	}
+
+	@Test
+	void ES256_예외_키_파일_없음() {
+		// when, then
+		assertThrows(IllegalStateException.class, () -> new KeyRingLoader(SECRET, "", "es256"));
+	}
+
+	private KeyPair createEcKeyPair() throws GeneralSecurityException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(new ECGenParameterSpec("secp256r1"));
+		return generator.generateKeyPair();
+	}
+
+	private String encode(Key key) {
+		return Base64.getEncoder().encodeToString(key.getEncoded());
+	}
+
+	private Path writeKeyFile(String content) throws IOException {
+		return Files.write(tempDir.resolve("keys.properties"),
+			content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String createSecret(int seed) {
+		byte[] key = new byte[64];
+		for (int i = 0; i < key.length; i++) {
+			key[i] = (byte) (seed * 31 + i);
+		}
+		return Base64.getEncoder().encodeToString(key);
+	}
+}
@@ -0,0 +1,102 @@
+package kdk.jwttutorial.security.jwt.opaque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.TokenVerification;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import kdk.jwttutorial.security.jwt.codec.Hs512TokenCodec;
+import kdk.jwttutorial.security.jwt.codec.TokenClaims;
+import kdk.jwttutorial.user.EnumAuthority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpaqueTokenCodecTest {
+
+	private static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+
+	private Hs512TokenCodec jwtCodec;
+	private OpaqueTokenStore opaqueTokenStore;
+	private OpaqueTokenCodec opaqueTokenCodec;
+
+	@BeforeEach
+	void setUp() {
+		Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		jwtCodec = new Hs512TokenCodec(key);
+		opaqueTokenStore = new OpaqueTokenStore(100, 4);
+		opaqueTokenCodec = new OpaqueTokenCodec(jwtCodec, opaqueTokenStore);
+	}
+
+	@Test
+	void opaque_토큰_발급_검증_성공() {
+		// given
+		TokenClaims claims = createClaims(System.currentTimeMillis() + 600_000);
+
+		// when
+		String token = opaqueTokenCodec.encode(claims);
+		TokenVerification result = opaqueTokenCodec.decode(token);
+
+		// then
+		assertThat(token).hasSize(OpaqueTokenStore.TOKEN_LENGTH);
+		assertTrue(OpaqueTokenStore.isOpaque(token));
+		assertTrue(result.isValid());
+		VerifiedToken verifiedToken = result.getVerifiedToken();
+		assertThat(verifiedToken.getSubject()).isEqualTo("test1@test.com");
+		assertThat(verifiedToken.getAuthorities()).isEqualTo(EnumAuthority.ROLE_USER.name());
+		assertThat(verifiedToken.getId()).isEqualTo("jti");
+	}
+
+	@Test
+	void opaque_토큰_검증_예외_만료된_토큰() {
+		// given
+		String token = opaqueTokenCodec.encode(createClaims(System.currentTimeMillis() - 1));
+
+		// when
+		TokenVerification result = opaqueTokenCodec.decode(token);
+
+		// then
+		assertThat(result.getErrorCode()).isEqualTo(ErrorCode.EXPIRED_TOKEN);
+	}
+
+	@Test
+	void opaque_토큰_검증_예외_발급하지_않은_토큰() {
+		// given
+		String token = opaqueTokenCodec.encode(createClaims(System.currentTimeMillis() + 600_000));
+		opaqueTokenStore.remove(token);
+
+		// when
+		TokenVerification result = opaqueTokenCodec.decode(token);
+
+		// then
+		assertThat(result.getErrorCode()).isEqualTo(ErrorCode.INVALID_TOKEN);
+	}
+
+	@Test
+	void 이미_발급한_JWT_검증_성공() {
+		// given
+		String jwt = jwtCodec.encode(createClaims(System.currentTimeMillis() + 600_000));
+
+		// when
+		TokenVerification result = opaqueTokenCodec.decode(jwt);
+
+		// then
+		assertTrue(result.isValid());
+		assertThat(result.getVerifiedToken().getSubject()).isEqualTo("test1@test.com");
+		assertThat(OpaqueTokenStore.isOpaque(jwt)).isFalse();
+	}
+
+	private TokenClaims createClaims(long expiration) {
+		return TokenClaims.builder()
+			.issuer("kdk")
+			.subject("test1@test.com")
+			.authorities(EnumAuthority.ROLE_USER.name())
+			.issuedAt(System.currentTimeMillis())
+			.expiration(expiration)
+			.id("jti")
+			.build();
+	}
+}
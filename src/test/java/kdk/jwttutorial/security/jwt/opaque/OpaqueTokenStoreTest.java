@@ -0,0 +1,72 @@
+package kdk.jwttutorial.security.jwt.opaque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+class OpaqueTokenStoreTest {
+
+	@Test
+	void 만료된_토큰_정리() {
+		// given
+		OpaqueTokenStore opaqueTokenStore = new OpaqueTokenStore(100, 4);
+		String expired = opaqueTokenStore.issue(
+			createVerifiedToken(System.currentTimeMillis() - 1));
+		String valid = opaqueTokenStore.issue(
+			createVerifiedToken(System.currentTimeMillis() + 600_000));
+
+		// when
+		opaqueTokenStore.prune();
+
+		// then
+		assertThat(opaqueTokenStore.get(expired)).isNull();
+		assertThat(opaqueTokenStore.get(valid)).isNotNull();
+		assertThat(opaqueTokenStore.size()).isEqualTo(1);
+	}
+
+	@Test
+	void 가득_차면_가장_오래된_토큰부터_제거() {
+		// given
+		OpaqueTokenStore opaqueTokenStore = new OpaqueTokenStore(2, 1);
+		List<String> tokens = new ArrayList<>();
+
+		// when
+		for (int i = 0; i < 3; i++) {
+			tokens.add(opaqueTokenStore.issue(
+				createVerifiedToken(System.currentTimeMillis() + 600_000)));
+		}
+
+		// then
+		assertThat(opaqueTokenStore.size()).isEqualTo(2);
+		assertThat(opaqueTokenStore.get(tokens.get(0))).isNull();
+		assertThat(opaqueTokenStore.get(tokens.get(2))).isNotNull();
+	}
+
+	@Test
+	void 발급한_토큰은_서로_다름() {
+		// given
+		OpaqueTokenStore opaqueTokenStore = new OpaqueTokenStore(100, 4);
+		VerifiedToken verifiedToken = createVerifiedToken(System.currentTimeMillis() + 600_000);
+
+		// when
+		String first = opaqueTokenStore.issue(verifiedToken);
+		String second = opaqueTokenStore.issue(verifiedToken);
+
+		// then
+		assertThat(first).isNotEqualTo(second);
+		assertThat(first).doesNotContain(".");
+	}
+
+	private VerifiedToken createVerifiedToken(long expiration) {
+		return VerifiedToken.builder()
+			.subject("test1@test.com")
+			.authorities("ROLE_USER")
+			.issuedAt(System.currentTimeMillis())
+			.expiration(expiration)
+			.id("jti")
+			.build();
+	}
+}
@@ -0,0 +1,140 @@
+package kdk.jwttutorial.security.jwt.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.security.jwt.exception.InvalidTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RefreshCoalescerTest {
+
+	private AtomicLong nanos;
+	private AtomicInteger calls;
+	private RefreshCoalescer refreshCoalescer;
+
+	@BeforeEach
+	void setUp() {
+		nanos = new AtomicLong();
+		calls = new AtomicInteger();
+		refreshCoalescer = new RefreshCoalescer(2000, 4, 2, nanos::get);
+	}
+
+	@Test
+	void 동시_요청_한번만_처리() throws Exception {
+		// given
+		int threads = 8;
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		// when
+		List<Future<TokenDto>> results = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			results.add(executor.submit(() -> refreshCoalescer.refresh("refreshToken", () -> {
+				started.countDown();
+				await(release);
+				return createTokenDto("refreshToken" + calls.incrementAndGet());
+			})));
+		}
+		started.await(5, TimeUnit.SECONDS);
+		Thread.sleep(100);
+		release.countDown();
+
+		// then
+		for (Future<TokenDto> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS).getRefreshToken())
+				.isEqualTo("refreshToken1");
+		}
+		assertThat(calls.get()).isEqualTo(1);
+		executor.shutdown();
+	}
+
+	@Test
+	void window_안의_요청_결과_공유() {
+		// given
+		refresh("refreshToken");
+		nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+		// when
+		TokenDto result = refresh("refreshToken");
+
+		// then
+		assertThat(result.getRefreshToken()).isEqualTo("refreshToken1");
+		assertThat(calls.get()).isEqualTo(1);
+	}
+
+	@Test
+	void window_가_지나면_다시_처리() {
+		// given
+		refresh("refreshToken");
+		nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+
+		// when
+		TokenDto result = refresh("refreshToken");
+
+		// then
+		assertThat(result.getRefreshToken()).isEqualTo("refreshToken2");
+	}
+
+	@Test
+	void 실패한_결과_공유하지_않음() {
+		// given
+		assertThrows(InvalidTokenException.class, () -> refreshCoalescer.refresh("refreshToken",
+			() -> {
+				throw new InvalidTokenException("invalid");
+			}));
+
+		// when
+		TokenDto result = refresh("refreshToken");
+
+		// then
+		assertThat(result.getRefreshToken()).isEqualTo("refreshToken1");
+		assertThat(refreshCoalescer.size()).isEqualTo(1);
+	}
+
+	@Test
+	void 가득_차면_합치지_않고_처리() {
+		// given
+		for (int i = 0; i < 16; i++) {
+			refresh("refreshToken" + i);
+		}
+
+		// when
+		int size = refreshCoalescer.size();
+
+		// then
+		assertThat(size).isLessThanOrEqualTo(4);
+		assertThat(calls.get()).isEqualTo(16);
+	}
+
+	private TokenDto refresh(String refreshToken) {
+		return refreshCoalescer.refresh(refreshToken,
+			() -> createTokenDto("refreshToken" + calls.incrementAndGet()));
+	}
+
+	private static TokenDto createTokenDto(String refreshToken) {
+		return TokenDto.builder()
+			.accessToken("accessToken")
+			.refreshToken(refreshToken)
+			.build();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
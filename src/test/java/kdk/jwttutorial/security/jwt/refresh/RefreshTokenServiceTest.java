@@ -0,0 +1,167 @@
+package kdk.jwttutorial.security.jwt.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.security.jwt.EnumToken;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
+import kdk.jwttutorial.security.jwt.exception.InvalidTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+class RefreshTokenServiceTest {
+
+	private static final long REFRESH_TOKEN_VALIDITY_IN_SECONDS = 604800;
+	private static final String EMAIL = "test1@test.com";
+	private static final long LEGACY_ISSUED_BEFORE = 1_700_000_000_000L;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+	private RefreshTokenService refreshTokenService;
+
+	@BeforeEach
+	void setUp() {
+		refreshTokenService = new RefreshTokenService(refreshTokenRepository,
+			REFRESH_TOKEN_VALIDITY_IN_SECONDS, 1000, LEGACY_ISSUED_BEFORE);
+	}
+
+	@Test
+	void 리프레시토큰_교체_성공() {
+		// given
+		refreshTokenService.register("refreshToken1", EMAIL);
+
+		// when
+		TokenDto tokenDto = rotate("refreshToken1", "refreshToken2");
+
+		// then
+		assertThat(tokenDto.getRefreshToken()).isEqualTo("refreshToken2");
+		RefreshToken previous = findByToken("refreshToken1");
+		RefreshToken rotated = findByToken("refreshToken2");
+		assertThat(previous.getStatus()).isEqualTo(RefreshTokenStatus.ROTATED);
+		assertThat(rotated.getStatus()).isEqualTo(RefreshTokenStatus.ACTIVE);
+		assertThat(rotated.getFamilyId()).isEqualTo(previous.getFamilyId());
+	}
+
+	@Test
+	void 리프레시토큰_재사용_family_폐기() {
+		// given
+		refreshTokenService.register("refreshToken1", EMAIL);
+		refreshTokenService.register("otherDeviceToken", EMAIL);
+		rotate("refreshToken1", "refreshToken2");
+
+		// when
+		InvalidTokenException e = assertThrows(InvalidTokenException.class,
+			() -> rotate("refreshToken1", "refreshToken3"));
+
+		// then
+		assertThat(e.getMessage()).isEqualTo(ErrorCode.REUSED_REFRESH_TOKEN.getMessage());
+		assertThat(findByToken("refreshToken2").getStatus()).isEqualTo(RefreshTokenStatus.REVOKED);
+		assertThat(findByToken("otherDeviceToken").getStatus())
+			.isEqualTo(RefreshTokenStatus.ACTIVE);
+		assertThrows(InvalidTokenException.class, () -> rotate("refreshToken2", "refreshToken3"));
+	}
+
+	@Test
+	void 등록되지않은_리프레시토큰_교체_성공() {
+		// when
+		rotate("legacyToken", "refreshToken2");
+
+		// then
+		assertThat(findByToken("legacyToken").getStatus()).isEqualTo(RefreshTokenStatus.ROTATED);
+		assertThat(findByToken("refreshToken2").getFamilyId())
+			.isEqualTo(findByToken("legacyToken").getFamilyId());
+		assertThrows(InvalidTokenException.class, () -> rotate("legacyToken", "refreshToken3"));
+	}
+
+	@Test
+	void 등록되지않은_리프레시토큰_배포전_발급이면_교체_성공() {
+		// given
+		VerifiedToken legacyToken = createVerifiedToken(EnumToken.REFRESH,
+			LEGACY_ISSUED_BEFORE - 1, "legacy-jti");
+
+		// when
+		rotate("legacyToken", legacyToken, "refreshToken2");
+
+		// then
+		assertThat(findByToken("legacyToken").getStatus()).isEqualTo(RefreshTokenStatus.ROTATED);
+	}
+
+	@Test
+	void 등록되지않은_리프레시토큰_교체_예외_배포후_발급() {
+		// given
+		VerifiedToken unknownToken = createVerifiedToken(EnumToken.REFRESH,
+			LEGACY_ISSUED_BEFORE + 1, "unknown-jti");
+
+		// when
+		InvalidTokenException e = assertThrows(InvalidTokenException.class,
+			() -> rotate("unknownToken", unknownToken, "refreshToken2"));
+
+		// then
+		assertThat(e.getMessage()).isEqualTo(ErrorCode.INVALID_TOKEN.getMessage());
+		assertThat(refreshTokenRepository.findAll()).isEmpty();
+	}
+
+	@Test
+	void 등록되지않은_토큰_교체_예외_액세스토큰() {
+		// given
+		VerifiedToken accessToken = createVerifiedToken(EnumToken.ACCESS,
+			LEGACY_ISSUED_BEFORE - 1, null);
+
+		// when
+		InvalidTokenException e = assertThrows(InvalidTokenException.class,
+			() -> rotate("accessToken", accessToken, "refreshToken2"));
+
+		// then
+		assertThat(e.getMessage()).isEqualTo(ErrorCode.INVALID_TOKEN.getMessage());
+		assertThat(refreshTokenRepository.findAll()).isEmpty();
+	}
+
+	@Test
+	void 사용자_리프레시토큰_일괄_폐기_성공() {
+		// given
+		refreshTokenService.register("refreshToken1", EMAIL);
+		refreshTokenService.register("refreshToken2", EMAIL);
+		refreshTokenService.register("refreshToken3", "test2@test.com");
+
+		// when
+		refreshTokenService.revokeAll(EMAIL);
+
+		// then
+		assertThat(findByToken("refreshToken1").getStatus()).isEqualTo(RefreshTokenStatus.REVOKED);
+		assertThat(findByToken("refreshToken2").getStatus()).isEqualTo(RefreshTokenStatus.REVOKED);
+		assertThat(findByToken("refreshToken3").getStatus()).isEqualTo(RefreshTokenStatus.ACTIVE);
+	}
+
+	// jti 없는 리프레시 토큰, 등록되지 않았으면 rotation 도입 전 토큰으로 편입됨
+	private TokenDto rotate(String refreshToken, String rotatedRefreshToken) {
+		return rotate(refreshToken, createVerifiedToken(EnumToken.REFRESH, 0, null),
+			rotatedRefreshToken);
+	}
+
+	private TokenDto rotate(String refreshToken, VerifiedToken verifiedToken,
+		String rotatedRefreshToken) {
+		return refreshTokenService.rotate(refreshToken, verifiedToken, () -> TokenDto.builder()
+			.accessToken("accessToken")
+			.refreshToken(rotatedRefreshToken)
+			.build());
+	}
+
+	private VerifiedToken createVerifiedToken(EnumToken type, long issuedAt, String id) {
+		return VerifiedToken.builder()
+			.subject(EMAIL)
+			.type(type)
+			.issuedAt(issuedAt)
+			.expiration(issuedAt + REFRESH_TOKEN_VALIDITY_IN_SECONDS * 1000)
+			.id(id)
+			.build();
+	}
+
+	private RefreshToken findByToken(String token) {
+		return refreshTokenRepository.findById(RefreshTokenService.hash(token)).orElseThrow();
+	}
+}
@@ -0,0 +1,119 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RevocationLogTest {
+
+	private static final int SIZE = 4096;
+
+	@TempDir
+	Path directory;
+
+	private Path path;
+	private RevocationLog writer;
+	private RevocationLog reader;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		path = directory.resolve("revocations.log");
+		// 같은 파일을 연 두 인스턴스로 두 프로세스를 대신함
+		writer = RevocationLog.open(path, SIZE);
+		reader = RevocationLog.open(path, SIZE);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		writer.close();
+		reader.close();
+	}
+
+	@Test
+	void 다른_프로세스가_추가한_레코드_조회_성공() throws IOException {
+		// given
+		writer.append(RevocationLog.TOKEN, "jti-1", 1_000L);
+		writer.append(RevocationLog.WATERMARK, "test1@test.com", 2_000L);
+
+		// when
+		List<String> records = poll(reader);
+
+		// then
+		assertThat(records).containsExactly("1:jti-1:1000", "2:test1@test.com:2000");
+		assertThat(poll(reader)).isEmpty();
+	}
+
+	@Test
+	void 압축하면_만료된_레코드_삭제() throws IOException {
+		// given
+		writer.append(RevocationLog.TOKEN, "jti-1", 1_000L);
+		writer.append(RevocationLog.TOKEN, "jti-2", 3_000L);
+		writer.append(RevocationLog.TOKEN, "jti-2", 5_000L);
+		poll(reader);
+
+		// when
+		writer.compact((type, value) -> value > 2_000L);
+		reader.append(RevocationLog.TOKEN, "jti-3", 4_000L);
+
+		// then
+		assertThat(poll(reader)).containsExactly("1:jti-2:5000", "1:jti-3:4000");
+		assertThat(poll(writer)).containsExactly("1:jti-2:5000", "1:jti-3:4000");
+		assertThat(directory.resolve("revocations.log.compact")).doesNotExist();
+	}
+
+	@Test
+	void 새로_연_프로세스는_기존_레코드를_모두_조회() throws IOException {
+		// given
+		writer.append(RevocationLog.TOKEN, "jti-1", 1_000L);
+
+		// when
+		RevocationLog restarted = RevocationLog.open(path, SIZE * 2);
+		List<String> records = poll(restarted);
+		restarted.close();
+
+		// then
+		assertThat(records).containsExactly("1:jti-1:1000");
+		assertThat(restarted.capacity()).isEqualTo(SIZE);
+	}
+
+	@Test
+	void 가득_차면_추가_실패() throws IOException {
+		// given
+		int appended = 0;
+		while (writer.append(RevocationLog.TOKEN, "jti-" + appended, 1_000L)) {
+			appended++;
+		}
+
+		// when
+		boolean result = writer.append(RevocationLog.TOKEN, "jti", 1_000L);
+
+		// then
+		assertFalse(result);
+		assertThat(poll(reader)).hasSize(appended);
+	}
+
+	@Test
+	void 폐기_로그가_아닌_파일_예외() throws IOException {
+		// given
+		Path other = Files.write(directory.resolve("other"), new byte[256]);
+
+		// when, then
+		assertThatThrownBy(() -> RevocationLog.open(other, SIZE)).isInstanceOf(IOException.class);
+	}
+
+	private List<String> poll(RevocationLog revocationLog) throws IOException {
+		List<String> records = new ArrayList<>();
+		revocationLog.poll((type, key, value) -> records.add(type + ":" + key + ":" + value));
+		return records;
+	}
+}
@@ -0,0 +1,144 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TokenRevocationStoreTest {
+
+	private TokenRevocationStore tokenRevocationStore;
+
+	@BeforeEach
+	void setUp() {
+		tokenRevocationStore = new TokenRevocationStore(100, 0.01);
+	}
+
+	@Test
+	void 토큰_폐기_성공() {
+		// given
+		long expiration = System.currentTimeMillis() + 600_000;
+
+		// when
+		tokenRevocationStore.revoke("jti-1", expiration);
+
+		// then
+		assertTrue(tokenRevocationStore.isRevoked("jti-1"));
+		assertFalse(tokenRevocationStore.isRevoked("jti-2"));
+		assertFalse(tokenRevocationStore.isRevoked(null));
+	}
+
+	@Test
+	void 이미_만료된_토큰은_보관하지_않음() {
+		// given
+		long expiration = System.currentTimeMillis() - 1_000;
+
+		// when
+		tokenRevocationStore.revoke("jti-1", expiration);
+		tokenRevocationStore.revoke(null, System.currentTimeMillis() + 600_000);
+
+		// then
+		assertFalse(tokenRevocationStore.isRevoked("jti-1"));
+		assertThat(tokenRevocationStore.size()).isZero();
+	}
+
+	@Test
+	void 만료된_폐기_토큰_정리_성공() throws InterruptedException {
+		// given
+		tokenRevocationStore.revoke("jti-1", System.currentTimeMillis() + 50);
+		tokenRevocationStore.revoke("jti-2", System.currentTimeMillis() + 600_000);
+		Thread.sleep(100);
+
+		// when
+		tokenRevocationStore.prune();
+
+		// then
+		assertThat(tokenRevocationStore.size()).isEqualTo(1);
+		assertFalse(tokenRevocationStore.isRevoked("jti-1"));
+		assertTrue(tokenRevocationStore.isRevoked("jti-2"));
+	}
+
+	@Test
+	void 예상_개수를_넘어도_폐기_토큰_조회_성공() {
+		// given
+		long expiration = System.currentTimeMillis() + 600_000;
+
+		// when
+		for (int i = 0; i < 1_000; i++) {
+			tokenRevocationStore.revoke("jti-" + i, expiration);
+		}
+
+		// then
+		assertThat(tokenRevocationStore.size()).isEqualTo(1_000);
+		for (int i = 0; i < 1_000; i++) {
+			assertTrue(tokenRevocationStore.isRevoked("jti-" + i));
+		}
+	}
+
+	@Test
+	void 기준_시각_전에_발급한_토큰_폐기_성공() {
+		// given
+		long now = System.currentTimeMillis();
+
+		// when
+		tokenRevocationStore.invalidateBefore("test1@test.com", now);
+
+		// then
+		assertTrue(tokenRevocationStore.isRevoked(createToken("test1@test.com", now - 1_000)));
+		assertFalse(tokenRevocationStore.isRevoked(createToken("test1@test.com", now)));
+		assertFalse(tokenRevocationStore.isRevoked(createToken("test2@test.com", now - 1_000)));
+	}
+
+	@Test
+	void 지난_기준_시각_정리_성공() {
+		// given
+		long now = System.currentTimeMillis();
+		tokenRevocationStore.invalidateBefore("test1@test.com", now - 10_000);
+		tokenRevocationStore.invalidateBefore("test2@test.com", now);
+
+		// when
+		tokenRevocationStore.removeWatermarksBefore(now - 5_000);
+
+		// then
+		assertFalse(tokenRevocationStore.isRevoked(createToken("test1@test.com", now - 20_000)));
+		assertTrue(tokenRevocationStore.isRevoked(createToken("test2@test.com", now - 20_000)));
+	}
+
+	@Test
+	void 폐기_로그를_공유하는_프로세스에_반영(@TempDir Path directory) throws IOException {
+		// given
+		Path path = directory.resolve("revocations.log");
+		long now = System.currentTimeMillis();
+		TokenRevocationStore store = new TokenRevocationStore(100, 0.01,
+			RevocationLog.open(path, 1 << 16), 600_000, null);
+		store.revoke("jti-1", now + 600_000);
+		store.invalidateBefore("test1@test.com", now);
+
+		// when
+		TokenRevocationStore restartedStore = new TokenRevocationStore(100, 0.01,
+			RevocationLog.open(path, 1 << 16), 600_000, null);
+		store.revoke("jti-2", now + 600_000);
+		restartedStore.pollLog();
+
+		// then
+		assertTrue(restartedStore.isRevoked("jti-1"));
+		assertTrue(restartedStore.isRevoked("jti-2"));
+		assertTrue(restartedStore.isRevoked(createToken("test1@test.com", now - 1_000)));
+		store.destroy();
+		restartedStore.destroy();
+	}
+
+	private VerifiedToken createToken(String subject, long issuedAt) {
+		return VerifiedToken.builder()
+			.subject(subject)
+			.issuedAt(issuedAt)
+			.expiration(issuedAt + 600_000)
+			.build();
+	}
+}
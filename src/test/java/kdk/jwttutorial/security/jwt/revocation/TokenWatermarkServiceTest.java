@@ -0,0 +1,88 @@
+package kdk.jwttutorial.security.jwt.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import kdk.jwttutorial.security.jwt.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+class TokenWatermarkServiceTest {
+
+	private static final long REFRESH_TOKEN_VALIDITY_IN_SECONDS = 604800;
+
+	@Autowired
+	private TokenWatermarkRepository tokenWatermarkRepository;
+	private TokenRevocationStore tokenRevocationStore;
+	private TokenWatermarkService tokenWatermarkService;
+
+	@BeforeEach
+	void setUp() {
+		tokenRevocationStore = new TokenRevocationStore(1000, 0.01);
+		tokenWatermarkService = new TokenWatermarkService(tokenWatermarkRepository,
+			tokenRevocationStore, REFRESH_TOKEN_VALIDITY_IN_SECONDS);
+	}
+
+	@Test
+	void 사용자_토큰_일괄_폐기_성공() {
+		// given
+		String email = "test1@test.com";
+		long issuedAt = System.currentTimeMillis() - 10_000;
+
+		// when
+		long invalidBefore = tokenWatermarkService.invalidateAll(email);
+
+		// then
+		assertThat(tokenWatermarkRepository.findById(email).orElseThrow().getInvalidBefore())
+			.isEqualTo(invalidBefore);
+		assertTrue(tokenRevocationStore.isRevoked(createToken(email, issuedAt)));
+	}
+
+	@Test
+	void 저장된_기준_시각_복구_성공() {
+		// given
+		long now = System.currentTimeMillis();
+		tokenWatermarkRepository.save(TokenWatermark.builder()
+			.subject("test1@test.com")
+			.invalidBefore(now)
+			.build());
+
+		// when
+		TokenRevocationStore restartedStore = new TokenRevocationStore(1000, 0.01);
+		new TokenWatermarkService(tokenWatermarkRepository, restartedStore,
+			REFRESH_TOKEN_VALIDITY_IN_SECONDS);
+
+		// then
+		assertTrue(restartedStore.isRevoked(createToken("test1@test.com", now - 1_000)));
+	}
+
+	@Test
+	void 만료된_기준_시각_정리_성공() {
+		// given
+		long expired = System.currentTimeMillis() - REFRESH_TOKEN_VALIDITY_IN_SECONDS * 1000 - 1_000;
+		tokenWatermarkRepository.save(TokenWatermark.builder()
+			.subject("test1@test.com")
+			.invalidBefore(expired)
+			.build());
+		tokenRevocationStore.invalidateBefore("test1@test.com", expired);
+
+		// when
+		tokenWatermarkService.synchronize();
+
+		// then
+		assertThat(tokenWatermarkRepository.findById("test1@test.com")).isEmpty();
+		assertFalse(tokenRevocationStore.isRevoked(createToken("test1@test.com", expired - 1_000)));
+	}
+
+	private VerifiedToken createToken(String subject, long issuedAt) {
+		return VerifiedToken.builder()
+			.subject(subject)
+			.issuedAt(issuedAt)
+			.expiration(issuedAt + 600_000)
+			.build();
+	}
+}
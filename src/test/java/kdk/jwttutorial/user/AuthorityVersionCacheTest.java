@@ -0,0 +1,57 @@
+package kdk.jwttutorial.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import java.util.Optional;
+import kdk.jwttutorial.user.event.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class AuthorityVersionCacheTest {
+
+	@Mock
+	private UserRepository userRepository;
+	private AuthorityVersionCache authorityVersionCache;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		authorityVersionCache = new AuthorityVersionCache(userRepository, 100, 3600);
+	}
+
+	@Test
+	void 캐시된_권한_버전_조회_성공() {
+		// given
+		String email = "test1@test.com";
+		given(userRepository.findAuthorityVersionByEmail(email)).willReturn(Optional.of(1L));
+		authorityVersionCache.get(email);
+
+		// when
+		Optional<Long> result = authorityVersionCache.get(email);
+
+		// then
+		assertThat(result).contains(1L);
+		then(userRepository).should(times(1)).findAuthorityVersionByEmail(email);
+	}
+
+	@Test
+	void 사용자_변경_이벤트로_무효화_후_재조회() {
+		// given
+		String email = "test1@test.com";
+		given(userRepository.findAuthorityVersionByEmail(email))
+			.willReturn(Optional.of(1L))
+			.willReturn(Optional.of(2L));
+		authorityVersionCache.get(email);
+
+		// when
+		authorityVersionCache.onUserChanged(new UserChangedEvent(email));
+
+		// then
+		assertThat(authorityVersionCache.get(email)).contains(2L);
+	}
+}
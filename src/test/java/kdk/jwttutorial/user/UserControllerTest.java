@@ -2,20 +2,26 @@ package kdk.jwttutorial.user;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.error.GlobalExceptionHandler;
+import kdk.jwttutorial.security.PasswordHashingExecutor;
 import kdk.jwttutorial.security.SecurityConfig;
-import kdk.jwttutorial.security.jwt.EnumToken;
 import kdk.jwttutorial.security.jwt.JwtFilter;
 import kdk.jwttutorial.security.jwt.JwtService;
+import kdk.jwttutorial.security.jwt.dto.TokenDto;
 import kdk.jwttutorial.user.auth.dto.AuthorityDto;
 import kdk.jwttutorial.user.dto.UserDto;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +33,7 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -47,29 +54,39 @@ class UserControllerTest {
 	private UserService userService;
 	@MockBean
 	private JwtService jwtService;
+	private PasswordHashingExecutor passwordHashingExecutor;
 
 	@BeforeEach
 	void setUp() {
-		mvc = MockMvcBuilders.standaloneSetup(new UserController(userService, jwtService))
+		passwordHashingExecutor = new PasswordHashingExecutor(1, 1);
+		mvc = MockMvcBuilders.standaloneSetup(
+				new UserController(userService, jwtService, passwordHashingExecutor))
+			.setControllerAdvice(new GlobalExceptionHandler())
 			.addFilters(new CharacterEncodingFilter("UTF-8", true))
 			.build();
 	}
 
+	@AfterEach
+	void tearDown() {
+		passwordHashingExecutor.destroy();
+	}
+
 	@Test
 	void 로그인_성공() throws Exception {
 		// given
 		String accessToken = "accessToken";
 		String refreshToken = "refreshToken";
 
-		given(jwtService.getJwt(any(), eq(EnumToken.ACCESS)))
-			.willReturn(accessToken);
-		given(jwtService.getJwt(any(), eq(EnumToken.REFRESH)))
-			.willReturn(refreshToken);
+		given(jwtService.getJwtPair(any()))
+			.willReturn(TokenDto.builder()
+				.accessToken(accessToken)
+				.refreshToken(refreshToken)
+				.build());
 
 		// when
 		String requestUrl = "/user/login";
 		String content = convertLoginDtoJson("test1@test.com", "password");
-		ResultActions actions = postRequest(requestUrl, content);
+		ResultActions actions = asyncPostRequest(requestUrl, content);
 
 		// then
 		actions
@@ -82,6 +99,29 @@ class UserControllerTest {
 			.andExpect(jsonPath("refreshToken").value(refreshToken));
 	}
 
+	@Test
+	void 로그인_예외_해싱_대기열_초과() throws Exception {
+		// given
+		CountDownLatch latch = new CountDownLatch(1);
+		given(jwtService.getJwtPair(any())).willAnswer(invocation -> {
+			latch.await();
+			return TokenDto.builder().build();
+		});
+		String requestUrl = "/user/login";
+		String content = convertLoginDtoJson("test1@test.com", "password");
+		postRequest(requestUrl, content);
+		postRequest(requestUrl, content);
+
+		// when
+		ResultActions actions = postRequest(requestUrl, content);
+		latch.countDown();
+
+		// then
+		actions
+			.andExpect(status().isServiceUnavailable())
+			.andExpect(jsonPath("code").value(ErrorCode.SERVICE_UNAVAILABLE.getCode()));
+	}
+
 	@Test
 	void 로그인_예외_이메일이_없음() throws Exception {
 		// when
@@ -190,7 +230,7 @@ class UserControllerTest {
 		// when
 		String requestUrl = "/user/signup";
 		String content = convertUserDtoJson("test1@test.com", "password", "test1");
-		ResultActions actions = postRequest(requestUrl, content);
+		ResultActions actions = asyncPostRequest(requestUrl, content);
 
 		// then
 		actions
@@ -431,6 +471,14 @@ class UserControllerTest {
 		);
 	}
 
+	private ResultActions asyncPostRequest(String requestUrl, String content)
+		throws Exception {
+		MvcResult mvcResult = postRequest(requestUrl, content)
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		return mvc.perform(asyncDispatch(mvcResult));
+	}
+
 	private ResultActions getRequest(String requestUrl)
 		throws Exception {
 		return mvc.perform(
@@ -0,0 +1,115 @@
+package kdk.jwttutorial.user;
+
+import static java.util.Optional.ofNullable;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.dto.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class UserDtoCacheTest {
+
+	@Mock
+	private UserRepository userRepository;
+	private AtomicLong nanos;
+	private UserDtoCache userDtoCache;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		nanos = new AtomicLong();
+		Ticker ticker = nanos::get;
+		userDtoCache = new UserDtoCache(userRepository, 100, 600, 60, ticker, Runnable::run);
+	}
+
+	@Test
+	void 캐시된_사용자_조회_성공() {
+		// given
+		String email = "test1@test.com";
+		given(userRepository.findOneWithAuthoritiesByEmail(any()))
+			.willReturn(ofNullable(createUser(email, "test1")));
+		userDtoCache.get(email);
+
+		// when
+		Optional<UserDto> result = userDtoCache.get(email);
+
+		// then
+		assertThat(result.get().getEmail()).isEqualTo(email);
+		then(userRepository).should(times(1)).findOneWithAuthoritiesByEmail(email);
+	}
+
+	@Test
+	void 갱신_주기가_지나면_기존_값_반환_후_재조회() {
+		// given
+		String email = "test1@test.com";
+		given(userRepository.findOneWithAuthoritiesByEmail(any()))
+			.willReturn(ofNullable(createUser(email, "test1")))
+			.willReturn(ofNullable(createUser(email, "test2")));
+		userDtoCache.get(email);
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+		// when
+		Optional<UserDto> stale = userDtoCache.get(email);
+		Optional<UserDto> refreshed = userDtoCache.get(email);
+
+		// then
+		assertThat(stale.get().getNickname()).isEqualTo("test1");
+		assertThat(refreshed.get().getNickname()).isEqualTo("test2");
+	}
+
+	@Test
+	void 재조회_실패시_기존_값_유지() {
+		// given
+		String email = "test1@test.com";
+		given(userRepository.findOneWithAuthoritiesByEmail(any()))
+			.willReturn(ofNullable(createUser(email, "test1")))
+			.willThrow(new IllegalStateException("DB 지연"));
+		userDtoCache.get(email);
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+		// when
+		userDtoCache.get(email);
+		Optional<UserDto> result = userDtoCache.get(email);
+
+		// then
+		assertThat(result.get().getNickname()).isEqualTo("test1");
+	}
+
+	@Test
+	void 캐시_무효화_후_재조회() {
+		// given
+		String email = "test1@test.com";
+		given(userRepository.findOneWithAuthoritiesByEmail(any()))
+			.willReturn(Optional.empty())
+			.willReturn(ofNullable(createUser(email, "test1")));
+		userDtoCache.get(email);
+
+		// when
+		userDtoCache.evict(email);
+		Optional<UserDto> result = userDtoCache.get(email);
+
+		// then
+		assertThat(result.get().getEmail()).isEqualTo(email);
+	}
+
+	private User createUser(String email, String nickname) {
+		return User.builder()
+			.email(email)
+			.password("password")
+			.nickname(nickname)
+			.authorities(Collections.singleton(Authority.createUserRole()))
+			.build();
+	}
+}
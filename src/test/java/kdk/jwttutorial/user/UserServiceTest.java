@@ -5,14 +5,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Optional;
 import kdk.jwttutorial.error.ErrorCode;
+import kdk.jwttutorial.invalidation.InvalidationBroadcaster;
+import kdk.jwttutorial.invalidation.InvalidationEvent;
 import kdk.jwttutorial.security.SecurityUtil;
 import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.directory.UserDirectory;
 import kdk.jwttutorial.user.dto.UserDto;
+import kdk.jwttutorial.user.event.UserChangedEvent;
 import kdk.jwttutorial.user.exception.EmailAlreadyUseException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +27,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
@@ -29,13 +37,19 @@ class UserServiceTest {
 	private UserService userService;
 	@Mock
 	private UserRepository userRepository;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	@Mock
+	private InvalidationBroadcaster invalidationBroadcaster;
 	private BCryptPasswordEncoder passwordEncoder;
 
 	@BeforeEach
 	void setUp() {
 		MockitoAnnotations.openMocks(this);
 		passwordEncoder = new BCryptPasswordEncoder();
-		userService = new UserService(userRepository, passwordEncoder);
+		userService = new UserService(userRepository, passwordEncoder, eventPublisher,
+			new UserDtoCache(userRepository, 100, 600, 60), invalidationBroadcaster,
+			new UserDirectory(userRepository, false, 16, 1, ""));
 	}
 
 	@Test
@@ -57,6 +71,8 @@ class UserServiceTest {
 		assertThat(userDto.getNickname()).isEqualTo(result.getNickname());
 		assertThat(EnumAuthority.ROLE_USER.name())
 			.isEqualTo(result.getAuthorityDtoSet().iterator().next().getAuthorityName());
+		then(eventPublisher).should().publishEvent(any(UserChangedEvent.class));
+		then(invalidationBroadcaster).should().publish(InvalidationEvent.userChanged(email));
 	}
 
 	@Test
@@ -73,6 +89,39 @@ class UserServiceTest {
 		assertThat(e.getMessage()).isEqualTo(ErrorCode.EMAIL_DUPLICATION.getMessage());
 	}
 
+	@Test
+	void 권한_변경_성공() {
+		// given
+		String email = "test1@test.com";
+		User user = createUser(email, "password", "test1");
+		given(userRepository.findOneWithAuthoritiesByEmail(email)).willReturn(Optional.of(user));
+
+		// when
+		UserDto result = userService.changeAuthorities(email,
+			EnumSet.of(EnumAuthority.ROLE_USER, EnumAuthority.ROLE_ADMIN));
+
+		// then
+		assertThat(result.getAuthorityDtoSet()).hasSize(2);
+		assertThat(result.getAuthorityVersion()).isEqualTo(1L);
+		then(eventPublisher).should().publishEvent(any(UserChangedEvent.class));
+		then(invalidationBroadcaster).should().publish(InvalidationEvent.userChanged(email));
+	}
+
+	@Test
+	void 권한_변경_같은_권한이면_버전_유지() {
+		// given
+		String email = "test1@test.com";
+		User user = createUser(email, "password", "test1");
+		given(userRepository.findOneWithAuthoritiesByEmail(email)).willReturn(Optional.of(user));
+
+		// when
+		UserDto result = userService.changeAuthorities(email, EnumSet.of(EnumAuthority.ROLE_USER));
+
+		// then
+		assertThat(result.getAuthorityVersion()).isEqualTo(0L);
+		then(eventPublisher).should(never()).publishEvent(any(UserChangedEvent.class));
+	}
+
 	@Test
 	void 사용자_조회_성공() {
 		// given
@@ -0,0 +1,131 @@
+package kdk.jwttutorial.user.directory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import kdk.jwttutorial.user.EnumAuthority;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OffHeapUserIndexTest {
+
+	private static final int ALL_AUTHORITIES =
+		EnumAuthority.ROLE_USER.getMask() | EnumAuthority.ROLE_ADMIN.getMask();
+
+	@Test
+	void 사용자_저장_조회_성공() {
+		// given
+		OffHeapUserIndex index = new OffHeapUserIndex(16, 1 << 10, null);
+		index.put(createUser(1L, "test1@test.com", "테스트", ALL_AUTHORITIES));
+
+		// when
+		UserRecord result = index.get("test1@test.com");
+
+		// then
+		assertThat(result.getUserId()).isEqualTo(1L);
+		assertThat(result.getEmail()).isEqualTo("test1@test.com");
+		assertThat(result.getPassword()).isEqualTo("hash-1");
+		assertThat(result.getNickname()).isEqualTo("테스트");
+		assertThat(result.getAuthorityNames())
+			.containsExactly(EnumAuthority.ROLE_ADMIN.name(), EnumAuthority.ROLE_USER.name());
+		assertThat(index.get("test2@test.com")).isNull();
+	}
+
+	@Test
+	void 같은_email_저장시_교체() {
+		// given
+		OffHeapUserIndex index = new OffHeapUserIndex(16, 1 << 10, null);
+		index.put(createUser(1L, "test1@test.com", "test1", EnumAuthority.ROLE_USER.getMask()));
+
+		// when
+		index.put(createUser(1L, "test1@test.com", "changed", ALL_AUTHORITIES));
+
+		// then
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.get("test1@test.com").getNickname()).isEqualTo("changed");
+		assertThat(index.get("test1@test.com").getAuthorityMask()).isEqualTo(ALL_AUTHORITIES);
+		assertThat(index.garbageBytes()).isPositive();
+	}
+
+	@Test
+	void 사용자_삭제_성공() {
+		// given
+		OffHeapUserIndex index = new OffHeapUserIndex(16, 1 << 10, null);
+		index.put(createUser(1L, "test1@test.com", "test1", EnumAuthority.ROLE_USER.getMask()));
+
+		// when
+		boolean removed = index.remove("test1@test.com");
+
+		// then
+		assertTrue(removed);
+		assertFalse(index.remove("test1@test.com"));
+		assertThat(index.get("test1@test.com")).isNull();
+		assertThat(index.size()).isZero();
+	}
+
+	@Test
+	void 초기_용량보다_많이_저장해도_모두_조회() {
+		// given
+		OffHeapUserIndex index = new OffHeapUserIndex(4, 1 << 10, null);
+
+		// when
+		for (long i = 0; i < 1000; i++) {
+			index.put(createUser(i, "test" + i + "@test.com", "test" + i,
+				EnumAuthority.ROLE_USER.getMask()));
+		}
+
+		// then
+		assertThat(index.size()).isEqualTo(1000);
+		for (long i = 0; i < 1000; i++) {
+			assertThat(index.get("test" + i + "@test.com").getUserId()).isEqualTo(i);
+		}
+	}
+
+	@Test
+	void 교체된_record_가_많으면_정리() {
+		// given
+		OffHeapUserIndex index = new OffHeapUserIndex(16, 1 << 10, null);
+		index.put(createUser(1L, "test1@test.com", "test1", EnumAuthority.ROLE_USER.getMask()));
+
+		// when
+		for (int i = 0; i < 100; i++) {
+			index.put(createUser(2L, "test2@test.com", "test2-" + i,
+				EnumAuthority.ROLE_USER.getMask()));
+		}
+
+		// then
+		assertThat(index.garbageBytes()).isLessThan(1 << 10);
+		assertThat(index.capacityBytes()).isLessThanOrEqualTo(32 * 16 + 2 * (1 << 10));
+		assertThat(index.get("test1@test.com").getNickname()).isEqualTo("test1");
+		assertThat(index.get("test2@test.com").getNickname()).isEqualTo("test2-99");
+	}
+
+	@Test
+	void memory_mapped_파일에_저장_조회_성공(@TempDir Path directory) {
+		// given
+		OffHeapUserIndex index = new OffHeapUserIndex(16, 1 << 10, directory);
+
+		// when
+		for (long i = 0; i < 100; i++) {
+			index.put(createUser(i, "test" + i + "@test.com", "test" + i,
+				EnumAuthority.ROLE_USER.getMask()));
+		}
+
+		// then
+		assertThat(index.get("test99@test.com").getNickname()).isEqualTo("test99");
+	}
+
+	private UserRecord createUser(long userId, String email, String nickname,
+		int authorityMask) {
+		return UserRecord.builder()
+			.userId(userId)
+			.email(email)
+			.password("hash-" + userId)
+			.nickname(nickname)
+			.authorityMask(authorityMask)
+			.authorityVersion(0L)
+			.build();
+	}
+}
@@ -0,0 +1,99 @@
+package kdk.jwttutorial.user.directory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import kdk.jwttutorial.security.CustomUserDetailsService;
+import kdk.jwttutorial.user.EnumAuthority;
+import kdk.jwttutorial.user.User;
+import kdk.jwttutorial.user.UserRepository;
+import kdk.jwttutorial.user.UserService;
+import kdk.jwttutorial.user.auth.Authority;
+import kdk.jwttutorial.user.dto.UserDto;
+import kdk.jwttutorial.user.event.UserChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "user.directory.enabled=true")
+@Transactional
+class UserDirectoryTest {
+
+	@Autowired
+	private UserDirectory userDirectory;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private CustomUserDetailsService customUserDetailsService;
+
+	@Test
+	void 적재한_사용자_조회_성공() {
+		// given
+		User user = userRepository.save(createUser("test1@test.com", "test1",
+			Authority.createUserRole(),
+			Authority.builder().authorityName(EnumAuthority.ROLE_ADMIN.name()).build()));
+
+		// when
+		userDirectory.load();
+
+		// then
+		assertTrue(userDirectory.isReady());
+		UserRecord result = userDirectory.find("test1@test.com").orElseThrow();
+		assertThat(result.getUserId()).isEqualTo(user.getUserId());
+		assertThat(result.getPassword()).isEqualTo(user.getPassword());
+		assertThat(result.getAuthorityNames())
+			.containsExactly(EnumAuthority.ROLE_ADMIN.name(), EnumAuthority.ROLE_USER.name());
+		assertThat(result.getAuthorityVersion()).isZero();
+	}
+
+	@Test
+	void 디렉터리에서_로그인_사용자_조회() {
+		// given
+		userRepository.save(createUser("test1@test.com", "test1", Authority.createUserRole()));
+		userDirectory.load();
+
+		// when
+		UserDetails userDetails = customUserDetailsService.loadUserByUsername("test1@test.com");
+		UserDto userDto = userService.getUserWithAuthorities("test1@test.com");
+
+		// then
+		assertThat(userDetails.getUsername()).isEqualTo("test1@test.com");
+		assertThat(userDetails.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+			.containsExactly(EnumAuthority.ROLE_USER.name());
+		assertThat(userDto.getNickname()).isEqualTo("test1");
+		assertThrows(UsernameNotFoundException.class,
+			() -> customUserDetailsService.loadUserByUsername("test2@test.com"));
+	}
+
+	@Test
+	void 사용자_변경_이벤트로_반영() {
+		// given
+		userDirectory.load();
+		userRepository.save(createUser("test2@test.com", "test2", Authority.createUserRole()));
+
+		// when
+		userDirectory.onUserChanged(new UserChangedEvent("test2@test.com"));
+
+		// then
+		assertThat(userDirectory.find("test2@test.com")).isPresent();
+		assertThat(userDirectory.find("test2@test.com").get().getNickname()).isEqualTo("test2");
+	}
+
+	private User createUser(String email, String nickname, Authority... authorities) {
+		return User.builder()
+			.email(email)
+			.password("{noop}password")
+			.nickname(nickname)
+			.authorities(new HashSet<>(Arrays.asList(authorities)))
+			.build();
+	}
+}
@@ -0,0 +1,176 @@
+package kdk.jwttutorial.token;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 애플리케이션의 /.well-known/jwks.json 에서 ES256 공개 키를 받아 kid 로 찾는다.
+ * <p>
+ * 응답의 Cache-Control max-age 가 지나면 If-None-Match 로 다시 확인하고, 모르는 kid 가 오면(키 교체 직후) 최소
+ * 간격을 두고 다시 받는다. 받기에 실패하면 기존 키를 유지한다. 다시 받은 JWKS 에서 kid 가 빠지면 키 삭제 listener 를
+ * 실행한다.
+ */
+public class JwksKeyResolver implements KeyResolver {
+
+	private static final Logger log = System.getLogger(JwksKeyResolver.class.getName());
+
+	private static final String ES256 = "ES256";
+	private static final long DEFAULT_MAX_AGE_MILLIS = 300_000;
+	// 위조한 kid 로 JWKS 요청이 계속 발생하지 않도록 제한
+	private static final long MIN_REFRESH_INTERVAL_MILLIS = 10_000;
+	private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+	private static final ECParameterSpec P256 = createP256();
+
+	private final HttpClient httpClient;
+	private final URI uri;
+	private final Duration timeout;
+	private final List<Runnable> keyRemovalListeners = new CopyOnWriteArrayList<>();
+
+	private volatile Map<String, Key> keys = Collections.emptyMap();
+	private volatile long expiresAtMillis;
+	// 아래 필드는 refresh 에서만 사용 (synchronized)
+	private long fetchedAtMillis;
+	private String eTag;
+
+	public JwksKeyResolver(URI uri) {
+		this(HttpClient.newHttpClient(), uri, Duration.ofSeconds(5));
+	}
+
+	public JwksKeyResolver(HttpClient httpClient, URI uri, Duration timeout) {
+		this.httpClient = httpClient;
+		this.uri = uri;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public Key resolve(String kid, String algorithm) {
+		if (!ES256.equals(algorithm)) {
+			return null;
+		}
+		String keyId = kid == null ? DEFAULT_KID : kid;
+		if (System.currentTimeMillis() >= expiresAtMillis) {
+			refresh(false);
+		}
+		Key key = keys.get(keyId);
+		if (key == null && refresh(true)) {
+			key = keys.get(keyId);
+		}
+		return key;
+	}
+
+	@Override
+	public void addKeyRemovalListener(Runnable listener) {
+		keyRemovalListeners.add(listener);
+	}
+
+	/**
+	 * @param unknownKid 모르는 kid 때문에 다시 받는 경우
+	 * @return JWKS 를 다시 확인했으면 true
+	 */
+	private synchronized boolean refresh(boolean unknownKid) {
+		long now = System.currentTimeMillis();
+		if (unknownKid ? now - fetchedAtMillis < MIN_REFRESH_INTERVAL_MILLIS
+			: now < expiresAtMillis) {
+			return false;
+		}
+		fetchedAtMillis = now;
+		try {
+			HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+			if (eTag != null) {
+				request.header("If-None-Match", eTag);
+			}
+			HttpResponse<String> response = httpClient.send(request.build(), BodyHandlers.ofString());
+			if (response.statusCode() == 200) {
+				Map<String, Key> previous = keys;
+				keys = parse(response.body());
+				if (!keys.keySet().containsAll(previous.keySet())) {
+					keyRemovalListeners.forEach(Runnable::run);
+				}
+				eTag = response.headers().firstValue("ETag").orElse(null);
+			} else if (response.statusCode() != 304) {
+				throw new IOException("JWKS 응답 상태: " + response.statusCode());
+			}
+			expiresAtMillis = now + maxAgeMillis(response);
+			return true;
+		} catch (IOException e) {
+			log.log(Level.WARNING, "JWKS 를 받을 수 없어 기존 키를 유지합니다, uri: " + uri, e);
+			expiresAtMillis = now + MIN_REFRESH_INTERVAL_MILLIS;
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * P-256 EC 키만 읽고 나머지는 무시한다.
+	 */
+	static Map<String, Key> parse(String json) throws IOException {
+		Map<String, Key> keys = new HashMap<>();
+		for (JsonNode jwk : OBJECT_MAPPER.readTree(json).path("keys")) {
+			if (!"EC".equals(jwk.path("kty").asText()) || !"P-256".equals(jwk.path("crv").asText())
+				|| !"sig".equals(jwk.path("use").asText("sig"))) {
+				continue;
+			}
+			keys.put(jwk.path("kid").asText(DEFAULT_KID),
+				createPublicKey(jwk.path("x").asText(), jwk.path("y").asText()));
+		}
+		return Collections.unmodifiableMap(keys);
+	}
+
+	private static Key createPublicKey(String x, String y) throws IOException {
+		try {
+			Base64.Decoder decoder = Base64.getUrlDecoder();
+			ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(x)),
+				new BigInteger(1, decoder.decode(y)));
+			return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, P256));
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new IOException("JWK 형식이 올바르지 않습니다", e);
+		}
+	}
+
+	private static long maxAgeMillis(HttpResponse<?> response) {
+		Matcher matcher = MAX_AGE.matcher(response.headers().firstValue("Cache-Control").orElse(""));
+		if (!matcher.find()) {
+			return DEFAULT_MAX_AGE_MILLIS;
+		}
+		return Math.max(Long.parseLong(matcher.group(1)) * 1000, MIN_REFRESH_INTERVAL_MILLIS);
+	}
+
+	private static ECParameterSpec createP256() {
+		try {
+			AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+			parameters.init(new ECGenParameterSpec("secp256r1"));
+			return parameters.getParameterSpec(ECParameterSpec.class);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package kdk.jwttutorial.token;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.util.Map;
+
+/**
+ * 토큰 header 의 kid 와 alg 로 검증 키를 찾는다. kid 가 없는 토큰은 {@link #DEFAULT_KID} 의 키로 검증한다.
+ */
+@FunctionalInterface
+public interface KeyResolver {
+
+	String DEFAULT_KID = "default";
+
+	/**
+	 * @param kid       토큰 header 의 kid, 없으면 null
+	 * @param algorithm 토큰 header 의 alg
+	 * @return 검증할 수 없는 kid 이면 null
+	 */
+	Key resolve(String kid, String algorithm);
+
+	/**
+	 * 키가 삭제되었을 때 실행할 listener 를 등록한다. TokenVerifier 는 삭제된 키로 서명한 토큰이 남지 않도록 검증 캐시를
+	 * 비운다. 키가 바뀌지 않는 KeyResolver 는 구현하지 않아도 된다.
+	 */
+	default void addKeyRemovalListener(Runnable listener) {
+	}
+
+	/**
+	 * kid 별 고정 키, HS512 공유 키나 미리 받아 둔 공개 키에 사용
+	 */
+	static KeyResolver of(Map<String, Key> keys) {
+		Map<String, Key> copied = Map.copyOf(keys);
+		return (kid, algorithm) -> copied.get(kid == null ? DEFAULT_KID : kid);
+	}
+
+	/**
+	 * 애플리케이션의 jwt.secret(base64) 하나로 검증
+	 */
+	static KeyResolver hmac(String base64Secret) {
+		return of(Map.of(DEFAULT_KID, Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret))));
+	}
+}
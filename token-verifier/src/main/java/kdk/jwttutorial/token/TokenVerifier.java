@@ -0,0 +1,269 @@
+package kdk.jwttutorial.token;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.SignatureException;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import lombok.Builder;
+import lombok.Singular;
+
+/**
+ * Spring 없이 jwt-tutorial 이 발급한 토큰을 검증한다. 검증에 성공한 결과는 토큰 만료 시각까지 캐시하므로, 같은 토큰은 서명을
+ * 다시 검증하지 않는다. KeyResolver 가 키 삭제를 알리면(JwksKeyResolver) 캐시를 비운다.
+ * <pre>
+ * TokenVerifier verifier = TokenVerifier.builder()
+ *     .keyResolver(new JwksKeyResolver(URI.create("https://auth/.well-known/jwks.json")))
+ *     .authorityMask("ROLE_USER", 1L)
+ *     .authorityMask("ROLE_ADMIN", 2L)
+ *     .build();
+ * </pre>
+ * 서명 알고리즘은 애플리케이션이 발급하는 HS512, ES256 만 허용하고, 리프레시 토큰은 INVALID_TOKEN_TYPE 으로 거절한다.
+ * 인스턴스는 thread-safe 하다.
+ */
+public final class TokenVerifier {
+
+	private static final String AUTHORITIES_KEY = "auth";
+	private static final String AUTHORITY_MASK_KEY = "r";
+	private static final String TYPE_KEY = "typ";
+	private static final String ACCESS_TYPE = "access";
+	private static final String REFRESH_TYPE = "refresh";
+	private static final long DEFAULT_CACHE_MAXIMUM_SIZE = 10_000;
+
+	private final KeyResolver keyResolver;
+	private final Map<Long, String> authoritiesByBit;
+	private final VerificationCache cache;
+	private final ForkJoinPool forkJoinPool;
+	private final JwtParser jwtParser;
+
+	/**
+	 * @param keyResolver       kid 로 검증 키 선택
+	 * @param authorityMasks    compact profile 토큰의 "r" claim 을 해석할 권한별 bit, 애플리케이션의 EnumAuthority 와 같게
+	 *                          설정
+	 * @param cacheMaximumSize  검증 결과 캐시 크기, null 이면 10000, 0 이면 캐시하지 않음
+	 * @param forkJoinPool      {@link #verifyAll} 에 사용, null 이면 common pool
+	 */
+	@Builder
+	private TokenVerifier(KeyResolver keyResolver, @Singular Map<String, Long> authorityMasks,
+		Long cacheMaximumSize, ForkJoinPool forkJoinPool) {
+		if (keyResolver == null) {
+			throw new IllegalArgumentException("keyResolver 가 없습니다");
+		}
+		this.keyResolver = keyResolver;
+		this.authoritiesByBit = new TreeMap<>();
+		for (Map.Entry<String, Long> authorityMask : authorityMasks.entrySet()) {
+			if (Long.bitCount(authorityMask.getValue()) != 1) {
+				throw new IllegalArgumentException("권한 mask 는 bit 하나여야 합니다: " + authorityMask);
+			}
+			authoritiesByBit.put(authorityMask.getValue(), authorityMask.getKey());
+		}
+		long maximumSize = cacheMaximumSize == null ? DEFAULT_CACHE_MAXIMUM_SIZE : cacheMaximumSize;
+		this.cache = maximumSize > 0 ? new VerificationCache(maximumSize) : null;
+		if (cache != null) {
+			keyResolver.addKeyRemovalListener(cache::invalidateAll);
+		}
+		this.forkJoinPool = forkJoinPool == null ? ForkJoinPool.commonPool() : forkJoinPool;
+		this.jwtParser = Jwts.parserBuilder()
+			.setSigningKeyResolver(new SigningKeyResolver())
+			.build();
+	}
+
+	public VerificationResult verify(String token) {
+		if (token == null || token.isEmpty()) {
+			return VerificationResult.failure(VerificationError.INVALID_TOKEN);
+		}
+		if (cache != null) {
+			VerificationResult cached = cache.get(token);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		VerificationResult result = parse(token);
+		if (cache != null && result.isValid()) {
+			cache.put(token, result);
+		}
+		return result;
+	}
+
+	/**
+	 * 캐시된 검증 결과만 조회한다. 서명 검증이나 JWKS 요청을 하지 않으므로 event loop 처럼 blocking 하면 안 되는 곳에서
+	 * 먼저 호출하고, 없을 때만 별도 스레드에서 {@link #verify} 를 호출한다.
+	 *
+	 * @return 캐시에 없거나 캐시를 사용하지 않으면 null
+	 */
+	public VerificationResult getCached(String token) {
+		if (cache == null || token == null || token.isEmpty()) {
+			return null;
+		}
+		return cache.get(token);
+	}
+
+	/**
+	 * 여러 토큰을 ForkJoinPool 에서 나누어 검증한다.
+	 *
+	 * @return tokens 와 같은 순서의 검증 결과
+	 */
+	public List<VerificationResult> verifyAll(List<String> tokens) {
+		String[] input = tokens.toArray(new String[0]);
+		VerificationResult[] results = new VerificationResult[input.length];
+		forkJoinPool.invoke(new VerifyTask(input, results, 0, input.length));
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * @return 캐시를 사용하지 않으면 빈 통계
+	 */
+	public CacheStats cacheStats() {
+		return cache == null ? CacheStats.empty() : cache.stats();
+	}
+
+	private VerificationResult parse(String token) {
+		try {
+			Claims claims = jwtParser.parseClaimsJws(token).getBody();
+			// 만료 시각이 없는 토큰은 발급하지 않으므로 지원하지 않는다
+			if (claims.getExpiration() == null) {
+				return VerificationResult.failure(VerificationError.UNSUPPORTED_TOKEN);
+			}
+			VerificationError typeError = checkAccessToken(claims);
+			if (typeError != null) {
+				return VerificationResult.failure(typeError);
+			}
+			List<String> authorities = getAuthorities(claims);
+			if (authorities == null) {
+				return VerificationResult.failure(VerificationError.UNSUPPORTED_TOKEN);
+			}
+			return VerificationResult.success(VerifiedClaims.builder()
+				.subject(claims.getSubject())
+				.authorities(authorities)
+				.issuedAt(claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime())
+				.expiration(claims.getExpiration().getTime())
+				.build());
+		} catch (SecurityException | MalformedJwtException e) {
+			return VerificationResult.failure(VerificationError.INCORRECT_SIGNATURE);
+		} catch (ExpiredJwtException e) {
+			return VerificationResult.failure(VerificationError.EXPIRED_TOKEN);
+		} catch (UnsupportedJwtException e) {
+			return VerificationResult.failure(VerificationError.UNSUPPORTED_TOKEN);
+		} catch (IllegalArgumentException e) {
+			return VerificationResult.failure(VerificationError.INVALID_TOKEN);
+		}
+	}
+
+	/**
+	 * 액세스 토큰만 허용한다. typ claim 이 없는 이전 토큰은 애플리케이션과 같게 권한 claim("auth", "r")이 있으면 액세스
+	 * 토큰, 없으면 리프레시 토큰으로 판단한다.
+	 *
+	 * @return 액세스 토큰이면 null
+	 */
+	private static VerificationError checkAccessToken(Claims claims) {
+		Object type = claims.get(TYPE_KEY);
+		if (type == null) {
+			return claims.containsKey(AUTHORITIES_KEY) || claims.containsKey(AUTHORITY_MASK_KEY)
+				? null : VerificationError.INVALID_TOKEN_TYPE;
+		}
+		if (ACCESS_TYPE.equals(type)) {
+			return null;
+		}
+		return REFRESH_TYPE.equals(type)
+			? VerificationError.INVALID_TOKEN_TYPE : VerificationError.UNSUPPORTED_TOKEN;
+	}
+
+	/**
+	 * "auth" 문자열 claim 을 우선 사용하고, 없으면 "r" bitmask claim 을 변환한다.
+	 *
+	 * @return 둘 다 없거나 설정하지 않은 bit 가 있으면 null
+	 */
+	private List<String> getAuthorities(Claims claims) {
+		Object authorities = claims.get(AUTHORITIES_KEY);
+		if (authorities != null) {
+			List<String> names = new ArrayList<>();
+			for (String name : authorities.toString().split(",")) {
+				if (!name.isEmpty()) {
+					names.add(name);
+				}
+			}
+			return names;
+		}
+		Object mask = claims.get(AUTHORITY_MASK_KEY);
+		if (!(mask instanceof Integer || mask instanceof Long)) {
+			return null;
+		}
+		long remaining = ((Number) mask).longValue();
+		List<String> names = new ArrayList<>();
+		for (Map.Entry<Long, String> authority : authoritiesByBit.entrySet()) {
+			if ((remaining & authority.getKey()) != 0) {
+				names.add(authority.getValue());
+				remaining &= ~authority.getKey();
+			}
+		}
+		if (remaining != 0) {
+			return null;
+		}
+		// 애플리케이션과 같게 이름 순
+		names.sort(null);
+		return names;
+	}
+
+	private class SigningKeyResolver extends SigningKeyResolverAdapter {
+
+		@Override
+		public Key resolveSigningKey(JwsHeader header, Claims claims) {
+			String algorithm = header.getAlgorithm();
+			if (!SignatureAlgorithm.HS512.getValue().equals(algorithm)
+				&& !SignatureAlgorithm.ES256.getValue().equals(algorithm)) {
+				throw new SignatureException("지원하지 않는 알고리즘입니다: " + algorithm);
+			}
+			Key key = keyResolver.resolve(header.getKeyId(), algorithm);
+			if (key == null) {
+				throw new SignatureException("등록되지 않은 kid 입니다: " + header.getKeyId());
+			}
+			return key;
+		}
+	}
+
+	private class VerifyTask extends RecursiveAction {
+
+		// 서명 검증 한 번에 비해 task 분할 비용이 작도록 묶어서 처리
+		private static final int THRESHOLD = 32;
+
+		private final String[] tokens;
+		private final VerificationResult[] results;
+		private final int start;
+		private final int end;
+
+		private VerifyTask(String[] tokens, VerificationResult[] results, int start, int end) {
+			this.tokens = tokens;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= THRESHOLD) {
+				for (int i = start; i < end; i++) {
+					results[i] = verify(tokens[i]);
+				}
+				return;
+			}
+			int middle = (start + end) >>> 1;
+			invokeAll(new VerifyTask(tokens, results, start, middle),
+				new VerifyTask(tokens, results, middle, end));
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package kdk.jwttutorial.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증에 성공한 결과를 토큰 만료 시각(exp)까지 보관한다. 키는 토큰 원문 대신 SHA-256 digest 를 사용한다.
+ */
+final class VerificationCache {
+
+	private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+
+	private final Cache<ByteBuffer, VerificationResult> cache;
+
+	VerificationCache(long maximumSize) {
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfter(new ExpirationExpiry())
+			.recordStats()
+			.build();
+	}
+
+	VerificationResult get(String token) {
+		return cache.getIfPresent(digest(token));
+	}
+
+	void put(String token, VerificationResult result) {
+		if (result.getClaims().getExpiration() <= System.currentTimeMillis()) {
+			return;
+		}
+		cache.put(digest(token), result);
+	}
+
+	void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	CacheStats stats() {
+		return cache.stats();
+	}
+
+	private ByteBuffer digest(String token) {
+		return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static class ExpirationExpiry implements Expiry<ByteBuffer, VerificationResult> {
+
+		@Override
+		public long expireAfterCreate(ByteBuffer key, VerificationResult value, long currentTime) {
+			long remaining = value.getClaims().getExpiration() - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(ByteBuffer key, VerificationResult value, long currentTime,
+			long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(ByteBuffer key, VerificationResult value, long currentTime,
+			long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package kdk.jwttutorial.token;
+
+import lombok.Getter;
+
+/**
+ * 토큰 검증 실패 원인. code 는 jwt-tutorial 애플리케이션의 ErrorCode 와 같다.
+ */
+@Getter
+public enum VerificationError {
+
+	INVALID_TOKEN("A001", "유효하지 않은 JWT 토큰입니다"),
+	EXPIRED_TOKEN("A002", "만료된 JWT 토큰입니다"),
+	UNSUPPORTED_TOKEN("A003", "지원되지 않는 JWT 토큰입니다"),
+	INCORRECT_SIGNATURE("A004", "유효하지 않은 JWT 서명입니다"),
+	INVALID_TOKEN_TYPE("A008", "용도가 맞지 않는 JWT 토큰입니다");
+
+	private final String code;
+	private final String message;
+
+	VerificationError(String code, String message) {
+		this.code = code;
+		this.message = message;
+	}
+}
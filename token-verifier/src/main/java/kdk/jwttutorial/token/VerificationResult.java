@@ -0,0 +1,30 @@
+package kdk.jwttutorial.token;
+
+import lombok.Getter;
+
+/**
+ * 토큰 검증 결과. 성공하면 VerifiedClaims 를, 실패하면 실패 원인 VerificationError 를 가진다.
+ */
+@Getter
+public class VerificationResult {
+
+	private final VerifiedClaims claims;
+	private final VerificationError error;
+
+	private VerificationResult(VerifiedClaims claims, VerificationError error) {
+		this.claims = claims;
+		this.error = error;
+	}
+
+	public static VerificationResult success(VerifiedClaims claims) {
+		return new VerificationResult(claims, null);
+	}
+
+	public static VerificationResult failure(VerificationError error) {
+		return new VerificationResult(null, error);
+	}
+
+	public boolean isValid() {
+		return claims != null;
+	}
+}
@@ -0,0 +1,30 @@
+package kdk.jwttutorial.token;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 서명 검증이 끝난 토큰의 claim. 권한은 토큰 형식(auth 문자열, r bitmask)과 관계없이 권한 이름 목록으로 제공한다.
+ */
+@Getter
+public class VerifiedClaims {
+
+	private final String subject;
+	private final List<String> authorities;
+	private final long issuedAt;
+	private final long expiration;
+
+	@Builder
+	public VerifiedClaims(String subject, List<String> authorities, long issuedAt,
+		long expiration) {
+		this.subject = subject;
+		this.authorities = authorities == null ? List.of() : List.copyOf(authorities);
+		this.issuedAt = issuedAt;
+		this.expiration = expiration;
+	}
+
+	public boolean hasAuthority(String authority) {
+		return authorities.contains(authority);
+	}
+}
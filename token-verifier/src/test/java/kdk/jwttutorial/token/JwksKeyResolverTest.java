@@ -0,0 +1,121 @@
+package kdk.jwttutorial.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JwksKeyResolverTest {
+
+	private KeyPair keyPair;
+	private HttpServer server;
+	private AtomicInteger requestCount;
+	private TokenVerifier tokenVerifier;
+
+	@BeforeEach
+	void setUp() throws GeneralSecurityException, IOException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(new ECGenParameterSpec("secp256r1"));
+		keyPair = generator.generateKeyPair();
+		byte[] body = createJwks("k1", (ECPublicKey) keyPair.getPublic())
+			.getBytes(StandardCharsets.UTF_8);
+
+		requestCount = new AtomicInteger();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/.well-known/jwks.json", exchange -> {
+			requestCount.incrementAndGet();
+			exchange.getResponseHeaders().add("Cache-Control", "max-age=300, public");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+
+		URI uri = URI.create(
+			"http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+		tokenVerifier = TokenVerifier.builder()
+			.keyResolver(new JwksKeyResolver(uri))
+			.cacheMaximumSize(0L)
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void JWKS_공개_키로_토큰_검증_성공() {
+		// given
+		String token = createToken("k1");
+
+		// when
+		VerificationResult first = tokenVerifier.verify(token);
+		VerificationResult second = tokenVerifier.verify(token);
+
+		// then
+		assertTrue(first.isValid());
+		assertTrue(second.isValid());
+		assertThat(requestCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void 모르는_kid_토큰_검증_예외() {
+		// given
+		tokenVerifier.verify(createToken("k1"));
+		String token = createToken("k2");
+
+		// when
+		VerificationResult result = tokenVerifier.verify(token);
+
+		// then
+		assertThat(result.getError()).isEqualTo(VerificationError.INCORRECT_SIGNATURE);
+		// 최소 간격이 지나지 않았으므로 다시 받지 않음
+		assertThat(requestCount.get()).isEqualTo(1);
+	}
+
+	private String createToken(String kid) {
+		return Jwts.builder()
+			.setHeaderParam("kid", kid)
+			.claim("auth", "ROLE_USER")
+			.setSubject("test1@test.com")
+			.signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+			.setExpiration(new Date(System.currentTimeMillis() + 600_000))
+			.compact();
+	}
+
+	private String createJwks(String kid, ECPublicKey publicKey) {
+		return "{\"keys\":[{\"kty\":\"EC\",\"crv\":\"P-256\",\"use\":\"sig\",\"alg\":\"ES256\","
+			+ "\"kid\":\"" + kid + "\","
+			+ "\"x\":\"" + encode(publicKey.getW().getAffineX()) + "\","
+			+ "\"y\":\"" + encode(publicKey.getW().getAffineY()) + "\"}]}";
+	}
+
+	private String encode(BigInteger coordinate) {
+		byte[] bytes = coordinate.toByteArray();
+		byte[] fixed = new byte[32];
+		int length = Math.min(bytes.length, 32);
+		System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+	}
+}
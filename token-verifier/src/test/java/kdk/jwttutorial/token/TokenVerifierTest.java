@@ -0,0 +1,231 @@
+package kdk.jwttutorial.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenVerifierTest {
+
+	private static final String SECRET = "a2RrLXRlY2gtc3ByaW5nLWJvb3Qtand0LXR1dG9yaWFsLXNlY3JldC1rZGstdGVjaC1zcHJpbmctYm9vdC1qd3QtdHV0b3JpYWwtc2VjcmV0";
+
+	private Key key;
+	private ForkJoinPool forkJoinPool;
+	private TokenVerifier tokenVerifier;
+
+	@BeforeEach
+	void setUp() {
+		key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		forkJoinPool = new ForkJoinPool(4);
+		tokenVerifier = TokenVerifier.builder()
+			.keyResolver(KeyResolver.hmac(SECRET))
+			.authorityMask("ROLE_USER", 1L)
+			.authorityMask("ROLE_ADMIN", 2L)
+			.forkJoinPool(forkJoinPool)
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		forkJoinPool.shutdown();
+	}
+
+	@Test
+	void 토큰_검증_성공() {
+		// given
+		String token = Jwts.builder()
+			.claim("auth", "ROLE_ADMIN,ROLE_USER")
+			.claim("typ", "access")
+			.setSubject("test1@test.com")
+			.signWith(key, SignatureAlgorithm.HS512)
+			.setExpiration(new Date(System.currentTimeMillis() + 600_000))
+			.compact();
+
+		// when
+		VerificationResult result = tokenVerifier.verify(token);
+
+		// then
+		assertTrue(result.isValid());
+		assertThat(result.getClaims().getSubject()).isEqualTo("test1@test.com");
+		assertThat(result.getClaims().getAuthorities()).containsExactly("ROLE_ADMIN", "ROLE_USER");
+	}
+
+	@Test
+	void bitmask_권한_토큰_검증_성공() {
+		// given
+		String token = Jwts.builder()
+			.claim("r", 3)
+			.setSubject("test1@test.com")
+			.signWith(key, SignatureAlgorithm.HS512)
+			.setExpiration(new Date(System.currentTimeMillis() + 600_000))
+			.compact();
+
+		// when
+		VerificationResult result = tokenVerifier.verify(token);
+
+		// then
+		assertThat(result.getClaims().getAuthorities()).containsExactly("ROLE_ADMIN", "ROLE_USER");
+	}
+
+	@Test
+	void 토큰_검증_예외_리프레시토큰() {
+		// given
+		String refreshToken = Jwts.builder()
+			.claim("ra", "ROLE_USER")
+			.claim("typ", "refresh")
+			.setSubject("test1@test.com")
+			.signWith(key, SignatureAlgorithm.HS512)
+			.setExpiration(new Date(System.currentTimeMillis() + 600_000))
+			.compact();
+
+		// when
+		VerificationResult result = tokenVerifier.verify(refreshToken);
+
+		// then
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getError()).isEqualTo(VerificationError.INVALID_TOKEN_TYPE);
+	}
+
+	@Test
+	void 토큰_검증_예외_typ_없는_이전_리프레시토큰() {
+		// given
+		String refreshToken = Jwts.builder()
+			.setSubject("test1@test.com")
+			.signWith(key, SignatureAlgorithm.HS512)
+			.setExpiration(new Date(System.currentTimeMillis() + 600_000))
+			.compact();
+
+		// when
+		VerificationResult result = tokenVerifier.verify(refreshToken);
+
+		// then
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getError()).isEqualTo(VerificationError.INVALID_TOKEN_TYPE);
+	}
+
+	@Test
+	void 토큰_검증_예외_만료() {
+		// given
+		String token = createToken(key, System.currentTimeMillis() - 1_000);
+
+		// when
+		VerificationResult result = tokenVerifier.verify(token);
+
+		// then
+		assertThat(result.getError()).isEqualTo(VerificationError.EXPIRED_TOKEN);
+	}
+
+	@Test
+	void 토큰_검증_예외_다른_키() {
+		// given
+		String token = createToken(Keys.secretKeyFor(SignatureAlgorithm.HS512),
+			System.currentTimeMillis() + 600_000);
+
+		// when
+		VerificationResult result = tokenVerifier.verify(token);
+
+		// then
+		assertThat(result.getError()).isEqualTo(VerificationError.INCORRECT_SIGNATURE);
+	}
+
+	@Test
+	void 토큰_검증_예외_허용하지_않는_알고리즘() {
+		// given
+		String token = Jwts.builder()
+			.setSubject("test1@test.com")
+			.signWith(key, SignatureAlgorithm.HS256)
+			.setExpiration(new Date(System.currentTimeMillis() + 600_000))
+			.compact();
+
+		// when
+		VerificationResult result = tokenVerifier.verify(token);
+
+		// then
+		assertThat(result.getError()).isEqualTo(VerificationError.INCORRECT_SIGNATURE);
+	}
+
+	@Test
+	void 검증된_토큰은_캐시에서_조회() {
+		// given
+		String token = createToken(key, System.currentTimeMillis() + 600_000);
+		VerificationResult first = tokenVerifier.verify(token);
+
+		// when
+		VerificationResult second = tokenVerifier.verify(token);
+
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(tokenVerifier.cacheStats().hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void 키_삭제시_캐시된_토큰도_검증_실패() {
+		// given
+		Map<String, Key> keys = new ConcurrentHashMap<>(Map.of(KeyResolver.DEFAULT_KID, key));
+		List<Runnable> listeners = new ArrayList<>();
+		TokenVerifier verifier = TokenVerifier.builder()
+			.keyResolver(new KeyResolver() {
+				@Override
+				public Key resolve(String kid, String algorithm) {
+					return keys.get(kid == null ? DEFAULT_KID : kid);
+				}
+
+				@Override
+				public void addKeyRemovalListener(Runnable listener) {
+					listeners.add(listener);
+				}
+			})
+			.build();
+		String token = createToken(key, System.currentTimeMillis() + 600_000);
+		assertTrue(verifier.verify(token).isValid());
+
+		// when
+		keys.clear();
+		listeners.forEach(Runnable::run);
+
+		// then
+		assertThat(verifier.verify(token).getError())
+			.isEqualTo(VerificationError.INCORRECT_SIGNATURE);
+	}
+
+	@Test
+	void 여러_토큰_검증_순서_유지() {
+		// given
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			tokens.add(i % 3 == 0 ? "invalid" + i
+				: createToken(key, System.currentTimeMillis() + 600_000 + i));
+		}
+
+		// when
+		List<VerificationResult> results = tokenVerifier.verifyAll(tokens);
+
+		// then
+		assertThat(results).hasSize(tokens.size());
+		for (int i = 0; i < tokens.size(); i++) {
+			assertThat(results.get(i).isValid()).isEqualTo(i % 3 != 0);
+		}
+	}
+
+	private String createToken(Key signingKey, long expiration) {
+		return Jwts.builder()
+			.claim("auth", "ROLE_USER")
+			.setSubject("test1@test.com")
+			.signWith(signingKey, SignatureAlgorithm.HS512)
+			.setExpiration(new Date(expiration))
+			.compact();
+	}
+}